@@ -28,7 +28,12 @@ import hudson.model.ManagementLink;
 import java.util.List;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.audit.ScheduledAudits;
+import org.jenkinsci.plugins.securityinspector.index.PermissionIndex;
+import org.jenkinsci.plugins.securityinspector.model.CellProfiler;
 import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportMetrics;
+import org.jenkinsci.plugins.securityinspector.model.ReportScheduler;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.Stapler;
@@ -70,6 +75,36 @@ public class SecurityInspectorAction extends ManagementLink {
         return null;
     }
 
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public PermissionIndex getPermissionIndex() {
+        return PermissionIndex.getInstance();
+    }
+
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public ReportScheduler getReportScheduler() {
+        return ReportScheduler.getInstance();
+    }
+
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public ReportMetrics getMetrics() {
+        return ReportMetrics.getInstance();
+    }
+
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public CellProfiler getHotspots() {
+        return CellProfiler.getInstance();
+    }
+
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public ScheduledAudits getAudits() {
+        return ScheduledAudits.getInstance();
+    }
+
     @Nonnull
     @Restricted(NoExternalUse.class)
     public List<ReportBuilder> getReportBuilders(@Nonnull String type) {
@@ -26,15 +26,44 @@ package org.jenkinsci.plugins.securityinspector;
 
 import hudson.Plugin;
 import hudson.util.FormValidation;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import javax.annotation.CheckForNull;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.jenkinsci.plugins.securityinspector.model.ReportMetrics;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.QueryParameter;
 
 public class SecurityInspectorPlugin extends Plugin {
 
+    private static final Logger LOGGER = Logger.getLogger(SecurityInspectorPlugin.class.getName());
+
+    private static final String METRICS_OBJECT_NAME = "org.jenkinsci.plugins.securityinspector:type=ReportMetrics";
+
+    @Override
+    public void start() throws Exception {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(ReportMetrics.getInstance(), 
+                    new ObjectName(METRICS_OBJECT_NAME));
+        } catch (JMException ex) {
+            LOGGER.log(Level.WARNING, "Cannot register the report metrics in JMX", ex);
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(METRICS_OBJECT_NAME));
+        } catch (JMException ex) {
+            LOGGER.log(Level.FINE, "Cannot unregister the report metrics from JMX", ex);
+        }
+    }
+
     @Restricted(NoExternalUse.class)
     public FormValidation doCheckRegex(@CheckForNull @QueryParameter String regex) {
         if (regex == null) {
@@ -26,9 +26,15 @@ package org.jenkinsci.plugins.securityinspector;
 import hudson.model.Computer;
 import hudson.model.TopLevelItem;
 import hudson.model.User;
+import hudson.security.Permission;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.Beta;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
@@ -44,15 +50,30 @@ public class UserContext {
     private final List<User> selectedUsers;
     @Nonnull
     private final String item;
+    @CheckForNull
+    private final Set<Permission> selectedPermissions;
+    @Nonnull
+    private final ReportOptions options;
 
     public UserContext(List<TopLevelItem> selectedJobs, 
             List<Computer> selectedSlaves,
             List<User> selectedUsers,
             @Nonnull String item) {
+        this(selectedJobs, selectedSlaves, selectedUsers, item, null, ReportOptions.DEFAULT);
+    }
+
+    public UserContext(List<TopLevelItem> selectedJobs, 
+            List<Computer> selectedSlaves,
+            List<User> selectedUsers,
+            @Nonnull String item,
+            @CheckForNull Set<Permission> selectedPermissions,
+            @Nonnull ReportOptions options) {
         this.selectedJobs = selectedJobs;
         this.selectedSlaves = selectedSlaves;
         this.selectedUsers = selectedUsers;
         this.item = item;
+        this.selectedPermissions = selectedPermissions;
+        this.options = options;
     }
 
     @CheckForNull
@@ -74,4 +95,108 @@ public class UserContext {
     public String getItem() {
         return item;
     }
+
+    /**
+     * Gets permissions to be reported.
+     *
+     * @return Selected permissions. {@code null} if all permissions should be reported
+     */
+    @CheckForNull
+    public Set<Permission> getPermissions() {
+        return selectedPermissions;
+    }
+
+    @Nonnull
+    public ReportOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Creates a copy of the context for another target item.
+     * The copy does not contain the selection of users, so it can be used to split batch contexts.
+     *
+     * @param item New target item, e.g. user ID
+     * @return New context with the same job, computer and permission filters
+     */
+    @Nonnull
+    public UserContext forItem(@Nonnull String item) {
+        return new UserContext(selectedJobs, selectedSlaves, null, item, selectedPermissions, options);
+    }
+
+    /**
+     * Creates a copy of the context with other report options.
+     *
+     * @param options New report options
+     * @return New context with the same filters
+     */
+    @Nonnull
+    public UserContext withOptions(@Nonnull ReportOptions options) {
+        return new UserContext(selectedJobs, selectedSlaves, selectedUsers, item, selectedPermissions, options);
+    }
+
+    /**
+     * Gets the normalized representation of the filters.
+     * Selections are sorted, so equal contexts have equal canonical forms regardless of the selection order.
+     *
+     * @return Canonical form, which can be used to derive stable identifiers like ETags
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public String getCanonicalForm() {
+        final StringBuilder res = new StringBuilder("item=").append(item);
+        final List<String> names = new ArrayList<>();
+        if (selectedJobs != null) {
+            for (TopLevelItem job : selectedJobs) {
+                names.add(job.getFullName());
+            }
+            appendSorted(res, "jobs", names);
+        }
+        if (selectedSlaves != null) {
+            for (Computer computer : selectedSlaves) {
+                names.add(computer.getName());
+            }
+            appendSorted(res, "computers", names);
+        }
+        if (selectedUsers != null) {
+            for (User user : selectedUsers) {
+                names.add(user.getId());
+            }
+            appendSorted(res, "users", names);
+        }
+        if (selectedPermissions != null) {
+            for (Permission permission : selectedPermissions) {
+                names.add(permission.getId());
+            }
+            appendSorted(res, "permissions", names);
+        }
+        return res.append(";options=").append(options).toString();
+    }
+
+    private static void appendSorted(@Nonnull StringBuilder res, @Nonnull String name, @Nonnull List<String> values) {
+        Collections.sort(values);
+        res.append(';').append(name).append('=').append(values);
+        values.clear();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof UserContext)) {
+            return false;
+        }
+        final UserContext other = (UserContext) obj;
+        return item.equals(other.item)
+                && Objects.equals(selectedJobs, other.selectedJobs)
+                && Objects.equals(selectedSlaves, other.selectedSlaves)
+                && Objects.equals(selectedUsers, other.selectedUsers)
+                && Objects.equals(selectedPermissions, other.selectedPermissions)
+                && options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(item, selectedJobs, selectedSlaves, selectedUsers, selectedPermissions, options);
+    }
 }
@@ -26,11 +26,14 @@ package org.jenkinsci.plugins.securityinspector;
 import hudson.model.Computer;
 import hudson.model.TopLevelItem;
 import hudson.model.User;
+import hudson.security.Permission;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
 import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.Beta;
@@ -89,8 +92,18 @@ public class UserContextCache {
             List<Computer> selectedSlaves,
             List<User> selectedUsers,
             @Nonnull String item) {
+        updateSearchCache(selectedJobs, selectedSlaves, selectedUsers, item, null, ReportOptions.DEFAULT);
+    }
+
+    public static void updateSearchCache(List<TopLevelItem> selectedJobs,
+            List<Computer> selectedSlaves,
+            List<User> selectedUsers,
+            @Nonnull String item,
+            @CheckForNull Set<Permission> selectedPermissions,
+            @Nonnull ReportOptions options) {
         cleanCache();
         // Put Context to the map
-        INSTANCE.put(getSessionId(), new UserContext(selectedJobs, selectedSlaves, selectedUsers, item));
+        INSTANCE.put(getSessionId(), new UserContext(selectedJobs, selectedSlaves, selectedUsers, item, 
+                selectedPermissions, options));
     }
 }
@@ -0,0 +1,325 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.audit;
+
+import antlr.ANTLRException;
+import hudson.scheduler.CronTabList;
+import hudson.scheduler.Hash;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.jenkinsci.plugins.securityinspector.model.ExportFormat;
+import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportHistory;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.model.ReportPlan;
+import org.jenkinsci.plugins.securityinspector.model.ReportSnapshot;
+import org.jenkinsci.plugins.securityinspector.model.ReportSnapshotDiff;
+import org.jenkinsci.plugins.securityinspector.model.ReportSnapshotStorage;
+import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Report, which is generated by {@link ScheduledAuditWork} according to the cron schedule.
+ * Runs are stored in the {@link ReportHistory}.
+ */
+@Restricted(NoExternalUse.class)
+public class ScheduledAudit {
+
+    @Nonnull
+    private final String name;
+    @Nonnull
+    private final String builder;
+    @Nonnull
+    private final String schedule;
+    @Nonnull
+    private final ReportParameters parameters;
+    private final int maxRuns;
+    private final int maxAgeDays;
+    private final int maxSizeMB;
+
+    private transient CronTabList tabs;
+    @CheckForNull
+    private transient volatile String lastError;
+
+    /**
+     * Constructor.
+     *
+     * @param name Unique name, which is also used as the directory name
+     * @param builder Index of the {@link ReportBuilder}
+     * @param schedule Schedule in the cron format, e.g. {@code H 3 * * 1}
+     * @param parameters Report parameters
+     * @param maxRuns Maximum number of stored runs. {@code 0} for unlimited
+     * @param maxAgeDays Maximum age of stored runs. {@code 0} for unlimited
+     * @param maxSizeMB Maximum disk usage of stored runs. {@code 0} for unlimited
+     * @throws IllegalArgumentException Invalid name or schedule
+     */
+    public ScheduledAudit(@Nonnull String name, @Nonnull String builder, @Nonnull String schedule, 
+            @Nonnull ReportParameters parameters, int maxRuns, int maxAgeDays, int maxSizeMB) 
+            throws IllegalArgumentException {
+        if (!name.matches("[A-Za-z0-9_-][A-Za-z0-9._-]*")) {
+            throw new IllegalArgumentException("Audit name may contain only letters, digits, dots, underscores and dashes");
+        }
+        this.name = name;
+        this.builder = builder;
+        this.schedule = schedule.trim();
+        this.parameters = parameters;
+        this.maxRuns = Math.max(0, maxRuns);
+        this.maxAgeDays = Math.max(0, maxAgeDays);
+        this.maxSizeMB = Math.max(0, maxSizeMB);
+        getCronTabs();
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    @Nonnull
+    public String getBuilderIndex() {
+        return builder;
+    }
+
+    /**
+     * Gets the builder of the report.
+     *
+     * @return Report builder. {@code null} if the builder is not available anymore, e.g. the plugin has been updated
+     */
+    @CheckForNull
+    public ReportBuilder getBuilder() {
+        for (ReportBuilder rb : ReportBuilder.all()) {
+            if (rb.getIndex().equals(builder)) {
+                return rb;
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    public String getSchedule() {
+        return schedule;
+    }
+
+    @Nonnull
+    public ReportParameters getParameters() {
+        return parameters;
+    }
+
+    public int getMaxRuns() {
+        return maxRuns;
+    }
+
+    public int getMaxAgeDays() {
+        return maxAgeDays;
+    }
+
+    public int getMaxSizeMB() {
+        return maxSizeMB;
+    }
+
+    @Nonnull
+    public ReportHistory.RetentionPolicy getRetentionPolicy() {
+        return new ReportHistory.RetentionPolicy(maxRuns, TimeUnit.DAYS.toMillis(maxAgeDays), maxSizeMB * 1024L * 1024L);
+    }
+
+    /**
+     * Gets the error of the last run since the Jenkins startup.
+     *
+     * @return Error message. {@code null} if the last run has succeeded
+     */
+    @CheckForNull
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Nonnull
+    private synchronized CronTabList getCronTabs() throws IllegalArgumentException {
+        if (tabs == null) {
+            try {
+                tabs = CronTabList.create(schedule, Hash.from(name));
+            } catch (ANTLRException ex) {
+                throw new IllegalArgumentException("Invalid schedule: " + schedule + ". " + ex.getMessage(), ex);
+            }
+        }
+        return tabs;
+    }
+
+    /**
+     * Checks whether the audit should run at the specified minute.
+     *
+     * @param time Time
+     * @return {@code true} if the schedule matches the time
+     */
+    public boolean isDue(@Nonnull Calendar time) {
+        return getCronTabs().check(time);
+    }
+
+    @Nonnull
+    public ReportHistory getHistory() {
+        return ScheduledAudits.getInstance().getHistory(name);
+    }
+
+    /**
+     * Gets stored runs.
+     *
+     * @return Runs, newest first
+     */
+    @Nonnull
+    public List<ReportSnapshot> getRuns() {
+        return getHistory().getRuns();
+    }
+
+    /**
+     * Generates the report and records it in the history.
+     * The report is generated by {@link org.jenkinsci.plugins.securityinspector.model.ReportScheduler} workers, 
+     * so it does not compete with builds for CPU.
+     *
+     * @return Recorded run
+     * @throws IOException Cannot record the run
+     * @throws IllegalArgumentException Parameters cannot be resolved, e.g. the user does not exist anymore
+     * @throws IllegalStateException The builder is not available
+     */
+    @Nonnull
+    public ReportSnapshot run() throws IOException, IllegalArgumentException, IllegalStateException {
+        try {
+            final ReportBuilder rb = getBuilder();
+            if (rb == null) {
+                throw new IllegalStateException("Report builder " + builder + " is not available");
+            }
+            UserContext context = rb.createContext(parameters);
+            final ReportPlan plan = rb.plan(context);
+            if (plan.isSparseStorageForced()) {
+                context = context.withOptions(plan.getOptions());
+            }
+            final SecurityInspectorReport<?, ?, ?, ?> report = rb.generateReport(context, null);
+            final ReportSnapshot res = getHistory().record(report, getRetentionPolicy());
+            lastError = null;
+            return res;
+        } catch (IOException | RuntimeException ex) {
+            lastError = ex.getMessage() != null ? ex.getMessage() : ex.toString();
+            throw ex;
+        }
+    }
+
+    /**
+     * Downloads the full snapshot of the run.
+     *
+     * @param rsp Response
+     * @param run Run ID
+     * @throws IOException The run cannot be restored
+     */
+    @Restricted(NoExternalUse.class)
+    public void doDownload(@Nonnull StaplerResponse rsp, @QueryParameter String run) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final File tmp = File.createTempFile("audit", ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        try {
+            getHistory().materialize(getRun(run).getId(), tmp);
+            rsp.setContentType("application/gzip");
+            rsp.setHeader("Content-Disposition", "attachment; filename=\"" + name + "-" + run 
+                    + ReportSnapshotStorage.SNAPSHOT_SUFFIX + "\"");
+            rsp.setContentLength((int) tmp.length());
+            Files.copy(tmp.toPath(), rsp.getOutputStream());
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    /**
+     * Streams changes of the run against the previous one as NDJSON.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param run Run ID
+     * @throws IOException The run cannot be restored
+     * @see ReportSnapshotDiff.JsonLinesWriter
+     */
+    @Restricted(NoExternalUse.class)
+    public void doChanges(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, @QueryParameter String run) 
+            throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final ReportSnapshot to = getRun(run);
+        final List<ReportSnapshot> runs = getRuns();
+        ReportSnapshot from = null;
+        for (int i = 0; i + 1 < runs.size(); i++) {
+            if (runs.get(i).getId().equals(to.getId())) {
+                from = runs.get(i + 1);
+                break;
+            }
+        }
+        if (from == null) {
+            throw HttpResponses.error(404, "Run " + run + " is the oldest one");
+        }
+
+        final File fromFile = File.createTempFile("audit", ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        final File toFile = File.createTempFile("audit", ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        try {
+            final ReportSnapshot fromSnapshot = getHistory().materialize(from.getId(), fromFile);
+            final ReportSnapshot toSnapshot = getHistory().materialize(to.getId(), toFile);
+            rsp.setContentType(ExportFormat.NDJSON.getContentType() + ";charset=UTF-8");
+            rsp.setHeader("Content-Disposition", "attachment; filename=\"" + name + "-" + from.getId() + "-" 
+                    + to.getId() + ".ndjson\"");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    rsp.getCompressedOutputStream(req), StandardCharsets.UTF_8))) {
+                ReportSnapshotDiff.compare(fromSnapshot, toSnapshot, new ReportSnapshotDiff.JsonLinesWriter(writer));
+            }
+        } finally {
+            Files.deleteIfExists(fromFile.toPath());
+            Files.deleteIfExists(toFile.toPath());
+        }
+    }
+
+    @Nonnull
+    private ReportSnapshot getRun(@CheckForNull String id) throws IOException {
+        if (id == null || id.isEmpty()) {
+            throw HttpResponses.error(400, "Run is not specified");
+        }
+        final ReportSnapshot run = getHistory().get(id);
+        if (run == null) {
+            throw HttpResponses.error(404, "Run " + id + " does not exist");
+        }
+        return run;
+    }
+
+    @Override
+    public String toString() {
+        return "Audit " + name + " (" + builder + ", " + schedule + ")";
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.audit;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import org.acegisecurity.context.SecurityContext;
+import org.acegisecurity.context.SecurityContextHolder;
+import org.jenkinsci.plugins.securityinspector.model.ReportSnapshot;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Runs {@link ScheduledAudit}s according to their schedules.
+ * Every minute since the previous check is matched, so runs are not lost if the check is delayed by a long audit.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class ScheduledAuditWork extends AsyncPeriodicWork {
+
+    private static final Logger LOGGER = Logger.getLogger(ScheduledAuditWork.class.getName());
+
+    /**
+     * Maximum number of missed minutes, which are checked after a delay.
+     */
+    static final int MAX_CATCH_UP_MINUTES = 
+            Integer.getInteger(ScheduledAuditWork.class.getName() + ".maxCatchUpMinutes", 60);
+
+    private final Set<String> requested = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Last checked minute. {@code -1} before the first check.
+     */
+    private volatile long lastCheck = -1;
+
+    public ScheduledAuditWork() {
+        super("Security Inspector scheduled audits");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return MIN;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        final long now = System.currentTimeMillis() / MIN * MIN;
+        final long from = lastCheck < 0 ? now : Math.max(lastCheck + MIN, now - MAX_CATCH_UP_MINUTES * MIN);
+        lastCheck = now;
+
+        // Storing runs is not urgent, the report generation is throttled by the scheduler anyway
+        final Thread thread = Thread.currentThread();
+        final int priority = thread.getPriority();
+        thread.setPriority(Thread.MIN_PRIORITY);
+        final SecurityContext initialContext = ACL.impersonate(ACL.SYSTEM);
+        try {
+            for (ScheduledAudit audit : ScheduledAudits.getInstance().getAudits()) {
+                if (requested.remove(audit.getName()) || isDue(audit, from, now)) {
+                    run(audit, listener);
+                }
+            }
+        } finally {
+            SecurityContextHolder.setContext(initialContext);
+            thread.setPriority(priority);
+        }
+    }
+
+    private static boolean isDue(@Nonnull ScheduledAudit audit, long from, long to) {
+        final Calendar time = Calendar.getInstance();
+        try {
+            for (long minute = from; minute <= to; minute += MIN) {
+                time.setTimeInMillis(minute);
+                if (audit.isDue(time)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(Level.WARNING, "Cannot check the schedule of " + audit, ex);
+        }
+        return false;
+    }
+
+    private static void run(@Nonnull ScheduledAudit audit, @Nonnull TaskListener listener) {
+        final long start = System.currentTimeMillis();
+        try {
+            final ReportSnapshot run = audit.run();
+            listener.getLogger().println(audit + ": recorded the run " + run.getId() + " with " + run.getRowCount() 
+                    + " rows in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Cannot run " + audit, ex);
+            listener.error(audit + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Runs the audit in background as soon as possible.
+     *
+     * @param name Name of the audit
+     * @throws IllegalStateException The work extension is not registered
+     */
+    public static void scheduleRun(@Nonnull String name) throws IllegalStateException {
+        final ScheduledAuditWork work = JenkinsHelper.getInstanceOrFail().getExtensionList(ScheduledAuditWork.class)
+                .get(ScheduledAuditWork.class);
+        if (work == null) {
+            throw new IllegalStateException("Scheduled audit work is not registered");
+        }
+        work.requested.add(name);
+        work.run();
+    }
+}
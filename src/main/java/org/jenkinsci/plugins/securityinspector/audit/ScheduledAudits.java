@@ -0,0 +1,297 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.audit;
+
+import hudson.BulkChange;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportHistory;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+/**
+ * Stores definitions of {@link ScheduledAudit}s in {@code JENKINS_HOME/security-inspector/audits.xml}.
+ * Runs are stored in {@code JENKINS_HOME/security-inspector/audits/<name>}.
+ */
+@Restricted(NoExternalUse.class)
+public final class ScheduledAudits implements Saveable {
+
+    private static final Logger LOGGER = Logger.getLogger(ScheduledAudits.class.getName());
+    private static final ScheduledAudits INSTANCE = new ScheduledAudits();
+
+    @CheckForNull
+    private List<ScheduledAudit> audits;
+
+    /**
+     * Histories by their directories.
+     * {@link ReportHistory} serializes modifications on its instance, so there must be one per directory.
+     */
+    private final ConcurrentMap<File, ReportHistory> histories = new ConcurrentHashMap<>();
+
+    private ScheduledAudits() {
+    }
+
+    @Nonnull
+    public static ScheduledAudits getInstance() {
+        return INSTANCE;
+    }
+
+    @Nonnull
+    private File getSecurityInspectorDir() {
+        return new File(JenkinsHelper.getInstanceOrFail().getRootDir(), "security-inspector");
+    }
+
+    /**
+     * Gets the root directory for runs.
+     *
+     * @return Directory, which may not exist yet
+     */
+    @Nonnull
+    public File getRootDir() {
+        return new File(getSecurityInspectorDir(), "audits");
+    }
+
+    /**
+     * Gets the history of the audit.
+     *
+     * @param name Name of the audit
+     * @return History shared by all callers
+     */
+    @Nonnull
+    public ReportHistory getHistory(@Nonnull String name) {
+        final File dir = new File(getRootDir(), name);
+        ReportHistory history = histories.get(dir);
+        if (history == null) {
+            final ReportHistory created = new ReportHistory(dir);
+            history = histories.putIfAbsent(dir, created);
+            if (history == null) {
+                history = created;
+            }
+        }
+        return history;
+    }
+
+    @Nonnull
+    private XmlFile getConfigFile() {
+        return new XmlFile(Jenkins.XSTREAM2, new File(getSecurityInspectorDir(), "audits.xml"));
+    }
+
+    /**
+     * Gets configured audits.
+     * Definitions are loaded from the disk on the first call.
+     *
+     * @return Audits
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public synchronized List<ScheduledAudit> getAudits() {
+        if (audits == null) {
+            audits = new ArrayList<>();
+            final XmlFile file = getConfigFile();
+            if (file.exists()) {
+                try {
+                    audits.addAll((List<ScheduledAudit>) file.read());
+                } catch (IOException | ClassCastException ex) {
+                    LOGGER.log(Level.WARNING, "Cannot load scheduled audits from " + file, ex);
+                }
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(audits));
+    }
+
+    @CheckForNull
+    public ScheduledAudit getAudit(@Nonnull String name) {
+        for (ScheduledAudit audit : getAudits()) {
+            if (audit.getName().equals(name)) {
+                return audit;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes audits accessible by URLs like {@code security-inspector/audits/<name>}.
+     *
+     * @param name Name of the audit
+     * @return Audit. {@code null} if it does not exist
+     */
+    @CheckForNull
+    @Restricted(NoExternalUse.class)
+    public ScheduledAudit getDynamic(@Nonnull String name) {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        return getAudit(name);
+    }
+
+    /**
+     * Gets builders, which may be used in audits.
+     *
+     * @return Builders supporting {@link ReportBuilder#createContext(ReportParameters)}
+     */
+    @Nonnull
+    public List<ReportBuilder> getBuilders() {
+        final List<ReportBuilder> res = new ArrayList<>();
+        for (ReportBuilder rb : ReportBuilder.all()) {
+            if (rb.isContextCreationSupported()) {
+                res.add(rb);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Adds the audit.
+     *
+     * @param audit Audit
+     * @throws IllegalArgumentException The audit with the same name exists
+     * @throws IOException Cannot save definitions
+     */
+    public synchronized void add(@Nonnull ScheduledAudit audit) throws IllegalArgumentException, IOException {
+        if (getAudit(audit.getName()) != null) {
+            throw new IllegalArgumentException("Audit " + audit.getName() + " already exists");
+        }
+        audits.add(audit);
+        save();
+    }
+
+    /**
+     * Removes the audit and its runs.
+     *
+     * @param name Name of the audit
+     * @return {@code true} if the audit has been removed
+     * @throws IOException Cannot save definitions or delete runs
+     */
+    public synchronized boolean remove(@Nonnull String name) throws IOException {
+        final ScheduledAudit audit = getAudit(name);
+        if (audit == null) {
+            return false;
+        }
+        audits.remove(audit);
+        save();
+        final ReportHistory history = audit.getHistory();
+        synchronized (history) {
+            Util.deleteRecursive(history.getDir());
+        }
+        histories.remove(history.getDir(), history);
+        return true;
+    }
+
+    @Override
+    public synchronized void save() throws IOException {
+        if (BulkChange.contains(this)) {
+            return;
+        }
+        final XmlFile file = getConfigFile();
+        file.write(new ArrayList<>(getAudits()));
+        SaveableListener.fireOnChange(this, file);
+    }
+
+    @RequirePOST
+    @Restricted(NoExternalUse.class)
+    public HttpResponse doAdd(@Nonnull StaplerRequest req) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final String builderIndex = Util.fixEmptyAndTrim(req.getParameter("builder"));
+        ReportBuilder builder = null;
+        for (ReportBuilder rb : getBuilders()) {
+            if (rb.getIndex().equals(builderIndex)) {
+                builder = rb;
+            }
+        }
+        if (builder == null) {
+            throw HttpResponses.error(400, "Report " + builderIndex + " cannot be scheduled");
+        }
+        final String permissions = Util.fixEmptyAndTrim(req.getParameter("permissions"));
+        final ReportParameters parameters = new ReportParameters(req.getParameter("target"), 
+                req.getParameter("includeRegex"), req.getParameter("folder"),
+                permissions != null ? Arrays.asList(permissions.split("[,\\s]+")) : Collections.<String>emptyList(), 
+                req.getParameter("sparse") != null, req.getParameter("dropEmptyRows") != null);
+
+        try {
+            final ScheduledAudit audit = new ScheduledAudit(Util.fixNull(Util.fixEmptyAndTrim(req.getParameter("name"))), 
+                    builderIndex, Util.fixNull(req.getParameter("schedule")), parameters, 
+                    getInt(req, "maxRuns"), getInt(req, "maxAgeDays"), getInt(req, "maxSizeMB"));
+            // Report misconfigurations right away instead of failing in background
+            builder.createContext(parameters);
+            add(audit);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            throw HttpResponses.error(400, ex.getMessage());
+        }
+        return HttpResponses.redirectToDot();
+    }
+
+    @RequirePOST
+    @Restricted(NoExternalUse.class)
+    public HttpResponse doRemove(@QueryParameter String name) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        if (name == null || !remove(name)) {
+            throw HttpResponses.error(404, "Audit " + name + " does not exist");
+        }
+        return HttpResponses.redirectToDot();
+    }
+
+    @RequirePOST
+    @Restricted(NoExternalUse.class)
+    public HttpResponse doRun(@QueryParameter String name) {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        if (name == null || getAudit(name) == null) {
+            throw HttpResponses.error(404, "Audit " + name + " does not exist");
+        }
+        ScheduledAuditWork.scheduleRun(name);
+        return HttpResponses.forwardToPreviousPage();
+    }
+
+    private static int getInt(@Nonnull StaplerRequest req, @Nonnull String name) throws IllegalArgumentException {
+        final String value = Util.fixEmptyAndTrim(req.getParameter(name));
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value, ex);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.cli;
+
+import hudson.cli.CLICommand;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.jenkinsci.plugins.securityinspector.model.ExportFormat;
+import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportListener;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.model.ReportPlan;
+import org.jenkinsci.plugins.securityinspector.model.ReportSnapshotStorage;
+import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.kohsuke.args4j.Option;
+
+/**
+ * Base class for CLI commands, which generate reports without the web UI.
+ * Rows are written to stdout as soon as they are computed.
+ */
+public abstract class ReportCommand extends CLICommand {
+
+    @Option(name = "-f", aliases = "--format", usage = "Export format: CSV, NDJSON, JSON, SPARSE_CSV, SPARSE_NDJSON or GROUPED_CSV")
+    public String format = ExportFormat.CSV.name();
+
+    @Option(name = "-p", aliases = "--permission", usage = "ID of the permission to be reported, e.g. hudson.model.Item.Build. "
+            + "Can be specified multiple times. All permissions are reported by default")
+    public List<String> permissions = new ArrayList<>();
+
+    @Option(name = "--permission-group", usage = "Class name of the permission group owner to be reported, e.g. hudson.model.Item. "
+            + "Can be specified multiple times")
+    public List<String> permissionGroups = new ArrayList<>();
+
+    @Option(name = "--sparse", usage = "Store only granted permissions")
+    public boolean sparse;
+
+    @Option(name = "--drop-empty-rows", usage = "Do not report rows without granted permissions")
+    public boolean dropEmptyRows;
+
+    @Option(name = "--snapshot", usage = "Also save the report as a snapshot in JENKINS_HOME")
+    public boolean snapshot;
+
+    /**
+     * Gets the builder, which generates the report.
+     *
+     * @return Report builder
+     */
+    @Nonnull
+    protected abstract ReportBuilder getBuilder();
+
+    /**
+     * Creates report parameters from the command arguments.
+     * The parameters are resolved by {@link ReportBuilder#createContext(ReportParameters)},
+     * so the command reports the same rows as scheduled audits.
+     *
+     * @return Report parameters
+     */
+    @Nonnull
+    protected abstract ReportParameters createParameters();
+
+    /**
+     * Creates report parameters with permission filters and options of the command.
+     *
+     * @param target Target of the report, depends on the builder
+     * @param includeRegex Regular expression for rows to be reported
+     * @param folder Name of the top-level folder to be reported
+     * @return Report parameters
+     */
+    @Nonnull
+    protected final ReportParameters createParameters(@CheckForNull String target, @CheckForNull String includeRegex, 
+            @CheckForNull String folder) {
+        return new ReportParameters(target, includeRegex, folder, permissions, permissionGroups, sparse, dropEmptyRows);
+    }
+
+    @Override
+    protected int run() throws Exception {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+
+        final ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported export format: " + format, ex);
+        }
+        UserContext context = getBuilder().createContext(createParameters());
+        final ReportPlan plan = getBuilder().plan(context);
+        if (plan.isSparseStorageForced()) {
+            stderr.println("The report does not fit the memory budget, switching to the sparse storage: " + plan);
+            context = context.withOptions(plan.getOptions());
+        }
+        if (plan.isConfirmationRequired()) {
+            stderr.println("WARNING: The report is larger than recommended: " + plan);
+        }
+
+        final Writer out = new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8));
+        final StreamingListener listener = new StreamingListener(exportFormat, out);
+        final SecurityInspectorReport report;
+        try {
+            report = getBuilder().generateReport(context, listener);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        if (!listener.started) {
+            // The report has not been generated, e.g. the user cannot be impersonated
+            exportFormat.write(report, out);
+        }
+        out.flush();
+
+        if (snapshot) {
+            final File file = ReportSnapshotStorage.getInstance().save(getBuilder().getIndex(), report);
+            stderr.println("Snapshot has been saved to " + file);
+        }
+        return 0;
+    }
+
+    /**
+     * Writes rows as soon as they are added to the report.
+     */
+    private static class StreamingListener extends ReportListener<Object> {
+
+        @Nonnull
+        private final ExportFormat format;
+        @Nonnull
+        private final Writer out;
+        @CheckForNull
+        private ExportFormat.RowWriter writer;
+        private boolean started;
+
+        StreamingListener(@Nonnull ExportFormat format, @Nonnull Writer out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        @Override
+        public void onStarted(SecurityInspectorReport<?, ?, ?, ?> report) {
+            started = true;
+            writer = format.open(report, out);
+            try {
+                writer.begin();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onRow(SecurityInspectorReport<?, ?, ?, ?> report, Object row) {
+            try {
+                writer.row(row);
+                out.flush();
+            } catch (IOException ex) {
+                // Abort the report generation, the output is not available anymore
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void onCompleted(SecurityInspectorReport<?, ?, ?, ?> report) {
+            try {
+                writer.end();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
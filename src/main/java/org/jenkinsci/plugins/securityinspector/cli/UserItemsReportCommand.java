@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.cli;
+
+import hudson.Extension;
+import org.jenkinsci.plugins.securityinspector.impl.users.PermissionsForItemReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.kohsuke.args4j.Argument;
+import org.kohsuke.args4j.Option;
+
+/**
+ * Reports job permissions of the specified user.
+ *
+ * @see PermissionsForItemReportBuilder
+ */
+@Extension
+public class UserItemsReportCommand extends ReportCommand {
+
+    @Argument(index = 0, metaVar = "USER", required = true, usage = "ID of the user")
+    public String user;
+
+    @Option(name = "--include-regex", usage = "Regular expression for full names of jobs to be reported")
+    public String includeRegex;
+
+    @Option(name = "--folder", usage = "Name of the top-level folder to be reported")
+    public String folder;
+
+    @Override
+    public String getName() {
+        return "security-inspector-user-items";
+    }
+
+    @Override
+    public String getShortDescription() {
+        return "Reports job permissions of the specified user";
+    }
+
+    @Override
+    protected ReportBuilder getBuilder() {
+        return ReportBuilder.all().getInstance(PermissionsForItemReportBuilder.class);
+    }
+
+    @Override
+    protected ReportParameters createParameters() {
+        return createParameters(user, includeRegex, folder);
+    }
+}
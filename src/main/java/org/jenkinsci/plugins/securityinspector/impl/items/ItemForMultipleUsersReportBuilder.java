@@ -44,11 +44,17 @@ import org.acegisecurity.context.SecurityContext;
 import org.acegisecurity.context.SecurityContextHolder;
 import org.acegisecurity.userdetails.UsernameNotFoundException;
 import org.jenkinsci.plugins.securityinspector.Messages;
-import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
 import org.jenkinsci.plugins.securityinspector.UserContext;
 import org.jenkinsci.plugins.securityinspector.UserContextCache;
 import org.jenkinsci.plugins.securityinspector.model.PermissionReport;
+import org.jenkinsci.plugins.securityinspector.model.ReportEvents;
+import org.jenkinsci.plugins.securityinspector.model.ReportListener;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.model.ReportTimings;
 import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
 import org.jenkinsci.plugins.securityinspector.util.UserFilter;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
@@ -93,28 +99,62 @@ public class ItemForMultipleUsersReportBuilder extends ItemReportBuilder {
         final String selectedItem = req.getParameter("selectedJob");
         UserFilter filter4user = new UserFilter(req);
         List<User> selectedUsers = filter4user.doFilter();
-        UserContextCache.updateSearchCache(null, null, selectedUsers, selectedItem);
+        PermissionFilter filter4permissions = new PermissionFilter(req);
+        UserContextCache.updateSearchCache(null, null, selectedUsers, selectedItem, 
+                filter4permissions.getSelectedPermissions(), new ReportOptions(req));
     }
 
-    //TODO: fix rawtype before the release
     @Override
-    public SecurityInspectorReport getReport() {
-        Set<User> users = getRequestedUsers();
-        Item job = getRequestedJob();
+    public boolean isContextCreationSupported() {
+        return true;
+    }
 
-        ReportImpl report = ReportImpl.createReport(users, job);
+    /**
+     * Creates the context for the item specified as the target by its full name.
+     * Users are filtered by the regular expression.
+     */
+    @Override
+    public UserContext createContext(ReportParameters parameters) throws IllegalArgumentException {
+        final String item = parameters.getRequiredTarget();
+        if (JenkinsHelper.getInstanceOrFail().getItemByFullName(item, Item.class) == null) {
+            throw new IllegalArgumentException("Item " + item + " does not exist");
+        }
+        final List<User> selectedUsers = new UserFilter(parameters.getIncludeRegex()).doFilter();
+        return new UserContext(null, null, selectedUsers, item, parameters.getSelectedPermissions(), parameters.getOptions());
+    }
+
+    @Override
+    public List<PermissionGroup> getPossiblePermissionGroups() {
+        return sortGroups(ReportImpl.getReportedGroups());
+    }
+
+    @Override
+    protected SecurityInspectorReport<?, ?, ?, ?> createReport(UserContext context, ReportListener<Object> listener) {
+        Set<User> users = getRequestedUsers(context);
+        Item job = getRequestedJob(context);
+
+        ReportImpl report = new ReportImpl(job);
+        report.setOptions(context.getOptions());
+        report.setListener(listener);
+        report.generateReport(users, new PermissionFilter(context.getPermissions()));
         return report;
     }
 
+    @Override
+    protected int getEstimatedRowCount(UserContext context) {
+        final List<User> selectedUsers = context.getUsers();
+        return selectedUsers != null ? selectedUsers.size() : -1;
+    }
+
     @Nonnull
     @Restricted(NoExternalUse.class)
     public Set<User> getRequestedUsers() throws HttpResponses.HttpResponseException {
-        UserContext context = UserContextCache.getInstance().get(getSessionId());
-        if (context == null) {
-            // TODO: 
-            throw HttpResponses.error(404, "Context has not been found");
-        }
+        return getRequestedUsers(getRequestedContext());
+    }
 
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public Set<User> getRequestedUsers(@Nonnull UserContext context) throws HttpResponses.HttpResponseException {
         final List<User> selectedUsers = context.getUsers();
         if (selectedUsers == null) {
             throw HttpResponses.error(500, "The retrieved context does not contain user filter settings");
@@ -145,6 +185,8 @@ public class ItemForMultipleUsersReportBuilder extends ItemReportBuilder {
 
         @Override
         public void forRow(User user, Runnable runnable) {
+            final long impersonationStart = System.nanoTime();
+            final Object impersonationEvent = ReportEvents.beginImpersonation();
             final Authentication auth;
             try {
                 auth = user.impersonate();
@@ -156,6 +198,8 @@ public class ItemForMultipleUsersReportBuilder extends ItemReportBuilder {
             SecurityContext initialContext = null;
             try {
                 initialContext = hudson.security.ACL.impersonate(auth);
+                getTimings().record(ReportTimings.Phase.IMPERSONATION, System.nanoTime() - impersonationStart);
+                ReportEvents.commitImpersonation(impersonationEvent, user.getId());
                 runnable.run();
             } finally {
                 if (initialContext != null) {
@@ -169,19 +213,37 @@ public class ItemForMultipleUsersReportBuilder extends ItemReportBuilder {
             return job4report.hasPermission(item);
         }
         
-        public final void generateReport(@Nonnull Set<User> rows) {
+        /**
+         * Gets permission groups, which are applicable to items.
+         *
+         * @return Set of groups
+         */
+        @Nonnull
+        public static Set<PermissionGroup> getReportedGroups() {
             Set<PermissionGroup> groups = new HashSet<>(PermissionGroup.getAll());
             groups.remove(PermissionGroup.get(Permission.class));
             groups.remove(PermissionGroup.get(Hudson.class));
             groups.remove(PermissionGroup.get(Computer.class));
             groups.remove(PermissionGroup.get(View.class));
+            return groups;
+        }
+
+        public final void generateReport(@Nonnull Set<User> rows) {
+            generateReport(rows, new PermissionFilter());
+        }
 
-            super.generateReport(rows, groups);
+        public final void generateReport(@Nonnull Set<User> rows, @Nonnull PermissionFilter filter) {
+            super.generateReport(rows, getReportedGroups(), filter);
         }
 
         public static ReportImpl createReport(@Nonnull Set<User> rows, @Nonnull Item job) {
+            return createReport(rows, job, new PermissionFilter());
+        }
+
+        public static ReportImpl createReport(@Nonnull Set<User> rows, @Nonnull Item job, 
+                @Nonnull PermissionFilter filter) {
             ReportImpl report = new ReportImpl(job);
-            report.generateReport(rows);
+            report.generateReport(rows, filter);
             return report;
         }
 
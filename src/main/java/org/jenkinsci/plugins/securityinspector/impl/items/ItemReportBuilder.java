@@ -27,9 +27,7 @@ import hudson.model.Item;
 import java.util.Comparator;
 import java.util.List;
 import javax.annotation.Nonnull;
-import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
 import org.jenkinsci.plugins.securityinspector.UserContext;
-import org.jenkinsci.plugins.securityinspector.UserContextCache;
 import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
 import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
 import org.kohsuke.accmod.Restricted;
@@ -65,11 +63,12 @@ public abstract class ItemReportBuilder extends ReportBuilder {
     @Nonnull
     @Restricted(NoExternalUse.class)
     public Item getRequestedJob() throws HttpResponses.HttpResponseException {
-        UserContext context = UserContextCache.getInstance().get(getSessionId());
-        if (context == null) {
-            // TODO: 
-            throw HttpResponses.error(404, "Context has not been found");
-        }
+        return getRequestedJob(getRequestedContext());
+    }
+
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public Item getRequestedJob(@Nonnull UserContext context) throws HttpResponses.HttpResponseException {
         String jobName = context.getItem();
         Item job = JenkinsHelper.getInstanceOrFail().getItemByFullName(jobName, Item.class);
         if (job == null) {
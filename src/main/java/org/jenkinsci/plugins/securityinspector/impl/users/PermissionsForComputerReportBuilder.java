@@ -48,13 +48,18 @@ import org.acegisecurity.context.SecurityContext;
 import org.acegisecurity.context.SecurityContextHolder;
 import org.acegisecurity.userdetails.UsernameNotFoundException;
 import org.jenkinsci.plugins.securityinspector.Messages;
-import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
 import org.jenkinsci.plugins.securityinspector.UserContext;
 import org.jenkinsci.plugins.securityinspector.UserContextCache;
 import org.jenkinsci.plugins.securityinspector.model.PermissionReport;
+import org.jenkinsci.plugins.securityinspector.model.ReportEvents;
+import org.jenkinsci.plugins.securityinspector.model.ReportListener;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.model.ReportTimings;
 import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
 import org.jenkinsci.plugins.securityinspector.util.ComputerFilter;
 import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.HttpResponses;
@@ -97,20 +102,53 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
             throw new Descriptor.FormException(exception, "includeRegex4Slave");
         }
         String selectedItem = req.getParameter("selectedUser");
+        List<User> batchUsers = getBatchUsers(req);
         ComputerFilter filter4slave = new ComputerFilter(req);
         List<Computer> selectedSlaves = filter4slave.doFilter();
-        UserContextCache.updateSearchCache(null, selectedSlaves, null, selectedItem);
+        PermissionFilter filter4permissions = new PermissionFilter(req);
+        UserContextCache.updateSearchCache(null, selectedSlaves, batchUsers, batchUsers != null ? "" : selectedItem, 
+                filter4permissions.getSelectedPermissions(), new ReportOptions(req));
+    }
+
+    @Override
+    public boolean isContextCreationSupported() {
+        return true;
+    }
+
+    /**
+     * Creates the context for the user specified as the target.
+     * Computers are filtered by the regular expression.
+     */
+    @Override
+    public UserContext createContext(ReportParameters parameters) throws IllegalArgumentException {
+        final String user = parameters.getRequiredTarget();
+        if (User.get(user, false, null) == null) {
+            throw new IllegalArgumentException("User " + user + " does not exist");
+        }
+        final List<Computer> selectedSlaves = new ComputerFilter(parameters.getIncludeRegex()).doFilter();
+        return new UserContext(null, selectedSlaves, null, user, parameters.getSelectedPermissions(), parameters.getOptions());
+    }
+
+    @Override
+    public List<PermissionGroup> getPossiblePermissionGroups() {
+        return sortGroups(ReportImpl.getReportedGroups());
+    }
+
+    @Override
+    protected int getEstimatedRowCountPerUser(UserContext context) {
+        final List<Computer> selectedSlaves = context.getSlaves();
+        return selectedSlaves != null ? selectedSlaves.size() : -1;
     }
 
     @Nonnull
     @Restricted(NoExternalUse.class)
     public Set<Computer> getRequestedSlaves() throws HttpResponses.HttpResponseException {
-        UserContext context = UserContextCache.getInstance().get(getSessionId());
-        if (context == null) {
-            // TODO:  What todo?
-            throw HttpResponses.error(404, "Context has not been found");
-        }
+        return getRequestedSlaves(getRequestedContext());
+    }
 
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public Set<Computer> getRequestedSlaves(@Nonnull UserContext context) throws HttpResponses.HttpResponseException {
         final List<Computer> selectedSlaves = context.getSlaves();
         if (selectedSlaves == null) {
             throw HttpResponses.error(500, "The retrieved context does not contain slave filter settings");
@@ -127,8 +165,8 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
 
     //TODO: Rename Slave => Node
     @Override
-    public SecurityInspectorReport getReport() {
-        Set<Computer> computers = getRequestedSlaves();
+    protected SecurityInspectorReport<?, ?, ?, ?> createReport(UserContext context, ReportListener<Object> listener) {
+        Set<Computer> computers = getRequestedSlaves(context);
         Set<Computer> slaves = new HashSet<>();
         for (Computer c : computers) {
             Node slave = c.getNode();
@@ -137,7 +175,7 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
             }
         }
 
-        final User user = getRequestedUser();
+        final User user = getRequestedUser(context);
         ReportImpl report;
 
         // Impersonate to check the permission
@@ -151,7 +189,10 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
         SecurityContext initialContext = null;
         try {
             initialContext = hudson.security.ACL.impersonate(auth);
-            report = ReportImpl.createReport(slaves, user);
+            report = new ReportImpl(user);
+            report.setOptions(context.getOptions());
+            report.setListener(listener);
+            report.generateReport(slaves, new PermissionFilter(context.getPermissions()));
         } finally {
             if (initialContext != null) {
                 SecurityContextHolder.setContext(initialContext);
@@ -181,28 +222,43 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
         }
         
         @Override
-        protected Boolean getEntryReport(Computer column, Permission item) {
-            
+        public void forRow(Computer row, Runnable runnable) {
+            final long impersonationStart = System.nanoTime();
+            final Object impersonationEvent = ReportEvents.beginImpersonation();
             final Authentication auth;
             try {
                 auth = user4report.impersonate();
             } catch (UsernameNotFoundException ex) {
-                return Boolean.FALSE;
+                fillRowByResult(row, Boolean.FALSE);
+                return;
             }
             
             SecurityContext initialContext = null;
-            AuthorizationStrategy strategy = JenkinsHelper.getInstanceOrFail().getAuthorizationStrategy();
             try {
                 initialContext = hudson.security.ACL.impersonate(auth);
-                return strategy.getACL(column).hasPermission(item);
+                getTimings().record(ReportTimings.Phase.IMPERSONATION, System.nanoTime() - impersonationStart);
+                ReportEvents.commitImpersonation(impersonationEvent, user4report.getId());
+                runnable.run();
             } finally {
                 if (initialContext != null) {
                     SecurityContextHolder.setContext(initialContext);
                 }
             }
         }
+        
+        @Override
+        protected Boolean getEntryReport(Computer column, Permission item) {
+            AuthorizationStrategy strategy = JenkinsHelper.getInstanceOrFail().getAuthorizationStrategy();
+            return strategy.getACL(column).hasPermission(item);
+        }
 
-        public final void generateReport(@Nonnull Set<Computer> rows) {
+        /**
+         * Gets permission groups, which are applicable to computers.
+         *
+         * @return Set of groups
+         */
+        @Nonnull
+        public static Set<PermissionGroup> getReportedGroups() {
             Set<PermissionGroup> groups = new HashSet<>(PermissionGroup.getAll());
             groups.remove(PermissionGroup.get(Permission.class));
             groups.remove(PermissionGroup.get(Hudson.class));
@@ -211,13 +267,25 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
             groups.remove(PermissionGroup.get(Item.class));
             groups.remove(PermissionGroup.get(SCM.class));
             groups.remove(PermissionGroup.get(Run.class));
+            return groups;
+        }
 
-            super.generateReport(rows, groups);
+        public final void generateReport(@Nonnull Set<Computer> rows) {
+            generateReport(rows, new PermissionFilter());
+        }
+
+        public final void generateReport(@Nonnull Set<Computer> rows, @Nonnull PermissionFilter filter) {
+            super.generateReport(rows, getReportedGroups(), filter);
         }
 
         public static ReportImpl createReport(@Nonnull Set<Computer> rows, @Nonnull User user) {
+            return createReport(rows, user, new PermissionFilter());
+        }
+
+        public static ReportImpl createReport(@Nonnull Set<Computer> rows, @Nonnull User user,
+                @Nonnull PermissionFilter filter) {
             ReportImpl report = new ReportImpl(user);
-            report.generateReport(rows);
+            report.generateReport(rows, filter);
             return report;
         }
 
@@ -231,6 +299,11 @@ public class PermissionsForComputerReportBuilder extends UserReportBuilder {
             return row.getDisplayName();
         }
 
+        @Override
+        public String getRowId(Computer row) {
+            return row.getName();
+        }
+
         @Override
         public boolean isEntryReportOk(Computer row, Permission item, Boolean report) {
             return report != null ? report : false;
@@ -39,7 +39,6 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
-import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.servlet.ServletException;
 import org.acegisecurity.Authentication;
@@ -47,13 +46,18 @@ import org.acegisecurity.context.SecurityContext;
 import org.acegisecurity.context.SecurityContextHolder;
 import org.acegisecurity.userdetails.UsernameNotFoundException;
 import org.jenkinsci.plugins.securityinspector.Messages;
-import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
 import org.jenkinsci.plugins.securityinspector.UserContext;
 import org.jenkinsci.plugins.securityinspector.UserContextCache;
 import org.jenkinsci.plugins.securityinspector.model.PermissionReport;
+import org.jenkinsci.plugins.securityinspector.model.ReportEvents;
+import org.jenkinsci.plugins.securityinspector.model.ReportListener;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.model.ReportTimings;
 import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
 import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
 import org.jenkinsci.plugins.securityinspector.util.JobFilter;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.HttpResponses;
@@ -94,23 +98,54 @@ public class PermissionsForItemReportBuilder extends UserReportBuilder {
             throw new Descriptor.FormException(exception, "includeRegex");
         }
         final String selectedItem = req.getParameter("selectedUser");
+        final List<User> batchUsers = getBatchUsers(req);
         JobFilter filters = new JobFilter(req);
         
         // TODO: Ideally the plugin should not depend on the AllView existense
-        final AllView sourceView = getAllView();
+        final AllView sourceView = JenkinsHelper.getAllView();
         if (sourceView == null) {
             throw HttpResponses.error(404, "Cannot find the All view in the Jenkins root");
         }
 
         List<TopLevelItem> selectedJobs = filters.doFilter(sourceView);
-        UserContextCache.updateSearchCache(selectedJobs, null, null, selectedItem);
+        PermissionFilter filter4permissions = new PermissionFilter(req);
+        UserContextCache.updateSearchCache(selectedJobs, null, batchUsers, batchUsers != null ? "" : selectedItem, 
+                filter4permissions.getSelectedPermissions(), new ReportOptions(req));
     }
 
-    //TODO: fix rawtype before the release
     @Override
-    public SecurityInspectorReport getReport() {
-        Set<TopLevelItem> items = getRequestedJobs();
-        User user = getRequestedUser();
+    public boolean isContextCreationSupported() {
+        return true;
+    }
+
+    /**
+     * Creates the context for the user specified as the target.
+     * Jobs are filtered by the regular expression and the folder.
+     */
+    @Override
+    public UserContext createContext(ReportParameters parameters) throws IllegalArgumentException {
+        final String user = parameters.getRequiredTarget();
+        if (User.get(user, false, null) == null) {
+            throw new IllegalArgumentException("User " + user + " does not exist");
+        }
+        final AllView sourceView = JenkinsHelper.getAllView();
+        if (sourceView == null) {
+            throw new IllegalStateException("Cannot find the All view in the Jenkins root");
+        }
+        final List<TopLevelItem> selectedJobs = new JobFilter(parameters.getIncludeRegex(), parameters.getFolder())
+                .doFilter(sourceView);
+        return new UserContext(selectedJobs, null, null, user, parameters.getSelectedPermissions(), parameters.getOptions());
+    }
+
+    @Override
+    public List<PermissionGroup> getPossiblePermissionGroups() {
+        return sortGroups(ReportImpl.getReportedGroups());
+    }
+
+    @Override
+    protected SecurityInspectorReport<?, ?, ?, ?> createReport(UserContext context, ReportListener<Object> listener) {
+        Set<TopLevelItem> items = getRequestedJobs(context);
+        User user = getRequestedUser(context);
         final ReportImpl report;
 
         // Impersonate to check the permission
@@ -125,7 +160,10 @@ public class PermissionsForItemReportBuilder extends UserReportBuilder {
         SecurityContext initialContext = null;
         try {
             initialContext = hudson.security.ACL.impersonate(auth);
-            report = ReportImpl.createReport(items, user);
+            report = new ReportImpl(user);
+            report.setOptions(context.getOptions());
+            report.setListener(listener);
+            report.generateReport(items, new PermissionFilter(context.getPermissions()));
         } finally {
             if (initialContext != null) {
                 SecurityContextHolder.setContext(initialContext);
@@ -134,14 +172,10 @@ public class PermissionsForItemReportBuilder extends UserReportBuilder {
         return report;
     }
 
-    @CheckForNull
-    private AllView getAllView() {
-        for (View view : JenkinsHelper.getInstanceOrFail().getViews()) {
-            if (view instanceof AllView) {
-                return (AllView) view;
-            }
-        }
-        return null;
+    @Override
+    protected int getEstimatedRowCountPerUser(UserContext context) {
+        final List<TopLevelItem> selectedJobs = context.getJobs();
+        return selectedJobs != null ? selectedJobs.size() : -1;
     }
 
     /**
@@ -152,12 +186,18 @@ public class PermissionsForItemReportBuilder extends UserReportBuilder {
     @Nonnull
     @Restricted(NoExternalUse.class)
     public Set<TopLevelItem> getRequestedJobs() throws HttpResponses.HttpResponseException {
-        final UserContext context = UserContextCache.getInstance().get(getSessionId());
-        if (context == null) {
-            // TODO: 
-            throw HttpResponses.error(404, "Context has not been found");
-        }
+        return getRequestedJobs(getRequestedContext());
+    }
 
+    /**
+     * Get Items from the specified context
+     *
+     * @param context Context with the submitted filters
+     * @return res List of the requested jobs
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public Set<TopLevelItem> getRequestedJobs(@Nonnull UserContext context) throws HttpResponses.HttpResponseException {
         final List<TopLevelItem> selectedJobs = context.getJobs();
         if (selectedJobs == null) {
             throw HttpResponses.error(500, "The retrieved context does not contain job filter settings");
@@ -187,44 +227,74 @@ public class PermissionsForItemReportBuilder extends UserReportBuilder {
         }
         
         @Override
-        protected Boolean getEntryReport(TopLevelItem column, Permission item) {
+        public void forRow(TopLevelItem row, Runnable runnable) {
+            // Items, which have been removed, are reported as inaccessible
+            if (JenkinsHelper.getInstanceOrFail().getItemByFullName(row.getFullName()) == null) {
+                fillRowByResult(row, Boolean.FALSE);
+                return;
+            }
             
+            final long impersonationStart = System.nanoTime();
+            final Object impersonationEvent = ReportEvents.beginImpersonation();
             final Authentication auth;
             try {
                 auth = user4report.impersonate();
             } catch (UsernameNotFoundException ex) {
-                return Boolean.FALSE;
+                fillRowByResult(row, Boolean.FALSE);
+                return;
             }
             
             SecurityContext initialContext = null;
-            Item i = JenkinsHelper.getInstanceOrFail().getItemByFullName(column.getFullName());
-            if (i == null) {
-                return Boolean.FALSE;
-            }
             try {
                 initialContext = hudson.security.ACL.impersonate(auth);
-                return i.hasPermission(item);
+                getTimings().record(ReportTimings.Phase.IMPERSONATION, System.nanoTime() - impersonationStart);
+                ReportEvents.commitImpersonation(impersonationEvent, user4report.getId());
+                runnable.run();
             } finally {
                 if (initialContext != null) {
                     SecurityContextHolder.setContext(initialContext);
                 }
             }
         }
+        
+        @Override
+        protected Boolean getEntryReport(TopLevelItem column, Permission item) {
+            return column.hasPermission(item);
+        }
 
-        public final void generateReport(@Nonnull Set<TopLevelItem> rows) {
+        /**
+         * Gets permission groups, which are applicable to items.
+         *
+         * @return Set of groups
+         */
+        @Nonnull
+        public static Set<PermissionGroup> getReportedGroups() {
             Set<PermissionGroup> groups = new HashSet<>(PermissionGroup.getAll());
             groups.remove(PermissionGroup.get(Permission.class));
             groups.remove(PermissionGroup.get(Hudson.class));
             groups.remove(PermissionGroup.get(Computer.class));
             groups.remove(PermissionGroup.get(View.class));
+            return groups;
+        }
+
+        public final void generateReport(@Nonnull Set<TopLevelItem> rows) {
+            generateReport(rows, new PermissionFilter());
+        }
 
-            super.generateReport(rows, groups);
+        public final void generateReport(@Nonnull Set<TopLevelItem> rows, @Nonnull PermissionFilter filter) {
+            super.generateReport(rows, getReportedGroups(), filter);
         }
 
         @Nonnull
         public static ReportImpl createReport(@Nonnull Set<TopLevelItem> rows, @Nonnull User user) {
+            return createReport(rows, user, new PermissionFilter());
+        }
+
+        @Nonnull
+        public static ReportImpl createReport(@Nonnull Set<TopLevelItem> rows, @Nonnull User user,
+                @Nonnull PermissionFilter filter) {
             ReportImpl report = new ReportImpl(user);
-            report.generateReport(rows);
+            report.generateReport(rows, filter);
             return report;
         }
 
@@ -238,6 +308,11 @@ public class PermissionsForItemReportBuilder extends UserReportBuilder {
             return row.getFullDisplayName();
         }
 
+        @Override
+        public String getRowId(TopLevelItem row) {
+            return row.getFullName();
+        }
+
         @Override
         public boolean isEntryReportOk(TopLevelItem row, Permission item, Boolean report) {
             return report != null ? report : false;
@@ -0,0 +1,288 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.impl.users;
+
+import hudson.Extension;
+import hudson.model.AllView;
+import hudson.model.Descriptor;
+import hudson.model.TopLevelItem;
+import hudson.model.User;
+import hudson.security.ACL;
+import hudson.security.Permission;
+import hudson.security.PermissionGroup;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.Nonnull;
+import javax.servlet.ServletException;
+import org.acegisecurity.Authentication;
+import org.acegisecurity.userdetails.UsernameNotFoundException;
+import org.jenkinsci.plugins.securityinspector.Messages;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.jenkinsci.plugins.securityinspector.UserContextCache;
+import org.jenkinsci.plugins.securityinspector.model.ComparisonReport;
+import org.jenkinsci.plugins.securityinspector.model.ReportEvents;
+import org.jenkinsci.plugins.securityinspector.model.ReportListener;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
+import org.jenkinsci.plugins.securityinspector.model.ReportParameters;
+import org.jenkinsci.plugins.securityinspector.model.ReportTimings;
+import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.JobFilter;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.StaplerRequest;
+
+/**
+ * Compares job permissions of multiple users side by side.
+ * Items are traversed once, and all users are evaluated for every item.
+ */
+@Extension(ordinal = 0.5)
+public class UserComparisonReportBuilder extends UserReportBuilder {
+
+    @Override
+    public String getIcon() {
+        return "user.png";
+    }
+
+    @Override
+    public String getIndex() {
+        return "compare-users";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Multiple users, multiple jobs";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Compare job permissions of the specified users";
+    }
+
+    @Override
+    public void processParameters(StaplerRequest req) throws Descriptor.FormException, ServletException {
+        final String regex = req.getParameter("_.includeRegex");
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException exception) {
+            throw new Descriptor.FormException(exception, "includeRegex");
+        }
+        final List<User> users = getBatchUsers(req);
+        if (users == null || users.size() < 2) {
+            throw new Descriptor.FormException("At least two users should be selected for the comparison", "batchUsers");
+        }
+        JobFilter filters = new JobFilter(req);
+
+        final AllView sourceView = JenkinsHelper.getAllView();
+        if (sourceView == null) {
+            throw HttpResponses.error(404, "Cannot find the All view in the Jenkins root");
+        }
+
+        List<TopLevelItem> selectedJobs = filters.doFilter(sourceView);
+        PermissionFilter filter4permissions = new PermissionFilter(req);
+        UserContextCache.updateSearchCache(selectedJobs, null, users, "", 
+                filter4permissions.getSelectedPermissions(), new ReportOptions(req));
+    }
+
+    @Override
+    public boolean isContextCreationSupported() {
+        return true;
+    }
+
+    /**
+     * Creates the context for users specified as the target, separated by commas or whitespaces.
+     * Jobs are filtered by the regular expression and the folder.
+     */
+    @Override
+    public UserContext createContext(ReportParameters parameters) throws IllegalArgumentException {
+        final List<User> users = new ArrayList<>();
+        for (String id : parameters.getRequiredTarget().split("[,\\s]+")) {
+            if (id.isEmpty()) {
+                continue;
+            }
+            final User user = User.get(id, false, null);
+            if (user == null) {
+                throw new IllegalArgumentException("User " + id + " does not exist");
+            }
+            users.add(user);
+        }
+        if (users.size() < 2) {
+            throw new IllegalArgumentException("At least two users should be specified for the comparison");
+        }
+        final AllView sourceView = JenkinsHelper.getAllView();
+        if (sourceView == null) {
+            throw new IllegalStateException("Cannot find the All view in the Jenkins root");
+        }
+        final List<TopLevelItem> selectedJobs = new JobFilter(parameters.getIncludeRegex(), parameters.getFolder())
+                .doFilter(sourceView);
+        return new UserContext(selectedJobs, null, users, "", parameters.getSelectedPermissions(), parameters.getOptions());
+    }
+
+    @Override
+    public List<PermissionGroup> getPossiblePermissionGroups() {
+        return sortGroups(PermissionsForItemReportBuilder.ReportImpl.getReportedGroups());
+    }
+
+    /**
+     * The comparison is a single report for all selected users.
+     */
+    @Override
+    public boolean isBatchRequested() {
+        return false;
+    }
+
+    @Override
+    protected SecurityInspectorReport<?, ?, ?, ?> createReport(UserContext context, ReportListener<Object> listener) {
+        final List<User> users = context.getUsers();
+        final List<TopLevelItem> jobs = context.getJobs();
+        if (users == null || jobs == null) {
+            throw HttpResponses.error(500, "The retrieved context does not contain user and job filter settings");
+        }
+
+        final ReportImpl report = new ReportImpl(users);
+        report.setOptions(context.getOptions());
+        report.setListener(listener);
+        report.generateReport(new HashSet<>(jobs), new PermissionFilter(context.getPermissions()));
+        return report;
+    }
+
+    @Override
+    protected int getEstimatedRowCount(UserContext context) {
+        return getEstimatedRowCountPerUser(context);
+    }
+
+    @Override
+    protected int getEstimatedRowCountPerUser(UserContext context) {
+        final List<TopLevelItem> selectedJobs = context.getJobs();
+        return selectedJobs != null ? selectedJobs.size() : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Every permission is reported for the union, the intersection and for each user.
+     */
+    @Override
+    protected int getEstimatedColumnCount(UserContext context) {
+        final int permissions = super.getEstimatedColumnCount(context);
+        final List<User> users = context.getUsers();
+        return users != null && permissions >= 0 ? permissions * (users.size() + 2) : permissions;
+    }
+
+    public static class ReportImpl extends ComparisonReport<TopLevelItem, User> {
+
+        /**
+         * Authentications of the compared users. {@code null} if the user cannot be impersonated.
+         */
+        @Nonnull
+        private final Authentication[] auths;
+
+        /**package*/ ReportImpl(@Nonnull List<User> users) {
+            super(users);
+            this.auths = new Authentication[users.size()];
+            for (int i = 0; i < auths.length; i++) {
+                final User user = users.get(i);
+                final long impersonationStart = System.nanoTime();
+                final Object impersonationEvent = ReportEvents.beginImpersonation();
+                try {
+                    auths[i] = user.impersonate();
+                } catch (UsernameNotFoundException ex) {
+                    // Such users have no permissions
+                    continue;
+                }
+                getTimings().record(ReportTimings.Phase.IMPERSONATION, System.nanoTime() - impersonationStart);
+                ReportEvents.commitImpersonation(impersonationEvent, user.getId());
+            }
+        }
+
+        @Override
+        public String getReportTargetName() {
+            final List<String> ids = new ArrayList<>(auths.length);
+            for (User user : getSubjects()) {
+                ids.add(user.getId());
+            }
+            return String.join(", ", ids);
+        }
+
+        @Override
+        protected String getSubjectId(User subject) {
+            return subject.getId();
+        }
+
+        @Override
+        protected String getSubjectTitle(User subject) {
+            return subject.getId();
+        }
+
+        @Override
+        protected BitSet[] evaluate(TopLevelItem row, List<Permission> permissions) {
+            // The ACL is retrieved once and checked for all users without switching the security context
+            final ACL acl = row.getACL();
+            final BitSet[] res = new BitSet[auths.length];
+            for (int i = 0; i < auths.length; i++) {
+                res[i] = new BitSet(permissions.size());
+                if (auths[i] == null) {
+                    continue;
+                }
+                for (int p = 0; p < permissions.size(); p++) {
+                    if (acl.hasPermission(auths[i], permissions.get(p))) {
+                        res[i].set(p);
+                    }
+                }
+            }
+            return res;
+        }
+
+        public final void generateReport(@Nonnull Set<TopLevelItem> rows, @Nonnull PermissionFilter filter) {
+            super.generateReport(rows, PermissionsForItemReportBuilder.ReportImpl.getReportedGroups(), filter);
+        }
+
+        @Nonnull
+        public static ReportImpl createReport(@Nonnull Set<TopLevelItem> rows, @Nonnull List<User> users,
+                @Nonnull PermissionFilter filter) {
+            ReportImpl report = new ReportImpl(users);
+            report.generateReport(rows, filter);
+            return report;
+        }
+
+        @Override
+        public String getRowColumnHeader() {
+            return Messages.JobReport_RowColumnHeader();
+        }
+
+        @Override
+        public String getRowTitle(TopLevelItem row) {
+            return row.getFullDisplayName();
+        }
+
+        @Override
+        public String getRowId(TopLevelItem row) {
+            return row.getFullName();
+        }
+    }
+}
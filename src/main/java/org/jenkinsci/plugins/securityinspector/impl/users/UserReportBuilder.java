@@ -24,23 +24,50 @@
 package org.jenkinsci.plugins.securityinspector.impl.users;
 
 import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import hudson.Util;
+import hudson.model.Descriptor;
 import hudson.model.TopLevelItem;
 import hudson.model.User;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.TimeZone;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
-import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
 import org.jenkinsci.plugins.securityinspector.UserContext;
-import org.jenkinsci.plugins.securityinspector.UserContextCache;
+import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
+import org.jenkinsci.plugins.securityinspector.model.ExportFormat;
+import org.jenkinsci.plugins.securityinspector.model.ReportBatch;
 import org.jenkinsci.plugins.securityinspector.model.ReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportCache;
+import org.jenkinsci.plugins.securityinspector.model.ReportKey;
 import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.SecurityConfigurationVersion;
+import org.jenkinsci.plugins.securityinspector.util.UserFilter;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 
 /**
  * Base class for building reports for particular users.
@@ -48,6 +75,8 @@ import org.kohsuke.stapler.HttpResponses;
  */
 public abstract class UserReportBuilder extends ReportBuilder {
 
+    private static final Logger LOGGER = Logger.getLogger(UserReportBuilder.class.getName());
+
     @Override
     public final Type getType() {
         return Type.USER;
@@ -97,10 +126,20 @@ public abstract class UserReportBuilder extends ReportBuilder {
     @Nonnull
     @Restricted(NoExternalUse.class)
     public User getRequestedUser() throws HttpResponses.HttpResponseException {
-        final UserContext context = UserContextCache.getInstance().get(getSessionId());
-        if (context == null) {
-            // TODO: 
-            throw HttpResponses.error(404, "Context hae not been found");
+        return getRequestedUser(getRequestedContext());
+    }
+
+    /**
+     * Get selected user from the specified context
+     *
+     * @param context Context with the submitted filters
+     * @return user if exists. Otherwise an error will be returned
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public User getRequestedUser(@Nonnull UserContext context) throws HttpResponses.HttpResponseException {
+        if (context.getUsers() != null) {
+            throw HttpResponses.error(400, "The context contains multiple users, use the batch report");
         }
         String userId = context.getItem();
         User user = User.get(userId, false, null);
@@ -109,4 +148,233 @@ public abstract class UserReportBuilder extends ReportBuilder {
         }
         return user;
     }
+
+    /**
+     * Reads users selected for the batch report.
+     * Users can be specified by a list of IDs and by a regular expression.
+     *
+     * @param req Stapler Request
+     * @return Sorted list of users. {@code null} if the batch mode is not requested
+     * @throws Descriptor.FormException Invalid user selection
+     */
+    @CheckForNull
+    @Restricted(NoExternalUse.class)
+    protected static List<User> getBatchUsers(@Nonnull StaplerRequest req) throws Descriptor.FormException {
+        if (req.getParameter("usebatch") == null) {
+            return null;
+        }
+        return getBatchUsers(req.getParameter("batchUsers"), req.getParameter("batchUserRegex"));
+    }
+
+    /**
+     * Resolves users selected for the batch report.
+     *
+     * @param userList IDs separated by commas or whitespaces
+     * @param userRegex Regular expression for user IDs
+     * @return Sorted list of users
+     * @throws Descriptor.FormException Invalid user selection
+     */
+    @Nonnull
+    /*package*/ static List<User> getBatchUsers(@CheckForNull String userList, @CheckForNull String userRegex) 
+            throws Descriptor.FormException {
+        final SortedSet<String> ids = new TreeSet<>();
+        final String list = Util.fixEmptyAndTrim(userList);
+        if (list != null) {
+            for (String id : list.split("[\\s,]+")) {
+                ids.add(id);
+            }
+        }
+        final String regex = Util.fixEmpty(userRegex);
+        if (regex != null) {
+            try {
+                for (User user : new UserFilter(regex).doFilter()) {
+                    ids.add(user.getId());
+                }
+            } catch (PatternSyntaxException ex) {
+                throw new Descriptor.FormException(ex.getDescription(), "batchUserRegex");
+            }
+        }
+
+        final List<User> res = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            final User user = User.get(id, false, null);
+            if (user == null) {
+                throw new Descriptor.FormException("User " + id + " does not exist", "batchUsers");
+            }
+            res.add(user);
+        }
+        if (res.isEmpty()) {
+            throw new Descriptor.FormException("No users selected for the batch report", "batchUsers");
+        }
+        return res;
+    }
+
+    /**
+     * Checks whether the current context requests the report for multiple users.
+     *
+     * @return {@code true} if the batch report is requested
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean isBatchRequested() throws HttpResponses.HttpResponseException {
+        return getRequestedContext().getUsers() != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Batch reports are estimated as a sum of per-user reports.
+     */
+    @Override
+    protected int getEstimatedRowCount(UserContext context) {
+        final int rows = getEstimatedRowCountPerUser(context);
+        final List<User> users = context.getUsers();
+        return users != null && rows >= 0 ? rows * users.size() : rows;
+    }
+
+    /**
+     * Estimates the number of rows in the report for a single user.
+     *
+     * @param context Context with the submitted filters
+     * @return Number of rows. {@code -1} if it is unknown
+     */
+    protected abstract int getEstimatedRowCountPerUser(@Nonnull UserContext context);
+
+    /**
+     * {@inheritDoc}
+     * Batch reports are computed by a single scheduled execution, which evaluates users one by one.
+     */
+    @Override
+    public ReportStatus getReportStatus() throws HttpResponses.HttpResponseException {
+        final UserContext context = getRequestedContext();
+        if (context.getUsers() == null) {
+            return super.getReportStatus();
+        }
+        final ReportKey key = new ReportKey(getIndex(), context);
+        final boolean ready = ReportCache.getInstance().prepareBatch(key, 
+                SecurityConfigurationVersion.getInstance().getFingerprint(), getSessionId(), computeBatch(context));
+        return ReportStatus.of(ready, key);
+    }
+
+    /**
+     * Batch reports contain multiple tables, which are not available via {@link #getReport()}.
+     */
+    @Override
+    public boolean isGridViewSupported() {
+        return !isBatchRequested();
+    }
+
+    /**
+     * Gets per-user reports for the batch context.
+     * All sections share the items or computers filtered once during the context submission.
+     *
+     * @return Sections in the order of user IDs
+     * @throws HttpResponses.HttpResponseException The context does not request the batch report
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public List<ReportBatch.Section> getBatchSections() throws HttpResponses.HttpResponseException {
+        return getBatch().getSections();
+    }
+
+    @Nonnull
+    private ReportBatch getBatch() throws HttpResponses.HttpResponseException {
+        final UserContext context = getRequestedContext();
+        if (context.getUsers() == null) {
+            throw HttpResponses.error(400, "The context does not contain the batch user selection");
+        }
+        return ReportCache.getInstance().getBatch(new ReportKey(getIndex(), context), 
+                SecurityConfigurationVersion.getInstance().getFingerprint(), computeBatch(context));
+    }
+
+    /**
+     * Creates the computation of per-user reports for the batch context.
+     * Reports are generated directly in the calling thread, so the whole batch runs as a single scheduled execution.
+     *
+     * @param context Context with the batch user selection
+     * @return Computation
+     */
+    @Nonnull
+    /*package*/ Callable<ReportBatch> computeBatch(@Nonnull final UserContext context) {
+        return new Callable<ReportBatch>() {
+            @Override
+            public ReportBatch call() throws Exception {
+                final List<User> users = context.getUsers();
+                if (users == null) {
+                    throw new IllegalStateException("The context does not contain the batch user selection");
+                }
+                final List<ReportBatch.Section> sections = new ArrayList<>(users.size());
+                for (User user : users) {
+                    sections.add(new ReportBatch.Section(user.getId(), createReport(context.forItem(user.getId()), null)));
+                }
+                return new ReportBatch(sections);
+            }
+        };
+    }
+
+    /**
+     * Downloads the report.
+     * For batch contexts a ZIP archive with a file per user is produced.
+     */
+    @Override
+    protected void doDownloadReport(StaplerRequest req, StaplerResponse rsp, ExportFormat format, boolean gzipFile) {
+        if (!isBatchRequested()) {
+            super.doDownloadReport(req, rsp, format, gzipFile);
+            return;
+        }
+        final ReportBatch batch = getBatch();
+
+        final SimpleDateFormat f = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        f.setTimeZone(TimeZone.getTimeZone("UTC"));
+        rsp.setContentType("application/zip");
+        rsp.setHeader("Content-Disposition", "attachment; filename=\"report-" + getIndex() 
+                + "-" + f.format(new Date()) + ".zip\"");
+
+        try {
+            writeBatch(batch, format, rsp.getOutputStream());
+        } catch (IOException ex) {
+            // Most likely the client has disconnected, the response cannot be used anymore
+            LOGGER.log(Level.FINE, "Failed to send the batch report " + getIndex() + " to the client", ex);
+        }
+    }
+
+    /**
+     * Writes the batch as a ZIP archive with an entry per section.
+     *
+     * @param batch Batch to be written
+     * @param format Format of entries
+     * @param out Output stream, it will be closed
+     * @throws IOException Write error
+     */
+    /*package*/ static void writeBatch(@Nonnull ReportBatch batch, @Nonnull ExportFormat format, @Nonnull OutputStream out) 
+            throws IOException {
+        final Set<String> entryNames = new HashSet<>();
+        try (ZipOutputStream zip = new ZipOutputStream(out);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8))) {
+            for (ReportBatch.Section section : batch.getSections()) {
+                zip.putNextEntry(new ZipEntry(getEntryName(section.getTarget(), format.getFileExtension(), entryNames)));
+                format.write(section.getReport(), writer);
+                writer.flush();
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Gets a unique name of the ZIP entry.
+     * Unsafe characters are replaced, so different IDs may produce the same name. 
+     * An index is appended to the name in such case.
+     *
+     * @param id Target ID, e.g. user ID
+     * @param extension File extension
+     * @param usedNames Names of the entries written before, the new name gets added to the set
+     * @return Entry name
+     */
+    @Nonnull
+    /*package*/ static String getEntryName(@Nonnull String id, @Nonnull String extension, @Nonnull Set<String> usedNames) {
+        final String base = id.replaceAll("[^A-Za-z0-9._-]", "_");
+        String name = base + "." + extension;
+        for (int i = 2; !usedNames.add(name); i++) {
+            name = base + "-" + i + "." + extension;
+        }
+        return name;
+    }
 }
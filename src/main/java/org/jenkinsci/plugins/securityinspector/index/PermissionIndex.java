@@ -0,0 +1,411 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.index;
+
+import hudson.model.Item;
+import hudson.model.User;
+import hudson.security.ACL;
+import hudson.security.Permission;
+import hudson.security.PermissionGroup;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.servlet.ServletException;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.acegisecurity.Authentication;
+import org.acegisecurity.context.SecurityContext;
+import org.acegisecurity.context.SecurityContextHolder;
+import org.acegisecurity.userdetails.UsernameNotFoundException;
+import org.jenkinsci.plugins.securityinspector.impl.items.ItemForMultipleUsersReportBuilder;
+import org.jenkinsci.plugins.securityinspector.model.ReportExecution;
+import org.jenkinsci.plugins.securityinspector.model.ReportKey;
+import org.jenkinsci.plugins.securityinspector.model.ReportScheduler;
+import org.jenkinsci.plugins.securityinspector.util.CompressedBitmap;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.jenkinsci.plugins.securityinspector.util.PermissionExpression;
+import org.jenkinsci.plugins.securityinspector.util.SecurityConfigurationVersion;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+/**
+ * Inverted index of item permissions.
+ * The index is built lazily: nothing is computed until the first query, and a modified security configuration
+ * causes a rebuild only when the index is queried again.
+ * Builds run in {@link ReportScheduler}, so they share workers and the CPU budget with reports.
+ * Queries are evaluated against the last built {@link PermissionIndexSnapshot} without touching ACLs.
+ */
+@Restricted(NoExternalUse.class)
+public class PermissionIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(PermissionIndex.class.getName());
+
+    private static final PermissionIndex INSTANCE = new PermissionIndex();
+
+    /**
+     * Key of the index builds in {@link ReportScheduler}.
+     */
+    private static final ReportKey KEY = new ReportKey("permissionIndex", new UserContext(null, null, null, ""));
+
+    /**
+     * Period of the lease renewal while waiting for a build.
+     */
+    private static final long LEASE_RENEWAL_PERIOD = TimeUnit.SECONDS.toMillis(1);
+
+    @CheckForNull
+    private volatile PermissionIndexSnapshot snapshot;
+
+    /**
+     * Build, which has been scheduled last.
+     */
+    @CheckForNull
+    private FutureTask<PermissionIndexSnapshot> pendingTask; // guarded by this
+    @CheckForNull
+    private ReportExecution pendingExecution; // guarded by this
+
+    @Nonnull
+    public static PermissionIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the last built snapshot.
+     *
+     * @return Snapshot or {@code null} if the index has not been built yet
+     */
+    @CheckForNull
+    public PermissionIndexSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Checks whether the snapshot matches the current security configuration.
+     *
+     * @return {@code true} if the index exists and is up to date
+     */
+    public boolean isUpToDate() {
+        final PermissionIndexSnapshot current = snapshot;
+        return current != null
+                && current.getFingerprint().equals(SecurityConfigurationVersion.getInstance().getFingerprint());
+    }
+
+    /**
+     * Gets permissions, which can be used in queries.
+     *
+     * @return List of enabled item permissions
+     */
+    @Nonnull
+    public List<Permission> getIndexedPermissions() {
+        final List<Permission> res = new ArrayList<>();
+        for (PermissionGroup group : ItemForMultipleUsersReportBuilder.ReportImpl.getReportedGroups()) {
+            for (Permission p : group.getPermissions()) {
+                if (p.getEnabled()) {
+                    res.add(p);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Checks whether the index is being built.
+     * Renews the lease of the build, so the clients polling the status keep it running.
+     *
+     * @return {@code true} if a build is queued or running
+     */
+    public synchronized boolean isBuilding() {
+        if (pendingTask == null || pendingExecution == null || pendingTask.isDone() || pendingExecution.isCancelled()) {
+            return false;
+        }
+        pendingExecution.renewLease();
+        return true;
+    }
+
+    /**
+     * Schedules a build if the index has not been built yet or if the security configuration has been modified.
+     *
+     * @return {@code true} if the index is being built
+     */
+    public boolean refresh() {
+        if (isUpToDate()) {
+            return false;
+        }
+        scheduleRebuild();
+        return true;
+    }
+
+    /**
+     * Schedules the index build unless another build is already in progress.
+     *
+     * @return Task of the build
+     */
+    @Nonnull
+    public synchronized FutureTask<PermissionIndexSnapshot> scheduleRebuild() {
+        if (isBuilding()) {
+            return pendingTask;
+        }
+        final FutureTask<PermissionIndexSnapshot> task = new FutureTask<>(new Callable<PermissionIndexSnapshot>() {
+            @Override
+            public PermissionIndexSnapshot call() {
+                final SecurityContext initialContext = ACL.impersonate(ACL.SYSTEM);
+                try {
+                    final PermissionIndexSnapshot res = build();
+                    snapshot = res;
+                    return res;
+                } finally {
+                    SecurityContextHolder.setContext(initialContext);
+                }
+            }
+        });
+        final ReportScheduler scheduler = ReportScheduler.getInstance();
+        pendingTask = task;
+        pendingExecution = scheduler.createExecution(KEY, task);
+        scheduler.schedule(pendingExecution);
+        return task;
+    }
+
+    /**
+     * Rebuilds the index and waits for the result.
+     *
+     * @return New snapshot
+     * @throws InterruptedException Interrupted while waiting
+     * @throws ExecutionException The build has failed or has been cancelled
+     */
+    @Nonnull
+    public PermissionIndexSnapshot rebuild() throws InterruptedException, ExecutionException {
+        final FutureTask<PermissionIndexSnapshot> task = scheduleRebuild();
+        while (true) {
+            try {
+                return task.get(LEASE_RENEWAL_PERIOD, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                isBuilding();
+            }
+        }
+    }
+
+    @Nonnull
+    private PermissionIndexSnapshot build() {
+        final long start = System.currentTimeMillis();
+        // Read the fingerprint first, so that concurrent changes cause another rebuild
+        final String fingerprint = SecurityConfigurationVersion.getInstance().getFingerprint();
+
+        final List<Item> items = new ArrayList<>(JenkinsHelper.getInstanceOrFail().getAllItems(Item.class));
+        Collections.sort(items, new Comparator<Item>() {
+            @Override
+            public int compare(Item o1, Item o2) {
+                return o1.getFullName().compareTo(o2.getFullName());
+            }
+        });
+        final List<String> itemNames = new ArrayList<>(items.size());
+        for (Item item : items) {
+            itemNames.add(item.getFullName());
+        }
+
+        final List<User> users = new ArrayList<>(User.getAll());
+        Collections.sort(users, new Comparator<User>() {
+            @Override
+            public int compare(User o1, User o2) {
+                return o1.getId().compareTo(o2.getId());
+            }
+        });
+        final List<String> userIds = new ArrayList<>(users.size());
+        final Authentication[] auths = new Authentication[users.size()];
+        for (int u = 0; u < users.size(); u++) {
+            final User user = users.get(u);
+            userIds.add(user.getId());
+            try {
+                auths[u] = user.impersonate();
+            } catch (UsernameNotFoundException ex) {
+                LOGGER.log(Level.FINE, "Skipping user {0}: {1}", new Object[] {user.getId(), ex.getMessage()});
+            }
+        }
+
+        final List<Permission> permissions = getIndexedPermissions();
+        final BitSet[][] bits = new BitSet[permissions.size()][users.size()];
+        for (int p = 0; p < permissions.size(); p++) {
+            for (int u = 0; u < users.size(); u++) {
+                bits[p][u] = new BitSet();
+            }
+        }
+
+        // Iterate items in the outer loop, ACLs are resolved once per item
+        for (int i = 0; i < items.size(); i++) {
+            ReportScheduler.checkpoint();
+            final ACL acl = items.get(i).getACL();
+            for (int u = 0; u < auths.length; u++) {
+                if (auths[u] == null) {
+                    continue;
+                }
+                for (int p = 0; p < permissions.size(); p++) {
+                    if (acl.hasPermission(auths[u], permissions.get(p))) {
+                        bits[p][u].set(i);
+                    }
+                }
+            }
+        }
+
+        final CompressedBitmap[][] postings = new CompressedBitmap[permissions.size()][users.size()];
+        for (int p = 0; p < permissions.size(); p++) {
+            for (int u = 0; u < users.size(); u++) {
+                postings[p][u] = CompressedBitmap.of(bits[p][u]);
+            }
+        }
+
+        final long duration = System.currentTimeMillis() - start;
+        final PermissionIndexSnapshot res = new PermissionIndexSnapshot(itemNames, userIds, permissions,
+                postings, fingerprint, start, duration);
+        LOGGER.log(Level.FINE, "Indexed {0} items, {1} users and {2} permissions in {3} ms ({4} bytes)", new Object[] {
+            items.size(), users.size(), permissions.size(), duration, res.getPostingsSize()});
+        return res;
+    }
+
+    /**
+     * Evaluates the query against the current snapshot.
+     * Schedules a build if the snapshot is missing or outdated, outdated snapshots are still used for the query.
+     *
+     * @param expression Boolean expression over permissions, e.g. {@code Job/Configure & !Job/Delete}
+     * @param folder Folder to restrict the query to
+     * @return Matches
+     * @throws IllegalArgumentException Invalid expression
+     * @throws IllegalStateException The index is being built for the first time
+     */
+    @Nonnull
+    public List<PermissionIndexSnapshot.Match> query(@Nonnull String expression, @CheckForNull String folder)
+            throws IllegalArgumentException, IllegalStateException {
+        refresh();
+        final PermissionIndexSnapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("Permission index is being built, retry later");
+        }
+        return current.query(PermissionExpression.parse(expression, current.getPermissions()), folder);
+    }
+
+    /**
+     * Evaluates the query for rendering in the web UI.
+     *
+     * @param expression Boolean expression over permissions
+     * @param folder Folder to restrict the query to
+     * @return Query result with matches or error message
+     */
+    @Nonnull
+    public QueryResult evaluate(@Nonnull String expression, @CheckForNull String folder) {
+        try {
+            return new QueryResult(query(expression, folder), null);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return new QueryResult(Collections.<PermissionIndexSnapshot.Match>emptyList(), ex.getMessage());
+        }
+    }
+
+    public void doQuery(@Nonnull StaplerResponse rsp, @QueryParameter String q, @QueryParameter String folder)
+            throws IOException, ServletException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        if (q == null || q.trim().isEmpty()) {
+            throw HttpResponses.error(400, "Query is not specified");
+        }
+
+        final List<PermissionIndexSnapshot.Match> matches;
+        try {
+            matches = query(q, folder);
+        } catch (IllegalArgumentException ex) {
+            throw HttpResponses.error(400, "Wrong query: " + ex.getMessage());
+        } catch (IllegalStateException ex) {
+            throw HttpResponses.error(503, ex.getMessage());
+        }
+
+        rsp.setContentType("application/json;charset=UTF-8");
+        final JsonStreamWriter writer = new JsonStreamWriter(rsp.getWriter());
+        final PermissionIndexSnapshot current = snapshot;
+        writer.beginObject();
+        writer.name("query").value(q);
+        writer.name("upToDate").value(isUpToDate());
+        if (current != null) {
+            writer.name("timestamp").value(current.getTimestamp());
+        }
+        writer.name("matches").beginArray();
+        for (PermissionIndexSnapshot.Match match : matches) {
+            writer.beginObject();
+            writer.name("user").value(match.getUserId());
+            writer.name("items").beginArray();
+            for (String item : match.getItems()) {
+                writer.value(item);
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    @RequirePOST
+    public HttpResponse doRebuild() {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        scheduleRebuild();
+        return HttpResponses.redirectToDot();
+    }
+
+    /**
+     * Result of the query evaluation.
+     */
+    public static final class QueryResult {
+
+        @Nonnull
+        private final List<PermissionIndexSnapshot.Match> matches;
+        @CheckForNull
+        private final String error;
+
+        /*package*/ QueryResult(@Nonnull List<PermissionIndexSnapshot.Match> matches, @CheckForNull String error) {
+            this.matches = matches;
+            this.error = error;
+        }
+
+        @Nonnull
+        public List<PermissionIndexSnapshot.Match> getMatches() {
+            return matches;
+        }
+
+        @CheckForNull
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.index;
+
+import hudson.security.Permission;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.CompressedBitmap;
+import org.jenkinsci.plugins.securityinspector.util.PermissionExpression;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Immutable state of the {@link PermissionIndex}.
+ * For every permission and user the snapshot keeps a posting bitmap of items, for which the permission is granted.
+ * Items are ordered by their full names, so every folder subtree is a contiguous range of positions.
+ */
+@Restricted(NoExternalUse.class)
+public final class PermissionIndexSnapshot {
+
+    @Nonnull
+    private final List<String> itemNames;
+    @Nonnull
+    private final List<String> userIds;
+    @Nonnull
+    private final List<Permission> permissions;
+    /**
+     * Postings indexed by permission and user.
+     */
+    @Nonnull
+    private final CompressedBitmap[][] postings;
+    @Nonnull
+    private final String fingerprint;
+    private final long timestamp;
+    private final long buildDuration;
+
+    /*package*/ PermissionIndexSnapshot(@Nonnull List<String> itemNames, @Nonnull List<String> userIds,
+            @Nonnull List<Permission> permissions, @Nonnull CompressedBitmap[][] postings,
+            @Nonnull String fingerprint, long timestamp, long buildDuration) {
+        this.itemNames = Collections.unmodifiableList(itemNames);
+        this.userIds = Collections.unmodifiableList(userIds);
+        this.permissions = Collections.unmodifiableList(permissions);
+        this.postings = postings;
+        this.fingerprint = fingerprint;
+        this.timestamp = timestamp;
+        this.buildDuration = buildDuration;
+    }
+
+    @Nonnull
+    public List<String> getItemNames() {
+        return itemNames;
+    }
+
+    @Nonnull
+    public List<String> getUserIds() {
+        return userIds;
+    }
+
+    @Nonnull
+    public List<Permission> getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * Gets fingerprint of the security configuration the index has been built for.
+     *
+     * @return Security configuration fingerprint
+     */
+    @Nonnull
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getBuildDuration() {
+        return buildDuration;
+    }
+
+    /**
+     * Gets the approximate size of the stored postings.
+     *
+     * @return Size in bytes
+     */
+    public long getPostingsSize() {
+        long res = 0;
+        for (CompressedBitmap[] byUser : postings) {
+            for (CompressedBitmap bitmap : byUser) {
+                res += bitmap.getSizeInBytes();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets items, for which the permission is granted to the user.
+     *
+     * @param permission Permission
+     * @param userId User ID
+     * @return Bitmap of item positions in {@link #getItemNames()}. Empty if the user or permission is not indexed
+     */
+    @Nonnull
+    public CompressedBitmap getPostings(@Nonnull Permission permission, @Nonnull String userId) {
+        final int p = permissions.indexOf(permission);
+        final int u = Collections.binarySearch(userIds, userId);
+        return p >= 0 && u >= 0 ? postings[p][u] : CompressedBitmap.EMPTY;
+    }
+
+    /**
+     * Gets positions of items within the folder subtree.
+     *
+     * @param folder Full name of the folder. {@code null} or empty string for all items
+     * @return Positions of the folder itself and all its descendants
+     */
+    @Nonnull
+    public BitSet getSubtree(@CheckForNull String folder) {
+        final BitSet res = new BitSet(itemNames.size());
+        if (folder == null || folder.isEmpty()) {
+            res.set(0, itemNames.size());
+            return res;
+        }
+        final int self = Collections.binarySearch(itemNames, folder);
+        if (self >= 0) {
+            res.set(self);
+        }
+        // Names with the "folder/" prefix are located between "folder/" and "folder0", because '0' follows '/'
+        final int from = insertionPoint(folder + "/");
+        final int to = insertionPoint(folder + "0");
+        res.set(from, to);
+        return res;
+    }
+
+    /**
+     * Finds users and items, for which the expression is true.
+     *
+     * @param expression Expression over indexed permissions
+     * @param folder Folder to restrict the query to. {@code null} or empty string for all items
+     * @return Matches for all users with at least one item
+     */
+    @Nonnull
+    public List<Match> query(@Nonnull PermissionExpression expression, @CheckForNull String folder) {
+        final BitSet subtree = getSubtree(folder);
+        final List<Match> res = new ArrayList<>();
+        for (int u = 0; u < userIds.size(); u++) {
+            final int user = u;
+            final BitSet matched = expression.evaluate(new PermissionExpression.Evaluator() {
+                @Override
+                public BitSet get(Permission permission) {
+                    final int p = permissions.indexOf(permission);
+                    return p >= 0 ? postings[p][user].toBitSet() : new BitSet();
+                }
+
+                @Override
+                public int size() {
+                    return itemNames.size();
+                }
+            });
+            matched.and(subtree);
+            if (!matched.isEmpty()) {
+                final List<String> items = new ArrayList<>(matched.cardinality());
+                for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                    items.add(itemNames.get(i));
+                }
+                res.add(new Match(userIds.get(u), items));
+            }
+        }
+        return res;
+    }
+
+    private int insertionPoint(@Nonnull String name) {
+        final int pos = Collections.binarySearch(itemNames, name);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    /**
+     * Items of a user, for which the query is true.
+     */
+    public static final class Match {
+
+        @Nonnull
+        private final String userId;
+        @Nonnull
+        private final List<String> items;
+
+        /*package*/ Match(@Nonnull String userId, @Nonnull List<String> items) {
+            this.userId = userId;
+            this.items = Collections.unmodifiableList(items);
+        }
+
+        @Nonnull
+        public String getUserId() {
+            return userId;
+        }
+
+        @Nonnull
+        public List<String> getItems() {
+            return items;
+        }
+    }
+}
@@ -0,0 +1,634 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.Util;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+/**
+ * Profiles the evaluation of report cells.
+ * The time of each cell is aggregated by report rows (items, users, computers) and by permissions,
+ * so that objects with slow permission checks can be found.
+ * A watchdog task records stack samples of cells running longer than the threshold,
+ * it runs in {@link Timer} only while reports are being profiled.
+ * The results are displayed at {@code security-inspector/hotspots}.
+ */
+@Restricted(NoExternalUse.class)
+public class CellProfiler {
+
+    private static final Logger LOGGER = Logger.getLogger(CellProfiler.class.getName());
+
+    /**
+     * Enables the cell profiling.
+     */
+    static final boolean ENABLED = !Boolean.getBoolean(CellProfiler.class.getName() + ".disabled");
+
+    /**
+     * Evaluation time of a cell, after which the cell is considered as slow and its stack gets sampled.
+     */
+    static final long SLOW_CELL_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong(CellProfiler.class.getName() + ".slowCellThresholdMillis", 200));
+
+    /**
+     * Maximum number of stack samples recorded for a single slow cell.
+     */
+    static final int MAX_SAMPLES_PER_CELL = 5;
+
+    /**
+     * Maximum number of slow cells to be kept.
+     */
+    static final int MAX_SLOW_CELLS = 50;
+
+    /**
+     * Maximum number of rows and permissions to be kept in the hotspot statistics.
+     */
+    static final int MAX_HOTSPOTS = 1000;
+
+    private static final CellProfiler INSTANCE = new CellProfiler(SLOW_CELL_THRESHOLD);
+
+    private final long slowCellThreshold;
+    private final Set<Probe<?, ?>> activeProbes = Collections.newSetFromMap(new ConcurrentHashMap<Probe<?, ?>, Boolean>());
+    private final Map<String, Hotspot> rowHotspots = new ConcurrentHashMap<>();
+    private final Map<String, Hotspot> permissionHotspots = new ConcurrentHashMap<>();
+    private final Deque<SlowCell> slowCells = new ArrayDeque<>();
+    @CheckForNull
+    private ScheduledFuture<?> watchdog; // guarded by this
+
+    @Nonnull
+    public static CellProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /*package*/ CellProfiler(long slowCellThreshold) {
+        this.slowCellThreshold = slowCellThreshold;
+    }
+
+    /**
+     * Starts profiling of the report evaluated by the current thread.
+     *
+     * @param <TRow> Class of the rows
+     * @param <TColumnItem> Class of the columns
+     * @param report Report being generated
+     * @return Probe to be notified about evaluated cells. 
+     *         {@code null} if the profiling is disabled or not supported by the report
+     */
+    @CheckForNull
+    public <TRow, TColumnItem> Probe<TRow, TColumnItem> startReport(
+            @Nonnull SecurityInspectorReport<TRow, ?, TColumnItem, ?> report) {
+        if (!ENABLED || !report.isCellProfilingSupported()) {
+            return null;
+        }
+        final Probe<TRow, TColumnItem> probe = new Probe<>(report, report.getSortedColumns().size());
+        activeProbes.add(probe);
+        ensureWatchdogStarted();
+        return probe;
+    }
+
+    public long getSlowCellThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowCellThreshold);
+    }
+
+    /**
+     * Gets the rows with the highest total evaluation time.
+     *
+     * @param limit Maximum number of entries
+     * @return Hotspots sorted by the total time
+     */
+    @Nonnull
+    public List<Hotspot> getSlowestRows(int limit) {
+        return getTop(rowHotspots, limit);
+    }
+
+    /**
+     * Gets the permissions with the highest total evaluation time.
+     *
+     * @param limit Maximum number of entries
+     * @return Hotspots sorted by the total time
+     */
+    @Nonnull
+    public List<Hotspot> getSlowestPermissions(int limit) {
+        return getTop(permissionHotspots, limit);
+    }
+
+    /**
+     * Gets slow cells, including the ones being evaluated right now.
+     *
+     * @return Slow cells, the most recent first
+     */
+    @Nonnull
+    public List<SlowCell> getSlowCells() {
+        final List<SlowCell> res = new ArrayList<>();
+        for (Probe<?, ?> probe : activeProbes) {
+            final SlowCell pending = probe.getPendingSlowCell();
+            if (pending != null) {
+                res.add(pending);
+            }
+        }
+        synchronized (slowCells) {
+            res.addAll(slowCells);
+        }
+        return res;
+    }
+
+    /**
+     * Resets the collected statistics.
+     */
+    public void reset() {
+        rowHotspots.clear();
+        permissionHotspots.clear();
+        synchronized (slowCells) {
+            slowCells.clear();
+        }
+    }
+
+    @RequirePOST
+    @Restricted(NoExternalUse.class)
+    public HttpResponse doReset() {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        reset();
+        return HttpResponses.redirectToDot();
+    }
+
+    private void addSlowCell(@Nonnull SlowCell cell) {
+        LOGGER.log(Level.FINE, "Slow cell: {0}", cell);
+        synchronized (slowCells) {
+            slowCells.addFirst(cell);
+            while (slowCells.size() > MAX_SLOW_CELLS) {
+                slowCells.removeLast();
+            }
+        }
+    }
+
+    private static void record(@Nonnull Map<String, Hotspot> hotspots, @Nonnull String kind, @Nonnull String name, 
+            long cells, long nanos, long maxNanos) {
+        final String key = kind + "/" + name;
+        Hotspot hotspot = hotspots.get(key);
+        if (hotspot == null) {
+            final Hotspot newHotspot = new Hotspot(kind, name);
+            hotspot = hotspots.putIfAbsent(key, newHotspot);
+            if (hotspot == null) {
+                hotspot = newHotspot;
+            }
+        }
+        hotspot.add(cells, nanos, maxNanos);
+    }
+
+    private static void trim(@Nonnull Map<String, Hotspot> hotspots) {
+        if (hotspots.size() <= MAX_HOTSPOTS) {
+            return;
+        }
+        final List<Map.Entry<String, Hotspot>> entries = new ArrayList<>(hotspots.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Hotspot>>() {
+            @Override
+            public int compare(Map.Entry<String, Hotspot> o1, Map.Entry<String, Hotspot> o2) {
+                return Long.compare(o2.getValue().getTotalNanos(), o1.getValue().getTotalNanos());
+            }
+        });
+        for (Map.Entry<String, Hotspot> entry : entries.subList(MAX_HOTSPOTS, entries.size())) {
+            hotspots.remove(entry.getKey());
+        }
+    }
+
+    @Nonnull
+    private static List<Hotspot> getTop(@Nonnull Map<String, Hotspot> hotspots, int limit) {
+        final List<Hotspot> res = new ArrayList<>(hotspots.values());
+        Collections.sort(res, new Comparator<Hotspot>() {
+            @Override
+            public int compare(Hotspot o1, Hotspot o2) {
+                return Long.compare(o2.getTotalNanos(), o1.getTotalNanos());
+            }
+        });
+        return res.size() > limit ? new ArrayList<>(res.subList(0, limit)) : res;
+    }
+
+    private synchronized void ensureWatchdogStarted() {
+        if (watchdog != null) {
+            return;
+        }
+        final long period = Math.max(TimeUnit.MILLISECONDS.toNanos(10), slowCellThreshold / 2);
+        watchdog = Timer.get().scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                final long now = System.nanoTime();
+                for (Probe<?, ?> probe : activeProbes) {
+                    try {
+                        probe.sample(now);
+                    } catch (RuntimeException ex) {
+                        LOGGER.log(Level.WARNING, "Failed to sample the report evaluation thread", ex);
+                    }
+                }
+            }
+        }, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Cancels the watchdog once the last profiled report is finished.
+     */
+    private synchronized void stopWatchdogIfIdle() {
+        if (watchdog != null && activeProbes.isEmpty()) {
+            watchdog.cancel(false);
+            watchdog = null;
+        }
+    }
+
+    /**
+     * Checks whether the watchdog is scheduled.
+     *
+     * @return {@code true} if reports are being profiled
+     */
+    /*package*/ synchronized boolean isWatchdogRunning() {
+        return watchdog != null;
+    }
+
+    /**
+     * Receives cell timings from the thread evaluating the report.
+     * The current cell is published via volatile fields, so that the watchdog can sample slow cells.
+     *
+     * @param <TRow> Class of the rows
+     * @param <TColumnItem> Class of the columns
+     */
+    public final class Probe<TRow, TColumnItem> {
+
+        @Nonnull
+        private final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report;
+        @Nonnull
+        private final Thread thread;
+        private final long[] columnNanos;
+        private final long[] columnMaxNanos;
+        private final long[] columnCells;
+
+        private volatile long sequence;
+        private volatile long cellStart;
+        private volatile TRow currentRow;
+        private volatile TColumnItem currentColumn;
+
+        // Guarded by this
+        @CheckForNull
+        private SlowCell pendingSlowCell;
+        private long pendingSequence;
+
+        // Accessed by the evaluating thread only
+        private long rowNanos;
+        private long rowMaxNanos;
+        private long rowCells;
+        /**
+         * Slowest rows of the report, the fastest of them first.
+         * Only {@link #MAX_HOTSPOTS} rows may get into the statistics, so the rest is not kept.
+         */
+        private final Queue<Hotspot> slowestRows = new PriorityQueue<>(16, new Comparator<Hotspot>() {
+            @Override
+            public int compare(Hotspot o1, Hotspot o2) {
+                return Long.compare(o1.getTotalNanos(), o2.getTotalNanos());
+            }
+        });
+
+        private Probe(@Nonnull SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, int columns) {
+            this.report = report;
+            this.thread = Thread.currentThread();
+            this.columnNanos = new long[columns];
+            this.columnMaxNanos = new long[columns];
+            this.columnCells = new long[columns];
+        }
+
+        /**
+         * Notifies the probe about the start of the cell evaluation.
+         *
+         * @param row Row
+         * @param column Column
+         * @return Start time to be passed to {@link #exitCell(int, long)}
+         */
+        public long enterCell(@Nonnull TRow row, @Nonnull TColumnItem column) {
+            currentRow = row;
+            currentColumn = column;
+            final long start = System.nanoTime();
+            cellStart = start;
+            return start;
+        }
+
+        /**
+         * Notifies the probe about the end of the cell evaluation.
+         *
+         * @param columnIndex Index of the evaluated column
+         * @param start Start time returned by {@link #enterCell(java.lang.Object, java.lang.Object)}
+         */
+        public void exitCell(int columnIndex, long start) {
+            final long duration = System.nanoTime() - start;
+            cellStart = 0;
+            if (duration > slowCellThreshold) {
+                synchronized (this) {
+                    SlowCell cell = pendingSequence == sequence ? pendingSlowCell : null;
+                    if (cell == null) {
+                        cell = describeCell(start);
+                    }
+                    cell.finish(duration);
+                    pendingSlowCell = null;
+                    addSlowCell(cell);
+                }
+            }
+            sequence++;
+
+            columnNanos[columnIndex] += duration;
+            columnMaxNanos[columnIndex] = Math.max(columnMaxNanos[columnIndex], duration);
+            columnCells[columnIndex]++;
+            rowNanos += duration;
+            rowMaxNanos = Math.max(rowMaxNanos, duration);
+            rowCells++;
+        }
+
+        /**
+         * Records the statistics of the evaluated row.
+         *
+         * @param row Row
+         */
+        public void exitRow(@Nonnull TRow row) {
+            if (rowCells > 0 && (slowestRows.size() < MAX_HOTSPOTS || slowestRows.peek().getTotalNanos() < rowNanos)) {
+                final Hotspot hotspot = new Hotspot(report.getRowColumnHeader(), report.getRowTitle(row));
+                hotspot.add(rowCells, rowNanos, rowMaxNanos);
+                slowestRows.add(hotspot);
+                if (slowestRows.size() > MAX_HOTSPOTS) {
+                    slowestRows.poll();
+                }
+            }
+            rowNanos = 0;
+            rowMaxNanos = 0;
+            rowCells = 0;
+        }
+
+        /**
+         * Finishes the profiling and records the row and permission statistics.
+         */
+        public void finish() {
+            activeProbes.remove(this);
+            stopWatchdogIfIdle();
+            final List<TColumnItem> columns = report.getSortedColumns();
+            for (int i = 0; i < columns.size() && i < columnCells.length; i++) {
+                if (columnCells[i] > 0) {
+                    record(permissionHotspots, "Permission", report.getColumnId(columns.get(i)), 
+                            columnCells[i], columnNanos[i], columnMaxNanos[i]);
+                }
+            }
+            for (Hotspot hotspot : slowestRows) {
+                record(rowHotspots, hotspot.getKind(), hotspot.getName(), 
+                        hotspot.getCells(), hotspot.getTotalNanos(), hotspot.getMaxNanos());
+            }
+            slowestRows.clear();
+            trim(rowHotspots);
+            trim(permissionHotspots);
+        }
+
+        @CheckForNull
+        private synchronized SlowCell getPendingSlowCell() {
+            return pendingSlowCell;
+        }
+
+        /**
+         * Records the stack sample if the current cell is slow.
+         * Invoked by the watchdog thread.
+         */
+        private void sample(long now) {
+            final long seq = sequence;
+            final long start = cellStart;
+            if (start == 0 || now - start < slowCellThreshold) {
+                return;
+            }
+            final StackTraceElement[] stack = thread.getStackTrace();
+            synchronized (this) {
+                if (sequence != seq || cellStart != start) {
+                    // The cell has been completed while sampling
+                    return;
+                }
+                if (pendingSlowCell == null || pendingSequence != seq) {
+                    pendingSlowCell = describeCell(start);
+                    pendingSequence = seq;
+                }
+                pendingSlowCell.addSample(stack);
+            }
+        }
+
+        @Nonnull
+        private SlowCell describeCell(long start) {
+            final TRow row = currentRow;
+            final TColumnItem column = currentColumn;
+            final long startedAt = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new SlowCell(startedAt, report.getReportTargetName(), 
+                    row != null ? report.getRowTitle(row) : "?", 
+                    column != null ? report.getColumnId(column) : "?");
+        }
+    }
+
+    /**
+     * Aggregated evaluation time of a row or a permission.
+     */
+    public static final class Hotspot {
+
+        @Nonnull
+        private final String kind;
+        @Nonnull
+        private final String name;
+        private long cells;
+        private long totalNanos;
+        private long maxNanos;
+
+        Hotspot(@Nonnull String kind, @Nonnull String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        synchronized void add(long cells, long nanos, long maxNanos) {
+            this.cells += cells;
+            this.totalNanos += nanos;
+            this.maxNanos = Math.max(this.maxNanos, maxNanos);
+        }
+
+        @Nonnull
+        public String getKind() {
+            return kind;
+        }
+
+        @Nonnull
+        public String getName() {
+            return name;
+        }
+
+        public synchronized long getCells() {
+            return cells;
+        }
+
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(getTotalNanos());
+        }
+
+        /*package*/ synchronized long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public synchronized long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+        }
+
+        /**
+         * Gets the average evaluation time of a cell.
+         *
+         * @return Time in microseconds
+         */
+        public synchronized long getAverageMicros() {
+            return cells > 0 ? TimeUnit.NANOSECONDS.toMicros(totalNanos / cells) : 0;
+        }
+    }
+
+    /**
+     * Cell, which has been evaluated longer than the threshold.
+     */
+    public static final class SlowCell {
+
+        private final long timestamp;
+        @Nonnull
+        private final String reportTarget;
+        @Nonnull
+        private final String row;
+        @Nonnull
+        private final String permission;
+        private final List<StackTraceElement[]> samples = new ArrayList<>();
+        private volatile long durationNanos = -1;
+
+        SlowCell(long timestamp, @Nonnull String reportTarget, @Nonnull String row, @Nonnull String permission) {
+            this.timestamp = timestamp;
+            this.reportTarget = reportTarget;
+            this.row = row;
+            this.permission = permission;
+        }
+
+        synchronized void addSample(@Nonnull StackTraceElement[] stack) {
+            if (samples.size() < MAX_SAMPLES_PER_CELL) {
+                samples.add(stack);
+            }
+        }
+
+        void finish(long duration) {
+            durationNanos = duration;
+        }
+
+        /**
+         * Gets the start time of the cell evaluation.
+         *
+         * @return Time in milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the time passed since the start of the cell evaluation.
+         *
+         * @return Human-readable duration
+         */
+        @Nonnull
+        public String getAgeString() {
+            return Util.getTimeSpanString(System.currentTimeMillis() - timestamp);
+        }
+
+        @Nonnull
+        public String getReportTarget() {
+            return reportTarget;
+        }
+
+        @Nonnull
+        public String getRow() {
+            return row;
+        }
+
+        @Nonnull
+        public String getPermission() {
+            return permission;
+        }
+
+        /**
+         * Checks whether the cell is still being evaluated.
+         */
+        public boolean isRunning() {
+            return durationNanos < 0;
+        }
+
+        /**
+         * Gets the evaluation time.
+         *
+         * @return Time in milliseconds, or the time elapsed till now if the cell is still being evaluated
+         */
+        public long getDurationMillis() {
+            final long duration = durationNanos;
+            return duration >= 0 ? TimeUnit.NANOSECONDS.toMillis(duration) : System.currentTimeMillis() - timestamp;
+        }
+
+        /**
+         * Gets the recorded stack samples.
+         *
+         * @return Stack samples formatted as text
+         */
+        @Nonnull
+        public synchronized List<String> getSamples() {
+            final List<String> res = new ArrayList<>(samples.size());
+            for (StackTraceElement[] stack : samples) {
+                final StringBuilder sb = new StringBuilder();
+                for (StackTraceElement element : stack) {
+                    sb.append("\tat ").append(element).append('\n');
+                }
+                res.add(sb.toString());
+            }
+            return res;
+        }
+
+        @Override
+        public String toString() {
+            return reportTarget + ": " + row + " / " + permission + " (" + getDurationMillis() + " ms)";
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.security.Permission;
+import hudson.security.PermissionGroup;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.Messages;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
+
+/**
+ * Report comparing permissions of multiple subjects (e.g. users) side by side.
+ * Every row is evaluated once for all subjects, and the resulting per-subject permission vectors are
+ * combined into views: permissions granted to any subject, to every subject and only to a particular subject.
+ * Each view is a column group with the same set of permissions.
+ *
+ * @param <TRow> Class of the Rows in the report
+ * @param <TSubject> Class of the compared subjects
+ */
+public abstract class ComparisonReport<TRow, TSubject>
+        extends SecurityInspectorReport<TRow, ComparisonReport.View, ComparisonReport.Column, Boolean> {
+
+    @Nonnull
+    private final List<TSubject> subjects;
+    @Nonnull
+    private final List<View> views;
+    @Nonnull
+    private final List<Permission> permissions = new ArrayList<>();
+    /**
+     * Views of the row being evaluated, computed on the first access to its entries.
+     */
+    @CheckForNull
+    private BitSet[] rowViews;
+
+    protected ComparisonReport(@Nonnull List<TSubject> subjects) {
+        this.subjects = new ArrayList<>(subjects);
+        this.views = new ArrayList<>(subjects.size() + 2);
+        views.add(new View(0, "any", Messages.ComparisonReport_Union()));
+        views.add(new View(1, "every", Messages.ComparisonReport_Intersection()));
+        for (TSubject subject : subjects) {
+            views.add(new View(views.size(), "only:" + getSubjectId(subject), 
+                    Messages.ComparisonReport_Difference(getSubjectTitle(subject))));
+        }
+    }
+
+    /**
+     * Gets the compared subjects.
+     *
+     * @return Subjects in the order of {@link #evaluate(java.lang.Object, java.util.List)} results
+     */
+    @Nonnull
+    public final List<TSubject> getSubjects() {
+        return Collections.unmodifiableList(subjects);
+    }
+
+    /**
+     * Gets the machine-readable identifier of the subject.
+     *
+     * @param subject Subject
+     * @return Identifier used in column IDs
+     */
+    @Nonnull
+    protected abstract String getSubjectId(@Nonnull TSubject subject);
+
+    /**
+     * Gets the title of the subject.
+     *
+     * @param subject Subject
+     * @return Title used in column group titles
+     */
+    @Nonnull
+    protected abstract String getSubjectTitle(@Nonnull TSubject subject);
+
+    /**
+     * Evaluates permissions of all subjects for the row.
+     * The method is invoked once per row.
+     *
+     * @param row Row
+     * @param permissions Reported permissions
+     * @return Permission vectors of the subjects in the order of {@link #getSubjects()}. 
+     *         Bits are indexes in {@code permissions}
+     */
+    @Nonnull
+    protected abstract BitSet[] evaluate(@Nonnull TRow row, @Nonnull List<Permission> permissions);
+
+    /**
+     * Generates the report for enabled permissions of the groups, which pass the filter.
+     *
+     * @param rows Rows to be reported
+     * @param groups Permission groups to be reported
+     * @param filter Permission filter
+     */
+    public final void generateReport(@Nonnull Set<TRow> rows, @Nonnull Set<PermissionGroup> groups,
+            @Nonnull PermissionFilter filter) {
+        final Set<Permission> selected = new TreeSet<>(new Comparator<Permission>() {
+            @Override
+            public int compare(Permission o1, Permission o2) {
+                int cmp = o1.group.title.toString().compareTo(o2.group.title.toString());
+                return cmp != 0 ? cmp : o1.name.compareTo(o2.name);
+            }
+        });
+        for (PermissionGroup group : groups) {
+            for (Permission p : group.getPermissions()) {
+                if (p.getEnabled() && filter.isSelected(p)) {
+                    selected.add(p);
+                }
+            }
+        }
+        permissions.addAll(selected);
+
+        final Set<Column> columns = new HashSet<>(views.size() * permissions.size());
+        for (View view : views) {
+            for (int i = 0; i < permissions.size(); i++) {
+                columns.add(new Column(view, permissions.get(i), i));
+            }
+        }
+        generateReport(rows, columns, new LinkedHashSet<>(views));
+    }
+
+    /**
+     * Combines permission vectors of subjects into views.
+     *
+     * @param subjects Permission vectors of the subjects
+     * @return Vectors of views: any subject, every subject, and then a vector per subject 
+     *         with permissions, which are not granted to other subjects
+     */
+    @Nonnull
+    /*package*/ static BitSet[] combine(@Nonnull BitSet[] subjects) {
+        final BitSet[] res = new BitSet[subjects.length + 2];
+        final BitSet any = new BitSet();
+        final BitSet every = subjects.length > 0 ? (BitSet) subjects[0].clone() : new BitSet();
+        for (BitSet subject : subjects) {
+            any.or(subject);
+            every.and(subject);
+        }
+        res[0] = any;
+        res[1] = every;
+        for (int i = 0; i < subjects.length; i++) {
+            final BitSet only = (BitSet) subjects[i].clone();
+            for (int j = 0; j < subjects.length && !only.isEmpty(); j++) {
+                if (j != i) {
+                    only.andNot(subjects[j]);
+                }
+            }
+            res[i + 2] = only;
+        }
+        return res;
+    }
+
+    @Override
+    public void forRow(TRow row, Runnable runnable) {
+        rowViews = null;
+        try {
+            runnable.run();
+        } finally {
+            rowViews = null;
+        }
+    }
+
+    @Override
+    protected final Boolean getEntryReport(TRow row, Column column) {
+        // Rows are evaluated sequentially, all columns of the row share the vectors
+        if (rowViews == null) {
+            rowViews = combine(evaluate(row, Collections.unmodifiableList(permissions)));
+        }
+        return rowViews[column.view.index].get(column.permissionIndex);
+    }
+
+    @Override
+    protected final boolean isCellProfilingSupported() {
+        // The first column of the row evaluates all subjects
+        return false;
+    }
+
+    @Override
+    public final boolean isEntryReportOk(TRow row, Column column, Boolean reportEntry) {
+        return reportEntry;
+    }
+
+    @Override
+    public final View getGroupOfItem(Column item) {
+        return item.view;
+    }
+
+    @Override
+    public final Collection<Column> getItemsOfGroup(View group) {
+        final List<Column> res = new ArrayList<>(permissions.size());
+        for (Column column : getColumns()) {
+            if (column.view == group) {
+                res.add(column);
+            }
+        }
+        return res;
+    }
+
+    @Override
+    public final String getGroupTitle(View group) {
+        return group.title;
+    }
+
+    @Override
+    public final String getColumnTitle(Column column) {
+        return column.permission.name;
+    }
+
+    @Override
+    public final String getColumnId(Column column) {
+        return column.view.id + "/" + column.permission.getId();
+    }
+
+    @Override
+    public final Comparator<Column> getColumnComparator() {
+        return new Comparator<Column>() {
+            @Override
+            public int compare(Column o1, Column o2) {
+                int cmp = Integer.compare(o1.view.index, o2.view.index);
+                return cmp != 0 ? cmp : Integer.compare(o1.permissionIndex, o2.permissionIndex);
+            }
+        };
+    }
+
+    /**
+     * Column group of the comparison.
+     */
+    public static final class View {
+
+        private final int index;
+        @Nonnull
+        private final String id;
+        @Nonnull
+        private final String title;
+
+        /*package*/ View(int index, @Nonnull String id, @Nonnull String title) {
+            this.index = index;
+            this.id = id;
+            this.title = title;
+        }
+
+        /**
+         * Gets the identifier of the view.
+         *
+         * @return {@code any}, {@code every} or {@code only:<subject ID>}
+         */
+        @Nonnull
+        public String getId() {
+            return id;
+        }
+
+        @Nonnull
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+
+    /**
+     * Permission within the view.
+     */
+    public static final class Column {
+
+        @Nonnull
+        private final View view;
+        @Nonnull
+        private final Permission permission;
+        private final int permissionIndex;
+
+        /*package*/ Column(@Nonnull View view, @Nonnull Permission permission, int permissionIndex) {
+            this.view = view;
+            this.permission = permission;
+            this.permissionIndex = permissionIndex;
+        }
+
+        @Nonnull
+        public View getView() {
+            return view;
+        }
+
+        @Nonnull
+        public Permission getPermission() {
+            return permission;
+        }
+
+        @Override
+        public String toString() {
+            return view.id + "/" + permission.getId();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.apache.commons.collections.map.MultiKeyMap;
+
+/**
+ * Stores all entries of the report.
+ */
+/*package*/ class DenseReportStorage<TRow, TColumnItem, TEntryReport> extends ReportStorage<TRow, TEntryReport> {
+
+    @Nonnull
+    private final List<TColumnItem> columns;
+
+    DenseReportStorage(@Nonnull List<TColumnItem> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Builds a map of all entries.
+     *
+     * @return New map, where keys are rows and columns
+     */
+    @Nonnull
+    MultiKeyMap getEntries() {
+        final MultiKeyMap entries = new MultiKeyMap();
+        for (Map.Entry<TRow, Integer> row : getRowVectors().entrySet()) {
+            final Object[] values = getVector(row.getValue()).getValues();
+            for (int i = 0; i < values.length; i++) {
+                entries.put(row.getKey(), columns.get(i), values[i]);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    RowVector createVector(TEntryReport[] entries, BitSet granted) {
+        return new RowVector(entries, granted);
+    }
+
+    @CheckForNull
+    @Override
+    @SuppressWarnings("unchecked")
+    TEntryReport getEntry(RowVector vector, int column) {
+        return (TEntryReport) vector.getValues()[column];
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+
+/**
+ * Formats, in which reports can be exported.
+ */
+public enum ExportFormat {
+
+    /**
+     * Full report matrix in CSV.
+     */
+    CSV("Full table (CSV)", "csv", "text/csv") {
+        @Override
+        public <TRow, TColumnItem> RowWriter<TRow> open(
+                @Nonnull final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull final Writer out) {
+            return new RowWriter<TRow>() {
+                @Override
+                public void begin() throws IOException {
+                    report.writeCSVHeader(out);
+                }
+
+                @Override
+                public void row(TRow row) throws IOException {
+                    report.writeCSVRow(row, out);
+                }
+            };
+        }
+    },
+    /**
+     * Report matrix in CSV, where rows with identical entries are collapsed into a single line with a count.
+     * Rows are grouped when all of them have been passed to the writer, so the format does not stream rows.
+     */
+    GROUPED_CSV("Identical rows grouped (CSV)", "grouped.csv", "text/csv") {
+        @Override
+        public <TRow, TColumnItem> RowWriter<TRow> open(
+                @Nonnull final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull final Writer out) {
+            return new RowWriter<TRow>() {
+                private final List<TRow> rows = new ArrayList<>();
+
+                @Override
+                public void row(TRow row) {
+                    // Grouped and written in end()
+                    rows.add(row);
+                }
+
+                @Override
+                public void end() throws IOException {
+                    final List<TColumnItem> columns = report.getSortedColumns();
+                    out.write(escapeCSV(report.getRowColumnHeader()));
+                    out.write(",Count");
+                    for (TColumnItem column : columns) {
+                        out.write(',');
+                        out.write(escapeCSV(getGroupTitleOf(report, column) + "/" + report.getColumnTitle(column)));
+                    }
+                    out.write('\n');
+
+                    for (SecurityInspectorReport.RowGroup<TRow> group : report.getRowGroups(rows)) {
+                        final BitSet granted = report.getGrantedColumns(group.getFirstRow());
+                        out.write(escapeCSV(report.getRowGroupTitle(group)));
+                        out.write(',');
+                        out.write(Integer.toString(group.getSize()));
+                        for (int i = 0; i < columns.size(); i++) {
+                            out.write(granted.get(i) ? ",x" : ",");
+                        }
+                        out.write('\n');
+                    }
+                }
+            };
+        }
+    },
+    /**
+     * Granted (row, group, column) triples in CSV.
+     */
+    SPARSE_CSV("Granted permissions only (CSV)", "grants.csv", "text/csv") {
+        @Override
+        public <TRow, TColumnItem> RowWriter<TRow> open(
+                @Nonnull final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull final Writer out) {
+            return new RowWriter<TRow>() {
+                private String[] columnTitles;
+
+                @Override
+                public void begin() throws IOException {
+                    final List<TColumnItem> columns = report.getSortedColumns();
+                    columnTitles = new String[columns.size()];
+                    for (int i = 0; i < columnTitles.length; i++) {
+                        final TColumnItem column = columns.get(i);
+                        columnTitles[i] = escapeCSV(getGroupTitleOf(report, column)) + "," 
+                                + escapeCSV(report.getColumnTitle(column));
+                    }
+                    out.write(escapeCSV(report.getRowColumnHeader()));
+                    out.write(",Group,Permission\n");
+                }
+
+                @Override
+                public void row(TRow row) throws IOException {
+                    final BitSet granted = report.getGrantedColumns(row);
+                    if (granted.isEmpty()) {
+                        return;
+                    }
+                    final String rowTitle = escapeCSV(report.getRowTitle(row));
+                    for (int i = granted.nextSetBit(0); i >= 0; i = granted.nextSetBit(i + 1)) {
+                        out.write(rowTitle);
+                        out.write(',');
+                        out.write(columnTitles[i]);
+                        out.write('\n');
+                    }
+                }
+            };
+        }
+    },
+    /**
+     * All rows in newline-delimited JSON.
+     * Every row is an object with column identifiers as keys and check results as values.
+     */
+    NDJSON("All rows (NDJSON)", "ndjson", "application/x-ndjson") {
+        @Override
+        public <TRow, TColumnItem> RowWriter<TRow> open(
+                @Nonnull final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull Writer out) {
+            final JsonStreamWriter json = new JsonStreamWriter(out);
+            return new RowWriter<TRow>() {
+                private String[] columnIds;
+
+                @Override
+                public void begin() {
+                    columnIds = getColumnIds(report);
+                }
+
+                @Override
+                public void row(TRow row) throws IOException {
+                    final BitSet granted = report.getGrantedColumns(row);
+                    json.beginObject().name("row").value(report.getRowTitle(row));
+                    json.name("permissions").beginObject();
+                    for (int i = 0; i < columnIds.length; i++) {
+                        json.name(columnIds[i]).value(granted.get(i));
+                    }
+                    json.endObject().endObject().newLine();
+                }
+            };
+        }
+    },
+    /**
+     * Single JSON document with the list of columns and a hexadecimal bitmask of granted columns per row.
+     * Bit {@code i} of the mask corresponds to the column {@code i} in the {@code columns} array.
+     */
+    JSON("All rows with bitmasks (JSON)", "json", "application/json") {
+        @Override
+        public <TRow, TColumnItem> RowWriter<TRow> open(
+                @Nonnull final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull Writer out) {
+            final JsonStreamWriter json = new JsonStreamWriter(out);
+            return new RowWriter<TRow>() {
+                private int columnCount;
+
+                @Override
+                public void begin() throws IOException {
+                    final String[] columnIds = getColumnIds(report);
+                    columnCount = columnIds.length;
+                    json.beginObject();
+                    json.name("target").value(report.getReportTargetName());
+                    json.name("rowHeader").value(report.getRowColumnHeader());
+                    json.name("columns").beginArray();
+                    for (String columnId : columnIds) {
+                        json.value(columnId);
+                    }
+                    json.endArray();
+                    json.name("rows").beginArray();
+                }
+
+                @Override
+                public void row(TRow row) throws IOException {
+                    json.beginObject();
+                    json.name("row").value(report.getRowTitle(row));
+                    json.name("mask").value(toHexMask(report.getGrantedColumns(row), columnCount));
+                    json.endObject();
+                }
+
+                @Override
+                public void end() throws IOException {
+                    json.endArray();
+                    json.endObject();
+                }
+            };
+        }
+    },
+    /**
+     * Granted columns in newline-delimited JSON, one object per row with grants.
+     */
+    SPARSE_NDJSON("Granted permissions only (NDJSON)", "grants.ndjson", "application/x-ndjson") {
+        @Override
+        public <TRow, TColumnItem> RowWriter<TRow> open(
+                @Nonnull final SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull Writer out) {
+            final JsonStreamWriter json = new JsonStreamWriter(out);
+            return new RowWriter<TRow>() {
+                private String[] columnIds;
+
+                @Override
+                public void begin() {
+                    columnIds = getColumnIds(report);
+                }
+
+                @Override
+                public void row(TRow row) throws IOException {
+                    final BitSet granted = report.getGrantedColumns(row);
+                    if (granted.isEmpty()) {
+                        return;
+                    }
+                    json.beginObject().name("row").value(report.getRowTitle(row));
+                    json.name("granted").beginArray();
+                    for (int i = granted.nextSetBit(0); i >= 0; i = granted.nextSetBit(i + 1)) {
+                        json.value(columnIds[i]);
+                    }
+                    json.endArray().endObject().newLine();
+                }
+            };
+        }
+    };
+
+    @Nonnull
+    private final String displayName;
+    @Nonnull
+    private final String fileExtension;
+    @Nonnull
+    private final String contentType;
+
+    private ExportFormat(@Nonnull String displayName, @Nonnull String fileExtension, @Nonnull String contentType) {
+        this.displayName = displayName;
+        this.fileExtension = fileExtension;
+        this.contentType = contentType;
+    }
+
+    @Nonnull
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Nonnull
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    @Nonnull
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Opens a writer, which writes the report row by row.
+     * Columns of the report must be initialized before {@link RowWriter#begin()} is invoked.
+     *
+     * @param <TRow> Class of the Rows in the report
+     * @param <TColumnItem> Class of the columns in the report
+     * @param report Report to be exported
+     * @param out Output writer
+     * @return Row writer
+     */
+    @Nonnull
+    public abstract <TRow, TColumnItem> RowWriter<TRow> open(
+            @Nonnull SecurityInspectorReport<TRow, ?, TColumnItem, ?> report, @Nonnull Writer out);
+
+    /**
+     * Writes the generated report.
+     *
+     * @param <TRow> Class of the Rows in the report
+     * @param <TColumnItem> Class of the columns in the report
+     * @param report Report to be exported
+     * @param out Output writer
+     * @throws IOException Write error
+     * @throws InterruptedIOException The thread has been interrupted, e.g. the export has been cancelled
+     */
+    public final <TRow, TColumnItem> void write(@Nonnull SecurityInspectorReport<TRow, ?, TColumnItem, ?> report,
+            @Nonnull Writer out) throws IOException {
+        write(report, report.getRows(), out);
+    }
+
+    /**
+     * Writes the specified rows of the generated report, e.g. rows matching a query.
+     *
+     * @param <TRow> Class of the Rows in the report
+     * @param <TColumnItem> Class of the columns in the report
+     * @param report Report to be exported
+     * @param rows Rows to be exported
+     * @param out Output writer
+     * @throws IOException Write error
+     * @throws InterruptedIOException The thread has been interrupted, e.g. the export has been cancelled
+     */
+    public final <TRow, TColumnItem> void write(@Nonnull SecurityInspectorReport<TRow, ?, TColumnItem, ?> report,
+            @Nonnull Iterable<TRow> rows, @Nonnull Writer out) throws IOException {
+        final ReportTimings.Stopwatch stopwatch = report.getTimings().start(ReportTimings.Phase.EXPORT);
+        final Object event = ReportEvents.beginExport();
+        final RowWriter<TRow> writer = open(report, out);
+        writer.begin();
+        long written = 0;
+        for (TRow row : rows) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("The export of " + report.getReportTargetName() + " has been interrupted");
+            }
+            writer.row(row);
+            written++;
+        }
+        writer.end();
+        stopwatch.stop();
+        ReportEvents.commitExport(event, report, this, written);
+    }
+
+    @Nonnull
+    private static <TColumnGroup, TColumnItem> String getGroupTitleOf(
+            @Nonnull SecurityInspectorReport<?, TColumnGroup, TColumnItem, ?> report, @Nonnull TColumnItem column) {
+        return report.getGroupTitle(report.getGroupOfItem(column));
+    }
+
+    @Nonnull
+    /*package*/ static <TColumnItem> String[] getColumnIds(
+            @Nonnull SecurityInspectorReport<?, ?, TColumnItem, ?> report) {
+        final List<TColumnItem> columns = report.getSortedColumns();
+        final String[] res = new String[columns.size()];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = report.getColumnId(columns.get(i));
+        }
+        return res;
+    }
+
+    /**
+     * Converts the bit set to a hexadecimal number.
+     *
+     * @param bits Bits
+     * @param size Number of bits to be converted
+     * @return Hexadecimal representation with the most significant digit first
+     */
+    @Nonnull
+    static String toHexMask(@Nonnull BitSet bits, int size) {
+        final int digits = Math.max(1, (size + 3) / 4);
+        final char[] res = new char[digits];
+        for (int digit = 0; digit < digits; digit++) {
+            int value = 0;
+            for (int bit = 0; bit < 4; bit++) {
+                if (bits.get(digit * 4 + bit)) {
+                    value |= 1 << bit;
+                }
+            }
+            res[digits - digit - 1] = Character.forDigit(value, 16);
+        }
+        return new String(res);
+    }
+
+    /**
+     * Converts the hexadecimal number produced by {@link #toHexMask(java.util.BitSet, int)} back to the bit set.
+     *
+     * @param mask Hexadecimal representation with the most significant digit first
+     * @return Bits
+     * @throws IllegalArgumentException The mask is not a hexadecimal number
+     */
+    @Nonnull
+    static BitSet fromHexMask(@Nonnull String mask) throws IllegalArgumentException {
+        final int digits = mask.length();
+        final BitSet res = new BitSet(digits * 4);
+        for (int digit = 0; digit < digits; digit++) {
+            final int value = Character.digit(mask.charAt(digits - digit - 1), 16);
+            if (value < 0) {
+                throw new IllegalArgumentException("Not a hexadecimal mask: " + mask);
+            }
+            for (int bit = 0; bit < 4; bit++) {
+                if ((value & (1 << bit)) != 0) {
+                    res.set(digit * 4 + bit);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Escapes the value according to RFC 4180.
+     *
+     * @param value Value to be escaped
+     * @return Value, which can be safely used as a CSV field
+     */
+    @Nonnull
+    public static String escapeCSV(@Nonnull String value) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        return needsQuotes ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    /**
+     * Writes a report in the export format row by row.
+     *
+     * @param <TRow> Class of the Rows in the report
+     */
+    public static abstract class RowWriter<TRow> {
+
+        /**
+         * Writes the header.
+         *
+         * @throws IOException Write error
+         */
+        public void begin() throws IOException {
+            // Nothing to write by default
+        }
+
+        /**
+         * Writes the row.
+         *
+         * @param row Row, which has been already added to the report
+         * @throws IOException Write error
+         */
+        public abstract void row(@Nonnull TRow row) throws IOException;
+
+        /**
+         * Writes the footer.
+         *
+         * @throws IOException Write error
+         */
+        public void end() throws IOException {
+            // Nothing to write by default
+        }
+    }
+}
@@ -25,22 +25,84 @@ package org.jenkinsci.plugins.securityinspector.model;
 
 import hudson.security.Permission;
 import hudson.security.PermissionGroup;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.PermissionExpression;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
 
 public abstract class PermissionReport<TRow, TEntryReport>
         extends SecurityInspectorReport<TRow, PermissionGroup, Permission, TEntryReport> {
 
     // TODO: WTF? Implicit overrides in implementations
     public final void generateReport(@Nonnull Set<TRow> rows, @Nonnull Set<PermissionGroup> groups) {
+        generateReport(rows, groups, new PermissionFilter());
+    }
+
+    /**
+     * Generates the report for enabled permissions of the groups, which pass the filter.
+     * Permissions rejected by the filter are not evaluated.
+     * Groups without selected permissions are not included into the report.
+     *
+     * @param rows Rows to be reported
+     * @param groups Permission groups to be reported
+     * @param filter Permission filter
+     */
+    public final void generateReport(@Nonnull Set<TRow> rows, @Nonnull Set<PermissionGroup> groups,
+            @Nonnull PermissionFilter filter) {
         Set<Permission> permissions = new HashSet<>();
+        Set<PermissionGroup> reportedGroups = new HashSet<>();
         for (PermissionGroup group : groups) {
-            permissions.addAll(getItemsOfGroup(group));
+            for (Permission p : getItemsOfGroup(group)) {
+                if (filter.isSelected(p)) {
+                    permissions.add(p);
+                    reportedGroups.add(group);
+                }
+            }
         }
-        generateReport(rows, permissions, groups);
+        generateReport(rows, permissions, reportedGroups);
+    }
+
+    /**
+     * Finds rows, for which the expression over permission columns is true.
+     *
+     * @param expression Expression, e.g. {@code Job/Build & !Job/Read}
+     * @return Matching rows in the display order
+     * @throws IllegalArgumentException Syntax error or unknown permission
+     */
+    @Nonnull
+    public final List<TRow> query(@Nonnull String expression) throws IllegalArgumentException {
+        return getRowsAt(queryPositions(expression));
+    }
+
+    /**
+     * Finds positions of rows, for which the expression over permission columns is true.
+     *
+     * @param expression Expression, e.g. {@code Job/Build & !Job/Read}
+     * @return Positions of matching rows in {@link RowOrder#NAME}
+     * @throws IllegalArgumentException Syntax error or unknown permission
+     * @see #getRowRange(int, int, org.jenkinsci.plugins.securityinspector.model.RowOrder, java.util.BitSet)
+     */
+    @Nonnull
+    public final BitSet queryPositions(@Nonnull String expression) throws IllegalArgumentException {
+        final List<Permission> columns = getSortedColumns();
+        final int rowCount = getRows().size();
+        return PermissionExpression.parse(expression, columns).evaluate(new PermissionExpression.Evaluator() {
+            @Override
+            public BitSet get(Permission permission) {
+                final int column = columns.indexOf(permission);
+                return column >= 0 ? getGrantedRows(column) : new BitSet();
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        });
     }
 
     @Override
@@ -68,4 +130,9 @@ public abstract class PermissionReport<TRow, TEntryReport>
     public final String getColumnTitle(Permission item) {
         return item.name;
     }
+
+    @Override
+    public final String getColumnId(Permission item) {
+        return item.getId();
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Reports generated for multiple targets in a single computation, e.g. for a batch of users.
+ * Batches are cached by {@link ReportCache} like single reports.
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportBatch {
+
+    @Nonnull
+    private final List<Section> sections;
+
+    public ReportBatch(@Nonnull List<Section> sections) {
+        this.sections = Collections.unmodifiableList(new ArrayList<>(sections));
+    }
+
+    /**
+     * Gets reports of the batch.
+     *
+     * @return Sections in the order of computation
+     */
+    @Nonnull
+    public List<Section> getSections() {
+        return sections;
+    }
+
+    /**
+     * Report for a single target within the batch.
+     */
+    public static final class Section {
+
+        @Nonnull
+        private final String target;
+        @Nonnull
+        private final SecurityInspectorReport report;
+
+        public Section(@Nonnull String target, @Nonnull SecurityInspectorReport report) {
+            this.target = target;
+            this.report = report;
+        }
+
+        /**
+         * Gets the target of the report.
+         *
+         * @return Target ID, e.g. user ID
+         */
+        @Nonnull
+        public String getTarget() {
+            return target;
+        }
+
+        @Nonnull
+        public SecurityInspectorReport getReport() {
+            return report;
+        }
+    }
+}
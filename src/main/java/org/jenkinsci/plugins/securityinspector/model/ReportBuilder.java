@@ -25,34 +25,113 @@ package org.jenkinsci.plugins.securityinspector.model;
 
 import hudson.ExtensionList;
 import hudson.ExtensionPoint;
+import hudson.Util;
 import hudson.model.Descriptor;
+import hudson.security.Permission;
+import hudson.security.PermissionGroup;
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
 import jenkins.model.Jenkins;
+import static org.jenkinsci.plugins.securityinspector.SecurityInspectorAction.getSessionId;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.jenkinsci.plugins.securityinspector.UserContextCache;
 import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.jenkinsci.plugins.securityinspector.util.SecurityConfigurationVersion;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.HttpResponse;
 import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.interceptor.RequirePOST;
 
 /**
  * Defines a report builder for the Security Inspector UI.
+ * <p>
+ * Builders should implement {@link #createReport(UserContext, ReportListener)}, so reports are computed
+ * by the {@link ReportScheduler}, cached and available to CLI commands and scheduled audits.
+ * Builders written before that method existed override {@link #getReport()} instead.
+ * They keep working, but their reports are computed synchronously in the current request without caching.
+ * To migrate, move the report generation from {@link #getReport()} to
+ * {@link #createReport(UserContext, ReportListener)} and take filters from the passed context.
  *
  * @author Oleg Nenashev
  */
 public abstract class ReportBuilder implements ExtensionPoint {
 
+    private static final Logger LOGGER = Logger.getLogger(ReportBuilder.class.getName());
+
+    /**
+     * {@code true} if the builder overrides {@link #getReport()} instead of implementing
+     * {@link #createReport(UserContext, ReportListener)}.
+     */
+    private final boolean legacy = Util.isOverridden(ReportBuilder.class, getClass(), "getReport");
+
+    /**
+     * Size of the buffer used for gzip compression of downloaded reports.
+     */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Reports with more displayed rows are shown in the client-side grid by default.
+     */
+    /*package*/ static final int GRID_ROW_THRESHOLD = Integer.getInteger(ReportBuilder.class.getName() + ".gridRowThreshold", 2000);
+
+    /**
+     * Enables progressive rendering of reports, which are neither cached nor being computed.
+     */
+    /*package*/ static final boolean PROGRESSIVE_RENDERING = !Boolean.getBoolean(ReportBuilder.class.getName() + ".disableProgressiveRendering");
+
+    /**
+     * Maximum number of rows written to the stream before it is flushed.
+     */
+    private static final int STREAM_FLUSH_ROWS = 100;
+
+    /**
+     * Maximum time between flushes of the stream, in milliseconds.
+     */
+    private static final long STREAM_FLUSH_PERIOD = 250;
+
+    /**
+     * Maximum number of rows in a single chunk of the client-side grid.
+     */
+    /*package*/ static final int GRID_MAX_CHUNK_SIZE = Integer.getInteger(ReportBuilder.class.getName() + ".gridMaxChunkSize", 1000);
+
+    /**
+     * Maximum number of changed rows displayed on the snapshot difference page.
+     * The complete difference can be downloaded as NDJSON.
+     */
+    /*package*/ static final int SNAPSHOT_DIFF_DISPLAY_LIMIT = Integer.getInteger(ReportBuilder.class.getName() + ".snapshotDiffDisplayLimit", 1000);
+
     @Nonnull
     public abstract Type getType();
 
@@ -68,10 +147,227 @@ public abstract class ReportBuilder implements ExtensionPoint {
     @Nonnull
     public abstract String getDescription();
     
+    /**
+     * Gets the report for the filters configured in the current session.
+     * Concurrent requests for an identical report share a single computation.
+     * <p>
+     * Overriding this method is deprecated, implement {@link #createReport(UserContext, ReportListener)} instead.
+     * Overrides are still called for compatibility, see the class documentation.
+     *
+     * @return Generated report
+     * @throws HttpResponses.HttpResponseException The context is missing or the report cannot be generated
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public SecurityInspectorReport getReport() throws HttpResponses.HttpResponseException {
+        return getReport(getRequestedContext());
+    }
+
+    /**
+     * Gets the report for the specified context.
+     * Concurrent requests for an identical report share a single computation.
+     *
+     * @param context Context with the filters
+     * @return Generated report
+     * @throws HttpResponses.HttpResponseException The report cannot be generated
+     */
+    @Nonnull
+    protected final SecurityInspectorReport getReport(@Nonnull final UserContext context) 
+            throws HttpResponses.HttpResponseException {
+        if (legacy) {
+            return getReport();
+        }
+        return ReportCache.getInstance().get(new ReportKey(getIndex(), context), new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                return createReport(context, null);
+            }
+        });
+    }
+
+    /**
+     * Generates a new report for the specified context without caching.
+     * Can be used to process rows while the report is being generated, e.g. by CLI commands.
+     *
+     * @param context Context with the filters
+     * @param listener Listener to be notified during the report generation
+     * @return Generated report
+     * @throws HttpResponses.HttpResponseException The context does not contain required settings
+     */
+    @Nonnull
+    public final SecurityInspectorReport generateReport(@Nonnull final UserContext context, 
+            @CheckForNull final ReportListener<Object> listener) throws HttpResponses.HttpResponseException {
+        if (legacy) {
+            // Legacy builders take filters from the current request, so they cannot run in scheduler threads
+            return createReport(context, listener);
+        }
+        final ReportKey key = new ReportKey(getIndex(), context);
+        final FutureTask<SecurityInspectorReport> task = new FutureTask<>(new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                return createReport(context, listener);
+            }
+        });
+        final ReportExecution execution = ReportScheduler.getInstance().createExecution(key, task);
+        ReportScheduler.getInstance().schedule(execution);
+        try {
+            // The execution is not shared, and the caller is interrupted when it stops waiting
+            return ReportCache.await(key, task, execution, true);
+        } catch (HttpResponses.HttpResponseException ex) {
+            // Nobody else waits for this computation
+            execution.cancel();
+            throw ex;
+        }
+    }
+
+    /**
+     * Gets the status of the report for the filters configured in the current session.
+     * If the report is neither cached nor being computed, its computation gets queued.
+     * The method does not wait for the report, so the page can be refreshed till the report is ready.
+     *
+     * @return Report status
+     * @throws HttpResponses.HttpResponseException The context is missing
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public ReportStatus getReportStatus() throws HttpResponses.HttpResponseException {
+        if (legacy) {
+            // The report is computed synchronously when the page is rendered
+            return new ReportStatus(true, 0);
+        }
+        final UserContext context = getRequestedContext();
+        final ReportKey key = new ReportKey(getIndex(), context);
+        final boolean ready = ReportCache.getInstance().prepare(key, SecurityConfigurationVersion.getInstance().getFingerprint(), 
+                getSessionId(), new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                return createReport(context, null);
+            }
+        });
+        return ReportStatus.of(ready, key);
+    }
+
+    /**
+     * Generates the report for the specified context.
+     * The method must not depend on the current request, because the result may be shared with other requests.
+     *
+     * @param context Context with the submitted filters
+     * @param listener Listener to be passed to {@link SecurityInspectorReport#setListener(org.jenkinsci.plugins.securityinspector.model.ReportListener)}
+     * @return Generated report
+     * @throws HttpResponses.HttpResponseException The context does not contain required settings
+     */
+    @Nonnull
+    protected SecurityInspectorReport<?, ?, ?, ?> createReport(@Nonnull UserContext context, 
+            @CheckForNull ReportListener<Object> listener) throws HttpResponses.HttpResponseException {
+        if (legacy) {
+            // Legacy builders do not notify listeners, callers get the complete report
+            return getReport();
+        }
+        throw new AbstractMethodError(getClass().getName() 
+                + " must implement createReport(UserContext, ReportListener) or override getReport()");
+    }
+
+    /**
+     * Estimates the cost of the report for the specified context.
+     *
+     * @param context Context with the submitted filters
+     * @return Report plan
+     */
+    @Nonnull
+    public final ReportPlan plan(@Nonnull UserContext context) {
+        return ReportPlanner.getInstance().plan(getEstimatedRowCount(context), getEstimatedColumnCount(context), 
+                context.getOptions());
+    }
+
+    /**
+     * Estimates the cost of the report for the filters configured in the current session.
+     *
+     * @return Report plan
+     * @throws HttpResponses.HttpResponseException The context is missing
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public final ReportPlan getPlan() throws HttpResponses.HttpResponseException {
+        return plan(getRequestedContext());
+    }
+
+    /**
+     * Estimates the number of rows in the report.
+     * The default implementation does not provide estimations, so reports are never adjusted by the planner.
+     *
+     * @param context Context with the submitted filters
+     * @return Number of rows. {@code -1} if it is unknown
+     */
+    protected int getEstimatedRowCount(@Nonnull UserContext context) {
+        return -1;
+    }
+
+    /**
+     * Estimates the number of permission columns in the report.
+     *
+     * @param context Context with the submitted filters
+     * @return Number of columns
+     */
+    protected int getEstimatedColumnCount(@Nonnull UserContext context) {
+        final Set<Permission> selected = context.getPermissions();
+        if (selected != null) {
+            return selected.size();
+        }
+        int columns = 0;
+        for (PermissionGroup group : getPossiblePermissionGroups()) {
+            for (Permission permission : group.getPermissions()) {
+                if (permission.getEnabled()) {
+                    columns++;
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Gets the context submitted in the current session.
+     *
+     * @return Context of the current session
+     * @throws HttpResponses.HttpResponseException The context has not been found
+     */
     @Nonnull
     @Restricted(NoExternalUse.class)
-    public abstract SecurityInspectorReport getReport();
+    public UserContext getRequestedContext() throws HttpResponses.HttpResponseException {
+        final UserContext context = UserContextCache.getInstance().get(getSessionId());
+        if (context == null) {
+            throw HttpResponses.error(404, "Context has not been found");
+        }
+        return context;
+    }
     
+    /**
+     * Gets permission groups, which may be selected in the report configuration.
+     *
+     * @return Sorted list of groups. Empty if the builder does not support filtering by permissions
+     */
+    @Nonnull
+    public List<PermissionGroup> getPossiblePermissionGroups() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Sorts permission groups by their titles.
+     *
+     * @param groups Groups to be sorted
+     * @return Sorted list of groups
+     */
+    @Nonnull
+    protected static List<PermissionGroup> sortGroups(@Nonnull Collection<PermissionGroup> groups) {
+        final List<PermissionGroup> res = new ArrayList<>(groups);
+        Collections.sort(res, new Comparator<PermissionGroup>() {
+            @Override
+            public int compare(PermissionGroup o1, PermissionGroup o2) {
+                return o1.title.toString().compareTo(o2.title.toString());
+            }
+        });
+        return res;
+    }
+
     @Nonnull
     public static ExtensionList<ReportBuilder> all() {
         return ExtensionList.lookup(ReportBuilder.class);
@@ -92,6 +388,32 @@ public abstract class ReportBuilder implements ExtensionPoint {
     public abstract void processParameters(@Nonnull StaplerRequest req)
             throws Descriptor.FormException, ServletException;
 
+    /**
+     * Checks whether the report can be generated from {@link ReportParameters} without a web session,
+     * e.g. by scheduled audits.
+     *
+     * @return {@code true} if {@link #createContext(ReportParameters)} is implemented
+     */
+    public boolean isContextCreationSupported() {
+        return false;
+    }
+
+    /**
+     * Resolves stored parameters to the report context.
+     * Filters are applied to the current Jenkins state, so every invocation may return different rows.
+     *
+     * @param parameters Report parameters
+     * @return Report context
+     * @throws IllegalArgumentException Invalid parameters, e.g. the target does not exist
+     * @throws IllegalStateException The builder does not support reports without a web session
+     * @see #isContextCreationSupported()
+     */
+    @Nonnull
+    public UserContext createContext(@Nonnull ReportParameters parameters) 
+            throws IllegalArgumentException, IllegalStateException {
+        throw new IllegalStateException("Report " + getIndex() + " cannot be generated without a web session");
+    }
+
     @Nonnull
     @Restricted(NoExternalUse.class)
     public HttpResponse doFilterSubmit(@Nonnull StaplerRequest req)
@@ -103,7 +425,13 @@ public abstract class ReportBuilder implements ExtensionPoint {
         SubmittedOperation action = SubmittedOperation.fromRequest(req);
         switch (action) {
             case Submit:
+                final long filterStart = System.nanoTime();
+                final Object filterEvent = ReportEvents.beginFilter();
                 processParameters(req);
+                ReportMetrics.getInstance().record(ReportTimings.Phase.FILTER, System.nanoTime() - filterStart);
+                if (filterEvent != null) {
+                    ReportEvents.commitFilter(filterEvent, getIndex(), getEstimatedRowCount(getRequestedContext()));
+                }
                 break;
 
             case Back:
@@ -113,10 +441,23 @@ public abstract class ReportBuilder implements ExtensionPoint {
                 throw new Descriptor.FormException("Action " + action + " is not supported", "submit");
         }
 
+        // Plan the report before starting it
+        final UserContext context = getRequestedContext();
+        final ReportPlan plan = plan(context);
+        if (plan.isSparseStorageForced()) {
+            LOGGER.log(Level.INFO, "Report {0} does not fit the memory budget, switching to the sparse storage: {1}", 
+                    new Object[] {getIndex(), plan});
+            UserContextCache.getInstance().put(getSessionId(), context.withOptions(plan.getOptions()));
+        }
+        if (plan.isConfirmationRequired()) {
+            return HttpResponses.redirectTo("plan");
+        }
+
         // Redirect to the search report page
         return HttpResponses.redirectTo("report");
     }
     
+    @RequirePOST
     @Restricted(NoExternalUse.class)
     public void doProcessReportAction(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp)
             throws ServletException, Descriptor.FormException, IOException {
@@ -131,7 +472,19 @@ public abstract class ReportBuilder implements ExtensionPoint {
                 break;
 
             case Download:
-                doDownloadReport(rsp);
+                doDownloadReport(req, rsp, getExportFormat(req), req.getParameter("compressDownload") != null);
+                break;
+
+            case SaveSnapshot:
+                final SecurityInspectorReport<?, ?, ?, ?> report = prepareReport(getRequestedContext());
+                if (report == null) {
+                    // The report page shows the progress, the snapshot can be saved once it is ready
+                    rsp.sendRedirect("report");
+                    break;
+                }
+                final File file = ReportSnapshotStorage.getInstance().save(getIndex(), report);
+                LOGGER.log(Level.INFO, "Report snapshot has been saved to {0}", file);
+                rsp.sendRedirect("snapshots");
                 break;
 
             default:
@@ -144,13 +497,15 @@ public abstract class ReportBuilder implements ExtensionPoint {
      * - Submit report 
      * - Go to Home Page (for report and for configure report pages)
      * - Download report
+     * - Save the report snapshot
      */
     private enum SubmittedOperation {
 
         Submit,
         Back,
         GoHome,
-        Download;
+        Download,
+        SaveSnapshot;
 
         /**
          * Locates the operation in the submitted form.
@@ -173,6 +528,129 @@ public abstract class ReportBuilder implements ExtensionPoint {
         }
     }
 
+    /**
+     * Gets snapshots saved for the builder.
+     *
+     * @return Snapshots, newest first
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public List<ReportSnapshot> getSnapshots() {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        return ReportSnapshotStorage.getInstance().list(getIndex());
+    }
+
+    /**
+     * Compares two snapshots of the builder.
+     * The page displays the first {@link #SNAPSHOT_DIFF_DISPLAY_LIMIT} changed rows. 
+     * With {@code format=ndjson} all changes are streamed as lines like 
+     * {@code {"row":"job","change":"changed","granted":["hudson.model.Item.Build"],"revoked":[]}}.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param from ID of the older snapshot
+     * @param to ID of the newer snapshot
+     * @param format {@code ndjson} to download all changes, the HTML page otherwise
+     * @throws IOException Snapshot read error
+     * @throws ServletException Rendering error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doSnapshotDiff(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @QueryParameter String from, @QueryParameter String to, @QueryParameter String format) 
+            throws IOException, ServletException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final ReportSnapshot fromSnapshot = getSnapshot(from);
+        final ReportSnapshot toSnapshot = getSnapshot(to);
+
+        if ("ndjson".equalsIgnoreCase(format)) {
+            rsp.setContentType(ExportFormat.NDJSON.getContentType() + ";charset=UTF-8");
+            rsp.setHeader("Content-Disposition", "attachment; filename=\"diff-" + from + "-" + to + ".ndjson\"");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    rsp.getCompressedOutputStream(req), StandardCharsets.UTF_8))) {
+                ReportSnapshotDiff.compare(fromSnapshot, toSnapshot, new ReportSnapshotDiff.JsonLinesWriter(writer));
+            }
+            return;
+        }
+
+        final ReportSnapshotDiff.Collector collector = new ReportSnapshotDiff.Collector(SNAPSHOT_DIFF_DISPLAY_LIMIT);
+        req.setAttribute("diff", ReportSnapshotDiff.compare(fromSnapshot, toSnapshot, collector));
+        req.setAttribute("changes", collector.getChanges());
+        req.getView(this, "snapshotDiff.jelly").forward(req, rsp);
+    }
+
+    @Nonnull
+    private ReportSnapshot getSnapshot(@CheckForNull String id) throws IOException {
+        if (id == null || id.isEmpty()) {
+            throw HttpResponses.error(400, "Snapshot is not specified");
+        }
+        final ReportSnapshot snapshot = ReportSnapshotStorage.getInstance().get(getIndex(), id);
+        if (snapshot == null) {
+            throw HttpResponses.error(404, "Snapshot " + id + " does not exist");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Status of the report requested in the current session.
+     */
+    @Restricted(NoExternalUse.class)
+    public static final class ReportStatus {
+
+        private final boolean ready;
+        private final int queuePosition;
+        private final long rowsEvaluated;
+
+        public ReportStatus(boolean ready, int queuePosition) {
+            this(ready, queuePosition, 0);
+        }
+
+        public ReportStatus(boolean ready, int queuePosition, long rowsEvaluated) {
+            this.ready = ready;
+            this.queuePosition = queuePosition;
+            this.rowsEvaluated = rowsEvaluated;
+        }
+
+        /**
+         * Gets the status of the report for the key.
+         *
+         * @param ready {@code true} if the report is generated
+         * @param key Report key
+         * @return Status with the queue position and the progress of the running execution
+         */
+        @Nonnull
+        public static ReportStatus of(boolean ready, @Nonnull ReportKey key) {
+            final ReportScheduler scheduler = ReportScheduler.getInstance();
+            final ReportExecution execution = scheduler.getRunningExecution(key);
+            return new ReportStatus(ready, scheduler.getQueuePosition(key),
+                    execution != null ? execution.getRowsEvaluated() : 0);
+        }
+
+        /**
+         * Checks whether the report is generated.
+         */
+        public boolean isReady() {
+            return ready;
+        }
+
+        /**
+         * Gets the position of the report in the admission queue.
+         *
+         * @return Position starting from {@code 1}. {@code 0} if the report is running or ready
+         */
+        public int getQueuePosition() {
+            return queuePosition;
+        }
+
+        /**
+         * Gets the number of rows evaluated by the running execution.
+         *
+         * @return Number of rows. {@code 0} if the report is queued or ready
+         */
+        public long getRowsEvaluated() {
+            return rowsEvaluated;
+        }
+    }
+
     public static enum Type {
 
         ITEM,
@@ -180,27 +658,642 @@ public abstract class ReportBuilder implements ExtensionPoint {
         COMPUTER
     }
     
-    private void doDownloadReport(@Nonnull StaplerResponse rsp) {
+    /**
+     * Gets export formats, which can be selected on the report page.
+     *
+     * @return Export formats
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public ExportFormat[] getExportFormats() {
+        return ExportFormat.values();
+    }
+
+    @Nonnull
+    private static ExportFormat getExportFormat(@Nonnull StaplerRequest req) throws Descriptor.FormException {
+        final String format = req.getParameter("exportFormat");
+        if (format == null) {
+            return ExportFormat.CSV;
+        }
+        try {
+            return ExportFormat.valueOf(format);
+        } catch (IllegalArgumentException ex) {
+            throw new Descriptor.FormException("Unsupported export format: " + format, ex, "exportFormat");
+        }
+    }
+    
+    /**
+     * Exports the report for the filters configured in the current session.
+     * This is a REST endpoint for tools: {@code GET .../security-inspector/<builder>/export?format=ndjson}.
+     * The output is written incrementally and compressed if the client accepts gzip.
+     * If the report is not generated yet, {@code 202 Accepted} is sent and the request should be repeated.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param format Name of the {@link ExportFormat}, case-insensitive. {@link ExportFormat#NDJSON} by default
+     * @param filter Expression over permission columns to export only matching rows. 
+     *               See {@link PermissionReport#query(java.lang.String)}
+     * @throws IOException Write error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doExport(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @QueryParameter String format, @QueryParameter String filter) throws IOException {
         
-        SecurityInspectorReport report4Download = getReport();
+        final Jenkins jenkins = JenkinsHelper.getInstanceOrFail();
+        jenkins.checkPermission(Jenkins.ADMINISTER);
+        
+        final ExportFormat exportFormat;
+        try {
+            exportFormat = format != null ? ExportFormat.valueOf(format.toUpperCase(Locale.ENGLISH)) : ExportFormat.NDJSON;
+        } catch (IllegalArgumentException ex) {
+            throw HttpResponses.error(400, "Unsupported export format: " + format);
+        }
+        
+        final UserContext context = getRequestedContext();
+        final String variant = "export:" + exportFormat.name() + ":" + filter;
+        if (isNotModified(req, rsp, context, variant)) {
+            return;
+        }
+        final SecurityInspectorReport<?, ?, ?, ?> report = getReadyReport(rsp, context);
+        if (report == null) {
+            return;
+        }
+        setETag(rsp, context, variant);
+        final BitSet rowFilter = getRowFilter(report, filter);
+        rsp.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        rsp.setHeader("Vary", "Accept-Encoding");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                rsp.getCompressedOutputStream(req), StandardCharsets.UTF_8))) {
+            write(exportFormat, report, rowFilter, writer);
+        }
+    }
+    
+    /**
+     * Sends a page of rows of the report for the filters configured in the current session.
+     * This is a REST endpoint for dashboards: {@code GET .../security-inspector/<builder>/rows?offset=5000&limit=100&sort=name}.
+     * Rows are served from the cached report, each row contains the title and the hexadecimal mask of granted columns
+     * in the order of {@code columns}.
+     * If the report is not generated yet, {@code 202 Accepted} is sent and the request should be repeated.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param offset Index of the first row, {@code 0} by default
+     * @param limit Maximum number of rows, limited by {@link #GRID_MAX_CHUNK_SIZE}
+     * @param sort Order of rows: {@code name}, {@code -name}, {@code grants} or {@code -grants}
+     * @param filter Expression over permission columns, e.g. {@code Job/Build & !Job/Read}.
+     *               See {@link PermissionReport#query(java.lang.String)}
+     * @throws IOException Write error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doRows(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @QueryParameter int offset, @QueryParameter int limit, @QueryParameter String sort, 
+            @QueryParameter String filter) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+
+        final RowOrder order;
+        try {
+            order = RowOrder.fromId(sort);
+        } catch (IllegalArgumentException ex) {
+            throw HttpResponses.error(400, ex.getMessage());
+        }
+        if (offset < 0 || limit < 0) {
+            throw HttpResponses.error(400, "Offset and limit must be non-negative");
+        }
+        final int pageSize = limit == 0 ? GRID_MAX_CHUNK_SIZE : Math.min(limit, GRID_MAX_CHUNK_SIZE);
+
+        final UserContext context = getRequestedContext();
+        final String variant = "rows:" + offset + ":" + pageSize + ":" + order.getId() + ":" + filter;
+        if (isNotModified(req, rsp, context, variant)) {
+            return;
+        }
+        final SecurityInspectorReport<?, ?, ?, ?> report = getReadyReport(rsp, context);
+        if (report == null) {
+            return;
+        }
+        setETag(rsp, context, variant);
+        final BitSet rowFilter = getRowFilter(report, filter);
+        try (Writer writer = openGridResponse(req, rsp)) {
+            writeRows(new JsonStreamWriter(writer), report, offset, pageSize, order, rowFilter);
+        }
+    }
+
+    private static <TRow> void writeRows(@Nonnull JsonStreamWriter json, 
+            @Nonnull SecurityInspectorReport<TRow, ?, ?, ?> report, int offset, int limit, @Nonnull RowOrder order,
+            @CheckForNull BitSet rowFilter) throws IOException {
+        final String[] columnIds = ExportFormat.getColumnIds(report);
+        json.beginObject();
+        json.name("target").value(report.getReportTargetName());
+        json.name("total").value(rowFilter != null ? rowFilter.cardinality() : report.getRows().size());
+        json.name("offset").value(offset);
+        json.name("sort").value(order.getId());
+        json.name("columns").beginArray();
+        for (String columnId : columnIds) {
+            json.value(columnId);
+        }
+        json.endArray();
+        json.name("rows").beginArray();
+        for (TRow row : report.getRowRange(offset, limit, order, rowFilter)) {
+            json.beginObject();
+            json.name("row").value(report.getRowTitle(row));
+            json.name("mask").value(ExportFormat.toHexMask(report.getGrantedColumns(row), columnIds.length));
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    /**
+     * Serves the report page.
+     * If the report is cached, the page gets an entity tag, so browsers and scripts can revalidate it
+     * with {@code If-None-Match}. Matching requests get {@code 304 Not Modified} without generating the report.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @throws IOException Write error
+     * @throws ServletException Rendering error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doReport(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp) throws IOException, ServletException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final UserContext context = getRequestedContext();
+        final String variant = "page:" + req.getLocale() + ":" + req.getParameter("view") + ":" + req.getParameter("filter");
+        if (isNotModified(req, rsp, context, variant)) {
+            return;
+        }
+        final String fingerprint = SecurityConfigurationVersion.getInstance().getFingerprint();
+        final ReportKey key = new ReportKey(getIndex(), context);
+        if (ReportCache.getInstance().getCached(key, fingerprint) != null) {
+            // Only complete pages get the tag, waiting and progressive pages must be reloaded
+            setETag(rsp, key.getETag(fingerprint, variant));
+        }
+        req.getView(this, "report.jelly").forward(req, rsp);
+    }
+
+    /**
+     * Gets the report for REST endpoints without blocking the request thread.
+     * If the report is not ready, its computation is queued and {@code 202 Accepted} is sent.
+     * Clients should repeat the request, every request renews the lease like the polling of the report page.
+     *
+     * @param rsp Response
+     * @param context Report context
+     * @return Generated report. {@code null} if the response has been sent
+     */
+    @CheckForNull
+    private SecurityInspectorReport<?, ?, ?, ?> getReadyReport(@Nonnull StaplerResponse rsp, 
+            @Nonnull UserContext context) {
+        final SecurityInspectorReport<?, ?, ?, ?> report = prepareReport(context);
+        if (report == null) {
+            rsp.setStatus(HttpServletResponse.SC_ACCEPTED);
+            rsp.setHeader("Retry-After", "1");
+        }
+        return report;
+    }
+
+    /**
+     * Gets the report if it is ready, otherwise queues its computation.
+     * The call renews the lease of the session like {@link #getReadyReport(org.kohsuke.stapler.StaplerResponse, org.jenkinsci.plugins.securityinspector.UserContext)}.
+     *
+     * @param context Report context
+     * @return Generated report. {@code null} if it is being computed
+     */
+    @CheckForNull
+    private SecurityInspectorReport<?, ?, ?, ?> prepareReport(@Nonnull final UserContext context) {
+        if (legacy) {
+            return getReport();
+        }
+        final ReportKey key = new ReportKey(getIndex(), context);
+        final String fingerprint = SecurityConfigurationVersion.getInstance().getFingerprint();
+        final ReportCache cache = ReportCache.getInstance();
+        if (cache.prepare(key, fingerprint, getSessionId(), new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                return createReport(context, null);
+            }
+        })) {
+            final SecurityInspectorReport<?, ?, ?, ?> report = cache.getCached(key, fingerprint);
+            if (report != null) {
+                return report;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the {@code If-None-Match} header of the request against the entity tag of the report representation.
+     * The check does not generate the report, so it costs a single hash computation.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param context Report context
+     * @param variant Representation of the report
+     * @return {@code true} if {@code 304 Not Modified} has been sent
+     */
+    private boolean isNotModified(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @Nonnull UserContext context, @Nonnull String variant) {
+        final String etag = new ReportKey(getIndex(), context).getETag(
+                SecurityConfigurationVersion.getInstance().getFingerprint(), variant);
+        final String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && matchesETag(ifNoneMatch, etag)) {
+            rsp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            setETag(rsp, etag);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the entity tag of the representation, which is about to be sent.
+     * The tag is not sent with {@code 202 Accepted}, so clients cannot revalidate a report they have not received.
+     */
+    private void setETag(@Nonnull StaplerResponse rsp, @Nonnull UserContext context, @Nonnull String variant) {
+        setETag(rsp, new ReportKey(getIndex(), context).getETag(
+                SecurityConfigurationVersion.getInstance().getFingerprint(), variant));
+    }
+
+    private static void setETag(@Nonnull StaplerResponse rsp, @Nonnull String etag) {
+        rsp.setHeader("ETag", etag);
+        // Clients must revalidate the report, because the configuration may change at any moment
+        rsp.setHeader("Cache-Control", "private, no-cache");
+    }
+
+    /**
+     * Compares tags using the weak comparison.
+     *
+     * @param ifNoneMatch Value of the {@code If-None-Match} header
+     * @param etag Current entity tag
+     * @return {@code true} if the header contains the tag or {@code *}
+     */
+    /*package*/ static boolean matchesETag(@Nonnull String ifNoneMatch, @Nonnull String etag) {
+        final String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <TRow> void write(@Nonnull ExportFormat format, @Nonnull SecurityInspectorReport<TRow, ?, ?, ?> report, 
+            @CheckForNull BitSet rowFilter, @Nonnull Writer writer) throws IOException {
+        if (rowFilter != null) {
+            format.write(report, report.getRowsAt(rowFilter), writer);
+        } else {
+            format.write(report, writer);
+        }
+    }
+
+    /**
+     * Checks whether the report can be displayed in the client-side grid.
+     * The grid loads data from {@link #doGridLayout(org.kohsuke.stapler.StaplerRequest, org.kohsuke.stapler.StaplerResponse)}
+     * and {@link #doGridRows(org.kohsuke.stapler.StaplerRequest, org.kohsuke.stapler.StaplerResponse, int, int, java.lang.String)},
+     * so it is supported only for reports, which are available via {@link #getReport()}.
+     *
+     * @return {@code true} if the grid can be used
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean isGridViewSupported() {
+        return true;
+    }
+
+    /**
+     * Checks whether rows of the generated report can be filtered by permission expressions.
+     * The check never generates the report, it inspects the cached one.
+     * Reports of legacy builders are not cached, so they cannot be filtered.
+     *
+     * @return {@code true} if the cached report is a {@link PermissionReport}
+     * @throws HttpResponses.HttpResponseException The context is missing
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean isFilterSupported() throws HttpResponses.HttpResponseException {
+        if (legacy || !isGridViewSupported()) {
+            return false;
+        }
+        final ReportKey key = new ReportKey(getIndex(), getRequestedContext());
+        return ReportCache.getInstance().getCached(key, SecurityConfigurationVersion.getInstance().getFingerprint()) 
+                instanceof PermissionReport;
+    }
+
+    /**
+     * Checks whether the report should be displayed in the client-side grid.
+     * The {@code view} request parameter selects the mode explicitly,
+     * otherwise the grid is used for reports with more than {@link #GRID_ROW_THRESHOLD} rows.
+     *
+     * @param req Request
+     * @param report Report to be displayed
+     * @return {@code true} if the grid should be used instead of the HTML table
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean isGridView(@Nonnull StaplerRequest req, @Nonnull SecurityInspectorReport report) {
+        if (!isGridViewSupported()) {
+            return false;
+        }
+        final String view = req.getParameter("view");
+        if ("grid".equals(view)) {
+            return true;
+        }
+        if ("table".equals(view)) {
+            return false;
+        }
+        return report.getRows().size() > GRID_ROW_THRESHOLD;
+    }
+
+    /**
+     * Sends the column layout of the client-side grid.
+     * If the report is not generated yet, {@code 202 Accepted} is sent and the request should be repeated.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @throws IOException Write error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doGridLayout(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @QueryParameter String filter) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final UserContext context = getRequestedContext();
+        if (isNotModified(req, rsp, context, "gridLayout:" + filter)) {
+            return;
+        }
+        final SecurityInspectorReport<?, ?, ?, ?> report = getReadyReport(rsp, context);
+        if (report == null) {
+            return;
+        }
+        final BitSet rowFilter = getRowFilter(report, filter);
+        try (Writer writer = openGridResponse(req, rsp)) {
+            report.getTableRenderer().writeGridLayout(new JsonStreamWriter(writer), 
+                    rowFilter != null ? rowFilter.cardinality() : report.getTableRenderer().getDisplayedRowGroups().size());
+        }
+    }
+
+    /**
+     * Sends a chunk of rows for the client-side grid.
+     * If the report is not generated yet, {@code 202 Accepted} is sent and the request should be repeated.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param offset Index of the first row
+     * @param limit Maximum number of rows, limited by {@link #GRID_MAX_CHUNK_SIZE}
+     * @param filter Expression over permission columns, see {@link PermissionReport#query(java.lang.String)}
+     * @throws IOException Write error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doGridRows(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @QueryParameter int offset, @QueryParameter int limit, @QueryParameter String filter) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        if (offset < 0 || limit <= 0) {
+            throw HttpResponses.error(400, "Offset must be non-negative and limit must be positive");
+        }
+        final UserContext context = getRequestedContext();
+        if (isNotModified(req, rsp, context, "gridRows:" + offset + ":" + limit + ":" + filter)) {
+            return;
+        }
+        final SecurityInspectorReport<?, ?, ?, ?> report = getReadyReport(rsp, context);
+        if (report == null) {
+            return;
+        }
+        final BitSet rowFilter = getRowFilter(report, filter);
+        try (Writer writer = openGridResponse(req, rsp)) {
+            writeGridRows(new JsonStreamWriter(writer), report, rowFilter, offset, Math.min(limit, GRID_MAX_CHUNK_SIZE));
+        }
+    }
+
+    private static <TRow> void writeGridRows(@Nonnull JsonStreamWriter json, 
+            @Nonnull SecurityInspectorReport<TRow, ?, ?, ?> report, @CheckForNull BitSet rowFilter, 
+            int offset, int limit) throws IOException {
+        report.getTableRenderer().writeGridRows(json, getDisplayedRowGroups(report, rowFilter), offset, limit);
+    }
+
+    /**
+     * Renders the report table for the report page.
+     * If the {@code filter} request parameter is specified, only matching rows are rendered.
+     *
+     * @param req Request
+     * @param report Report to be rendered
+     * @return HTML markup of the table content
+     * @throws HttpResponses.HttpResponseException Invalid filter
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public String renderTable(@Nonnull StaplerRequest req, @Nonnull SecurityInspectorReport<?, ?, ?, ?> report) 
+            throws HttpResponses.HttpResponseException {
+        return renderTable(report, getRowFilter(report, req.getParameter("filter")));
+    }
+
+    @Nonnull
+    private static <TRow> String renderTable(@Nonnull SecurityInspectorReport<TRow, ?, ?, ?> report, 
+            @CheckForNull BitSet rowFilter) {
+        return report.getTableRenderer().render(getDisplayedRowGroups(report, rowFilter));
+    }
+
+    @Nonnull
+    private static <TRow> List<SecurityInspectorReport.RowGroup<TRow>> getDisplayedRowGroups(
+            @Nonnull SecurityInspectorReport<TRow, ?, ?, ?> report, @CheckForNull BitSet rowFilter) {
+        // Matching rows are not grouped
+        return rowFilter != null ? SecurityInspectorReport.toRowGroups(report.getRowsAt(rowFilter)) 
+                : report.getTableRenderer().getDisplayedRowGroups();
+    }
+
+    /**
+     * Evaluates the filter over permission columns of the report.
+     *
+     * @param report Report
+     * @param filter Expression, see {@link PermissionReport#query(java.lang.String)}. {@code null} or empty if not filtered
+     * @return Positions of matching rows. {@code null} if the filter is not specified
+     * @throws HttpResponses.HttpResponseException Invalid filter or the report does not support filters
+     */
+    @CheckForNull
+    /*package*/ static BitSet getRowFilter(@Nonnull SecurityInspectorReport<?, ?, ?, ?> report, @CheckForNull String filter) 
+            throws HttpResponses.HttpResponseException {
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        if (!(report instanceof PermissionReport)) {
+            throw HttpResponses.error(400, "The report does not support filters");
+        }
+        try {
+            return ((PermissionReport<?, ?>) report).queryPositions(filter);
+        } catch (IllegalArgumentException ex) {
+            throw HttpResponses.error(400, "Invalid filter: " + ex.getMessage());
+        }
+    }
+
+    @Nonnull
+    private static Writer openGridResponse(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp) throws IOException {
+        rsp.setContentType("application/json;charset=UTF-8");
+        rsp.setHeader("Vary", "Accept-Encoding");
+        return new BufferedWriter(new OutputStreamWriter(rsp.getCompressedOutputStream(req), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks whether the report page should stream rows while the report is being computed.
+     * The progressive rendering is used only if the report is neither cached nor already being computed,
+     * and the report is small enough for the HTML table.
+     *
+     * @return {@code true} if the report page should load rows from {@link #doStreamReport(org.kohsuke.stapler.StaplerRequest, org.kohsuke.stapler.StaplerResponse)}
+     * @throws HttpResponses.HttpResponseException The context is missing
+     */
+    @Restricted(NoExternalUse.class)
+    public boolean isProgressiveRendering() throws HttpResponses.HttpResponseException {
+        if (!PROGRESSIVE_RENDERING || legacy || !isGridViewSupported()) {
+            return false;
+        }
+        final UserContext context = getRequestedContext();
+        final ReportKey key = new ReportKey(getIndex(), context);
+        final ReportCache cache = ReportCache.getInstance();
+        if (cache.isInFlight(key) || cache.getCached(key, SecurityConfigurationVersion.getInstance().getFingerprint()) != null) {
+            return false;
+        }
+        return getEstimatedRowCount(context) <= GRID_ROW_THRESHOLD;
+    }
+
+    /**
+     * Generates the report and streams table rows as soon as they are computed.
+     * The response is not buffered, so the client receives rows in chunks via HTTP chunked encoding.
+     * Rows are not grouped while streaming.
+     * The generated report is stored in {@link ReportCache}, so the report page can be reloaded without recomputation.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @throws IOException Write error
+     */
+    @Restricted(NoExternalUse.class)
+    public void doStreamReport(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final UserContext context = getRequestedContext();
+        final String fingerprint = SecurityConfigurationVersion.getInstance().getFingerprint();
+
+        rsp.setContentType("text/html;charset=UTF-8");
+        rsp.setHeader("Cache-Control", "no-cache");
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(rsp.getOutputStream(), StandardCharsets.UTF_8));
+        final SecurityInspectorReport report;
+        try {
+            report = generateReport(context, new HtmlStreamingListener(writer));
+        } catch (UncheckedIOException ex) {
+            // Most likely the client has disconnected, the generation has been aborted
+            LOGGER.log(Level.FINE, "Failed to stream the report " + getIndex() + " to the client", ex.getCause());
+            return;
+        }
+        ReportCache.getInstance().put(new ReportKey(getIndex(), context), fingerprint, report);
+        writer.flush();
+    }
+
+    /**
+     * Writes HTML rows as soon as they are added to the report.
+     * The stream is flushed in chunks to avoid sending a chunk per row.
+     */
+    private static class HtmlStreamingListener extends ReportListener<Object> {
+
+        @Nonnull
+        private final Writer out;
+        @CheckForNull
+        private ReportTableRenderer renderer;
+        private int unflushedRows;
+        private long lastFlush;
+
+        HtmlStreamingListener(@Nonnull Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void onStarted(SecurityInspectorReport<?, ?, ?, ?> report) {
+            renderer = report.getTableRenderer();
+            try {
+                out.write(renderer.getHeader());
+                flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onRow(SecurityInspectorReport<?, ?, ?, ?> report, Object row) {
+            try {
+                renderer.writeRow(out, row);
+                if (++unflushedRows >= STREAM_FLUSH_ROWS 
+                        || System.currentTimeMillis() - lastFlush >= STREAM_FLUSH_PERIOD) {
+                    flush();
+                }
+            } catch (IOException ex) {
+                // Abort the report generation, the output is not available anymore
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void onCompleted(SecurityInspectorReport<?, ?, ?, ?> report) {
+            try {
+                flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void flush() throws IOException {
+            out.flush();
+            unflushedRows = 0;
+            lastFlush = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Writes the report to the response.
+     * The output is compressed on the fly: either explicitly as a {@code .gz} file
+     * or transparently with {@code Content-Encoding: gzip} if the client accepts it.
+     *
+     * @param req Request
+     * @param rsp Response
+     * @param format Export format
+     * @param gzipFile If {@code true}, the report is downloaded as a gzip archive
+     */
+    protected void doDownloadReport(@Nonnull StaplerRequest req, @Nonnull StaplerResponse rsp, 
+            @Nonnull ExportFormat format, boolean gzipFile) {
+        
+        SecurityInspectorReport<?, ?, ?, ?> report4Download = getReport();
+        // The filter is validated before the response is committed
+        final BitSet rowFilter = getRowFilter(report4Download, req.getParameter("filter"));
         
-        rsp.setCharacterEncoding("UTF_8");
-        rsp.setContentType("text/csv;charset=UTF-8");
         SimpleDateFormat f = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         f.setTimeZone(TimeZone.getTimeZone("UTC"));
-        rsp.setHeader("Content-Disposition", "attachment; "
-                + "filename=\"report-for-"
-                +report4Download.getReportTargetName()
-                +"-" + f.format(new Date()) + ".csv\"");
+        final String fileName = "report-for-" + report4Download.getReportTargetName()
+                + "-" + f.format(new Date()) + "." + format.getFileExtension();
         
-        try (OutputStream outputStream = rsp.getOutputStream()) {
-            String report = report4Download.getReportInCSV();
-            outputStream.write(report.getBytes(StandardCharsets.UTF_8));
-            outputStream.close();
-            outputStream.flush();
-        } catch (Exception e) {
-            System.out.println(e.toString());
+        if (gzipFile) {
+            rsp.setContentType("application/gzip");
+            rsp.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + ".gz\"");
+        } else {
+            rsp.setCharacterEncoding("UTF_8");
+            rsp.setContentType(format.getContentType() + ";charset=UTF-8");
+            rsp.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+            rsp.setHeader("Vary", "Accept-Encoding");
         }
         
+        try (OutputStream outputStream = gzipFile 
+                    ? new GZIPOutputStream(rsp.getOutputStream(), GZIP_BUFFER_SIZE) 
+                    : rsp.getCompressedOutputStream(req);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            write(format, report4Download, rowFilter, writer);
+        } catch (IOException ex) {
+            // Most likely the client has disconnected, the response cannot be used anymore
+            LOGGER.log(Level.FINE, "Failed to send the report " + getIndex() + " to the client", ex);
+        }
+    }
+
+    /**
+     * Stops waiting for the report requested in the current session.
+     * The generation is cancelled only if no other clients wait for the same report.
+     *
+     * @return Redirect to the Security Inspector page
+     */
+    @RequirePOST
+    @Restricted(NoExternalUse.class)
+    public HttpResponse doCancelReport() {
+        final Jenkins jenkins = JenkinsHelper.getInstanceOrFail();
+        jenkins.checkPermission(Jenkins.ADMINISTER);
+
+        final boolean cancelled = ReportCache.getInstance().cancel(new ReportKey(getIndex(), getRequestedContext()), 
+                getSessionId());
+        LOGGER.log(Level.FINE, "Detached from the report {0}, cancelled: {1}", new Object[] {getIndex(), cancelled});
+        return HttpResponses.redirectTo(jenkins.getRootUrl() + "security-inspector");
     }
 }
@@ -0,0 +1,459 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.SecurityConfigurationVersion;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponses;
+
+/**
+ * Coalesces concurrent computations of identical reports and caches the results.
+ * While a report is being computed for a {@link ReportKey}, other callers requesting the same key
+ * wait for the running computation and share its result instead of starting their own.
+ * Completed reports are reused while the {@link SecurityConfigurationVersion} fingerprint stays the same.
+ * Batches of reports, e.g. sections of a multi-user report, are computed and cached as a single {@link ReportBatch}.
+ */
+@Restricted(NoExternalUse.class)
+public class ReportCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportCache.class.getName());
+
+    /**
+     * Maximum number of completed reports to be kept in the cache.
+     */
+    static final int MAX_CACHED_REPORTS = Integer.getInteger(ReportCache.class.getName() + ".maxCachedReports", 8);
+
+    /**
+     * Period of the lease renewal by the threads waiting for the report, in milliseconds.
+     */
+    private static final long LEASE_RENEWAL_PERIOD = 1000;
+
+    private static final ReportCache INSTANCE = new ReportCache();
+
+    @Nonnull
+    private final ReportScheduler scheduler;
+
+    private final ConcurrentMap<ReportKey, ReportTask<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<ReportKey, CachedResult> completed = new LinkedHashMap<ReportKey, CachedResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ReportKey, CachedResult> eldest) {
+            return size() > MAX_CACHED_REPORTS;
+        }
+    };
+
+    @Nonnull
+    public static ReportCache getInstance() {
+        return INSTANCE;
+    }
+
+    /*package*/ ReportCache() {
+        this(ReportScheduler.getInstance());
+    }
+
+    /*package*/ ReportCache(@Nonnull ReportScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Gets the report for the key using the current security configuration fingerprint.
+     *
+     * @param key Report key
+     * @param computation Computation to be invoked if there is no valid result for the key
+     * @return Generated report
+     * @throws HttpResponses.HttpResponseException The computation has failed or the thread was interrupted
+     * @see #get(org.jenkinsci.plugins.securityinspector.model.ReportKey, java.lang.String, java.util.concurrent.Callable)
+     */
+    @Nonnull
+    public SecurityInspectorReport get(@Nonnull ReportKey key, @Nonnull Callable<SecurityInspectorReport> computation)
+            throws HttpResponses.HttpResponseException {
+        return get(key, SecurityConfigurationVersion.getInstance().getFingerprint(), computation);
+    }
+
+    /**
+     * Gets the report for the key.
+     * A cached report is returned if it has been generated for the same security configuration fingerprint.
+     * Otherwise the computation is submitted to {@link ReportScheduler} unless an identical computation
+     * is already in progress, and the calling thread waits for the result.
+     *
+     * @param key Report key
+     * @param fingerprint Fingerprint of the security configuration the report is requested for
+     * @param computation Computation to be invoked if there is no valid result for the key
+     * @return Generated report
+     * @throws HttpResponses.HttpResponseException The computation has failed or the thread was interrupted
+     */
+    @Nonnull
+    public SecurityInspectorReport get(@Nonnull ReportKey key, @Nonnull String fingerprint,
+            @Nonnull Callable<SecurityInspectorReport> computation)
+            throws HttpResponses.HttpResponseException {
+        final SecurityInspectorReport cached = getCached(key, fingerprint);
+        if (cached != null) {
+            LOGGER.log(Level.FINE, "Using the cached report for {0}", key);
+            ReportMetrics.getInstance().recordCacheHit();
+            ReportEvents.cacheLookup(key, "hit");
+            return cached;
+        }
+        return join(key, submit(key, fingerprint, computation));
+    }
+
+    /**
+     * Starts the computation of the report if there is no valid result and no in-flight computation for the key.
+     * The method does not wait for the result, so it can be used to queue reports from the UI.
+     * Each call renews the lease of the in-flight computation, so the UI has to poll the method
+     * till the report is ready. Otherwise the computation gets cancelled as abandoned.
+     * Polling is the only way to renew the lease, threads waiting for the result do not keep the computation alive.
+     *
+     * @param key Report key
+     * @param fingerprint Fingerprint of the security configuration the report is requested for
+     * @param waiter Identifier of the polling client, e.g. the session ID. 
+     *               See {@link #cancel(org.jenkinsci.plugins.securityinspector.model.ReportKey, java.lang.Object)}
+     * @param computation Computation to be invoked if there is no valid result for the key
+     * @return {@code true} if the cached report is available
+     */
+    public boolean prepare(@Nonnull ReportKey key, @Nonnull String fingerprint, @Nonnull Object waiter,
+            @Nonnull Callable<SecurityInspectorReport> computation) {
+        if (getCached(key, fingerprint) != null) {
+            return true;
+        }
+        submit(key, fingerprint, computation).poll(waiter);
+        return false;
+    }
+
+    /**
+     * Starts the computation of the batch if there is no valid result and no in-flight computation for the key.
+     * All reports of the batch are computed in a single scheduled execution.
+     * Like {@link #prepare(org.jenkinsci.plugins.securityinspector.model.ReportKey, java.lang.String, java.lang.Object, java.util.concurrent.Callable)},
+     * each call renews the lease of the in-flight computation.
+     *
+     * @param key Batch key
+     * @param fingerprint Fingerprint of the security configuration the batch is requested for
+     * @param waiter Identifier of the polling client, e.g. the session ID
+     * @param computation Computation to be invoked if there is no valid result for the key
+     * @return {@code true} if the cached batch is available
+     */
+    public boolean prepareBatch(@Nonnull ReportKey key, @Nonnull String fingerprint, @Nonnull Object waiter,
+            @Nonnull Callable<ReportBatch> computation) {
+        if (getCachedBatch(key, fingerprint) != null) {
+            return true;
+        }
+        submit(key, fingerprint, computation).poll(waiter);
+        return false;
+    }
+
+    /**
+     * Gets the batch for the key, the calling thread waits till the batch is computed.
+     *
+     * @param key Batch key
+     * @param fingerprint Fingerprint of the security configuration the batch is requested for
+     * @param computation Computation to be invoked if there is no valid result for the key
+     * @return Computed batch
+     * @throws HttpResponses.HttpResponseException The computation has failed or the thread was interrupted
+     */
+    @Nonnull
+    public ReportBatch getBatch(@Nonnull ReportKey key, @Nonnull String fingerprint,
+            @Nonnull Callable<ReportBatch> computation) throws HttpResponses.HttpResponseException {
+        final ReportBatch cached = getCachedBatch(key, fingerprint);
+        if (cached != null) {
+            ReportMetrics.getInstance().recordCacheHit();
+            return cached;
+        }
+        return join(key, submit(key, fingerprint, computation));
+    }
+
+    /**
+     * Detaches the client from the in-flight computation.
+     * The computation is cancelled only if no other clients wait for it,
+     * so a client cannot cancel a coalesced report for others.
+     *
+     * @param key Report key
+     * @param waiter Identifier of the client passed to 
+     *               {@link #prepare(org.jenkinsci.plugins.securityinspector.model.ReportKey, java.lang.String, java.lang.Object, java.util.concurrent.Callable)}
+     * @return {@code true} if the computation has been cancelled
+     */
+    public boolean cancel(@Nonnull ReportKey key, @Nonnull Object waiter) {
+        final ReportTask<?> task = inFlight.get(key);
+        if (task == null || task.detach(waiter)) {
+            return false;
+        }
+        LOGGER.log(Level.FINE, "Cancelling the abandoned computation of {0}", key);
+        task.execution.cancel();
+        return true;
+    }
+
+    /**
+     * Waits for the in-flight computation.
+     * The thread is registered as a waiter, so other clients cannot cancel the computation meanwhile.
+     * The lease is renewed while the thread is blocked, a request thread learns about the client disconnect
+     * when it writes the response.
+     */
+    @Nonnull
+    private <T> T join(@Nonnull ReportKey key, @Nonnull ReportTask<T> task) throws HttpResponses.HttpResponseException {
+        final Object waiter = new Object();
+        task.attach(waiter, Long.MAX_VALUE);
+        try {
+            return await(key, task, task.execution, true);
+        } finally {
+            task.detach(waiter);
+        }
+    }
+
+    /**
+     * Submits the computation unless there is an in-flight one for the key.
+     * A key is always used with a single result type, because batch keys contain the selection of users.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private <T> ReportTask<T> submit(@Nonnull ReportKey key, @Nonnull String fingerprint,
+            @Nonnull Callable<T> computation) {
+        final ReportTask<T> task = new ReportTask<>(key, fingerprint, computation);
+        final ReportTask<T> running = (ReportTask<T>) inFlight.putIfAbsent(key, task);
+        if (running != null) {
+            LOGGER.log(Level.FINE, "Joining the in-flight computation of {0}", key);
+            ReportMetrics.getInstance().recordCacheHit();
+            ReportEvents.cacheLookup(key, "joined");
+            return running;
+        }
+        ReportMetrics.getInstance().recordCacheMiss();
+        ReportEvents.cacheLookup(key, "miss");
+        scheduler.schedule(task.execution);
+        return task;
+    }
+
+    /**
+     * Gets a completed report from the cache.
+     *
+     * @param key Report key
+     * @param fingerprint Expected fingerprint of the security configuration
+     * @return Cached report. {@code null} if it is missing or outdated
+     */
+    @CheckForNull
+    public SecurityInspectorReport getCached(@Nonnull ReportKey key, @Nonnull String fingerprint) {
+        return getCached(key, fingerprint, SecurityInspectorReport.class);
+    }
+
+    /**
+     * Gets a completed batch from the cache.
+     *
+     * @param key Batch key
+     * @param fingerprint Expected fingerprint of the security configuration
+     * @return Cached batch. {@code null} if it is missing or outdated
+     */
+    @CheckForNull
+    public ReportBatch getCachedBatch(@Nonnull ReportKey key, @Nonnull String fingerprint) {
+        return getCached(key, fingerprint, ReportBatch.class);
+    }
+
+    @CheckForNull
+    private <T> T getCached(@Nonnull ReportKey key, @Nonnull String fingerprint, @Nonnull Class<T> type) {
+        synchronized (completed) {
+            final CachedResult cached = completed.get(key);
+            if (cached == null || !type.isInstance(cached.result)) {
+                return null;
+            }
+            if (!cached.fingerprint.equals(fingerprint)) {
+                completed.remove(key);
+                return null;
+            }
+            return type.cast(cached.result);
+        }
+    }
+
+    /**
+     * Stores the report generated outside the cache, e.g. while streaming it to the client.
+     *
+     * @param key Report key
+     * @param fingerprint Fingerprint of the security configuration the report has been generated for
+     * @param report Generated report
+     */
+    /*package*/ void put(@Nonnull ReportKey key, @Nonnull String fingerprint, @Nonnull SecurityInspectorReport report) {
+        synchronized (completed) {
+            completed.put(key, new CachedResult(report, fingerprint));
+        }
+    }
+
+    /**
+     * Removes all completed reports from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (completed) {
+            completed.clear();
+        }
+    }
+
+    /**
+     * Checks whether the report is being computed right now.
+     *
+     * @param key Report key
+     * @return {@code true} if there is an in-flight computation for the key
+     */
+    public boolean isInFlight(@Nonnull ReportKey key) {
+        return inFlight.containsKey(key);
+    }
+
+    /**
+     * Computation, which stores its result in the cache once completed.
+     */
+    private final class ReportTask<T> extends FutureTask<T> {
+
+        @Nonnull
+        private final ReportKey key;
+        @Nonnull
+        private final String fingerprint;
+        @Nonnull
+        private final ReportExecution execution;
+        /**
+         * Clients waiting for the result with the expiration time of their registration.
+         */
+        private final Map<Object, Long> waiters = new HashMap<>(); // guarded by this
+
+        ReportTask(@Nonnull ReportKey key, @Nonnull String fingerprint, @Nonnull Callable<T> computation) {
+            super(computation);
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.execution = scheduler.createExecution(key, this);
+        }
+
+        @Override
+        protected void set(T result) {
+            synchronized (completed) {
+                completed.put(key, new CachedResult(result, fingerprint));
+            }
+            // Remove the task before releasing the waiters, so that they never observe a completed in-flight task
+            inFlight.remove(key, this);
+            super.set(result);
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            inFlight.remove(key, this);
+            super.setException(t);
+        }
+
+        @Override
+        protected void done() {
+            inFlight.remove(key, this);
+        }
+
+        /**
+         * Registers the poll of the client and renews the lease.
+         */
+        void poll(@Nonnull Object waiter) {
+            attach(waiter, System.currentTimeMillis() + scheduler.getLeaseTimeout());
+            execution.renewLease();
+        }
+
+        synchronized void attach(@Nonnull Object waiter, long expiresAt) {
+            waiters.put(waiter, expiresAt);
+        }
+
+        /**
+         * Removes the waiter.
+         *
+         * @return {@code true} if other clients still wait for the result
+         */
+        synchronized boolean detach(@Nonnull Object waiter) {
+            waiters.remove(waiter);
+            final long now = System.currentTimeMillis();
+            final Iterator<Long> expirations = waiters.values().iterator();
+            while (expirations.hasNext()) {
+                if (expirations.next() < now) {
+                    expirations.remove();
+                }
+            }
+            return !waiters.isEmpty();
+        }
+    }
+
+    private static final class CachedResult {
+
+        @Nonnull
+        private final Object result;
+        @Nonnull
+        private final String fingerprint;
+
+        CachedResult(@Nonnull Object result, @Nonnull String fingerprint) {
+            this.result = result;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Waits for the report.
+     * If requested, the lease of the execution is renewed while waiting. 
+     * It should be done only by threads, which block on behalf of a connected client.
+     * If the waiting thread gets interrupted, the lease is not renewed anymore,
+     * so the execution is cancelled unless other clients are waiting for it.
+     */
+    @Nonnull
+    /*package*/ static <T> T await(@Nonnull ReportKey key, @Nonnull Future<T> task,
+            @Nonnull ReportExecution execution, boolean renewLease) throws HttpResponses.HttpResponseException {
+        try {
+            while (true) {
+                try {
+                    return task.get(Math.min(LEASE_RENEWAL_PERIOD, execution.getLeaseTimeout() / 3), 
+                            TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ex) {
+                    if (renewLease) {
+                        execution.renewLease();
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw HttpResponses.error(503, "Interrupted while waiting for the report " + key);
+        } catch (CancellationException ex) {
+            throw HttpResponses.error(503, "The report " + key + " has been cancelled");
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof CancellationException) {
+                throw HttpResponses.error(503, "The report " + key + " has been cancelled");
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw HttpResponses.error(500, cause);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Receiver of the report lifecycle events.
+ * The Flight Recorder implementation is compiled separately from the Java 8 sources,
+ * so {@link ReportEvents} accesses it only via this interface.
+ */
+/*package*/ interface ReportEventSink {
+
+    @Nonnull
+    Object beginReport();
+
+    void commitReport(@Nonnull Object handle, @CheckForNull String builder, @Nonnull String reportClass,
+            @Nonnull String target, long rows, long columns);
+
+    @Nonnull
+    Object beginFilter();
+
+    void commitFilter(@Nonnull Object handle, @Nonnull String builder, long estimatedRows);
+
+    @Nonnull
+    Object beginBatch();
+
+    void commitBatch(@Nonnull Object handle, @CheckForNull String builder, @Nonnull String target,
+            long firstRow, long rows, long cells, long impersonationNanos);
+
+    void cacheLookup(@Nonnull String builder, @Nonnull String item, @Nonnull String result);
+
+    @Nonnull
+    Object beginImpersonation();
+
+    void commitImpersonation(@Nonnull Object handle, @Nonnull String userId);
+
+    @Nonnull
+    Object beginExport();
+
+    void commitExport(@Nonnull Object handle, @Nonnull String target, @Nonnull String format, long rows);
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Emits Java Flight Recorder events for the report lifecycle.
+ * The events can be analyzed in JDK Mission Control together with GC, lock and I/O events
+ * recorded at the same time.
+ * <p>
+ * The class does not reference the JFR API directly, so it can be safely used on JVMs without JFR.
+ * Event classes are compiled only by JDKs providing {@code jdk.jfr} (the {@code jfr} Maven profile),
+ * they are loaded reflectively if both the classes and the JFR runtime are available.
+ * {@code begin*()} methods return an opaque event handle which should be passed to the matching
+ * {@code commit*()} method. The handle is {@code null} if JFR is not available,
+ * and then the commit call does nothing.
+ * Events can be disabled by the {@code org.jenkinsci.plugins.securityinspector.model.ReportEvents.disabled}
+ * system property.
+ *
+ * @see ReportTimings
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportEvents {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportEvents.class.getName());
+
+    /**
+     * Number of rows in a single evaluation batch event.
+     */
+    public static final int BATCH_SIZE = Integer.getInteger(ReportEvents.class.getName() + ".batchSize", 100);
+
+    /**
+     * Name of the Flight Recorder implementation, which is not a part of the Java 8 sources.
+     */
+    private static final String FLIGHT_RECORDER_EVENTS = ReportEvents.class.getPackage().getName() + ".FlightRecorderEvents";
+
+    @CheckForNull
+    private static final ReportEventSink SINK = Boolean.getBoolean(ReportEvents.class.getName() + ".disabled")
+            ? null : loadFlightRecorderEvents();
+
+    private static final boolean ENABLED = SINK != null;
+
+    private ReportEvents() {
+        // Static methods only
+    }
+
+    @CheckForNull
+    private static ReportEventSink loadFlightRecorderEvents() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return Class.forName(FLIGHT_RECORDER_EVENTS).asSubclass(ReportEventSink.class).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            LOGGER.log(Level.FINE, "Java Flight Recorder is not available, report events will not be emitted", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether the events are emitted.
+     *
+     * @return {@code true} if JFR is available and the events are not disabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @CheckForNull
+    public static Object beginReport() {
+        return SINK != null ? SINK.beginReport() : null;
+    }
+
+    public static void commitReport(@CheckForNull Object event, @Nonnull SecurityInspectorReport<?, ?, ?, ?> report,
+            long rows, long columns) {
+        if (event != null && SINK != null) {
+            SINK.commitReport(event, getCurrentBuilder(), report.getClass().getName(),
+                    report.getReportTargetName(), rows, columns);
+        }
+    }
+
+    @CheckForNull
+    public static Object beginFilter() {
+        return SINK != null ? SINK.beginFilter() : null;
+    }
+
+    public static void commitFilter(@CheckForNull Object event, @Nonnull String builder, long estimatedRows) {
+        if (event != null && SINK != null) {
+            SINK.commitFilter(event, builder, estimatedRows);
+        }
+    }
+
+    @CheckForNull
+    public static Object beginBatch() {
+        return SINK != null ? SINK.beginBatch() : null;
+    }
+
+    public static void commitBatch(@CheckForNull Object event, @Nonnull SecurityInspectorReport<?, ?, ?, ?> report,
+            long firstRow, long rows, long columns, long impersonationNanos) {
+        if (event != null && SINK != null) {
+            SINK.commitBatch(event, getCurrentBuilder(), report.getReportTargetName(),
+                    firstRow, rows, rows * columns, impersonationNanos);
+        }
+    }
+
+    /**
+     * Emits an instant event for the report cache lookup.
+     *
+     * @param key Report key
+     * @param result Lookup result: {@code hit}, {@code joined} or {@code miss}
+     */
+    public static void cacheLookup(@Nonnull ReportKey key, @Nonnull String result) {
+        if (SINK != null) {
+            SINK.cacheLookup(key.getBuilderIndex(), String.valueOf(key.getContext().getItem()), result);
+        }
+    }
+
+    @CheckForNull
+    public static Object beginImpersonation() {
+        return SINK != null ? SINK.beginImpersonation() : null;
+    }
+
+    public static void commitImpersonation(@CheckForNull Object event, @Nonnull String userId) {
+        if (event != null && SINK != null) {
+            SINK.commitImpersonation(event, userId);
+        }
+    }
+
+    @CheckForNull
+    public static Object beginExport() {
+        return SINK != null ? SINK.beginExport() : null;
+    }
+
+    public static void commitExport(@CheckForNull Object event, @Nonnull SecurityInspectorReport<?, ?, ?, ?> report,
+            @Nonnull ExportFormat format, long rows) {
+        if (event != null && SINK != null) {
+            SINK.commitExport(event, report.getReportTargetName(), format.name(), rows);
+        }
+    }
+
+    @CheckForNull
+    private static String getCurrentBuilder() {
+        final ReportExecution execution = ReportScheduler.getCurrentExecution();
+        return execution != null ? execution.getKey().getBuilderIndex() : null;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.Util;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Single report computation managed by {@link ReportScheduler}.
+ * Besides the status information the execution enforces the CPU-time budget of the report:
+ * after each batch of rows the worker thread is paused long enough to keep its CPU usage within the budget.
+ * The execution also holds a lease, which has to be renewed by the clients waiting for the report.
+ * Once the execution is cancelled or its lease expires, the evaluation loop stops at the next row.
+ */
+@Restricted(NoExternalUse.class)
+public class ReportExecution {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long id;
+    @Nonnull
+    private final ReportKey key;
+    @Nonnull
+    private final RunnableFuture<?> task;
+    private final long queuedAt;
+    private final int rowBatchSize;
+    private final int cpuBudgetPercent;
+    private final long leaseTimeout;
+
+    private volatile boolean cancelled;
+    private volatile long leaseExpiresAt;
+    private volatile long startedAt;
+    private volatile long rowsEvaluated;
+    private volatile long throttledNanos;
+
+    // Accessed by the worker thread only
+    private long batchStartCpu;
+    private long batchStartWall;
+
+    /*package*/ ReportExecution(long id, @Nonnull ReportKey key, @Nonnull RunnableFuture<?> task, 
+            int rowBatchSize, int cpuBudgetPercent, long leaseTimeout) {
+        this.id = id;
+        this.key = key;
+        this.task = task;
+        this.queuedAt = System.currentTimeMillis();
+        this.rowBatchSize = Math.max(1, rowBatchSize);
+        this.cpuBudgetPercent = Math.min(100, Math.max(1, cpuBudgetPercent));
+        this.leaseTimeout = leaseTimeout;
+        this.leaseExpiresAt = queuedAt + leaseTimeout;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Nonnull
+    public ReportKey getKey() {
+        return key;
+    }
+
+    public long getQueuedAt() {
+        return queuedAt;
+    }
+
+    public boolean isStarted() {
+        return startedAt != 0;
+    }
+
+    /**
+     * Gets the start time of the computation.
+     *
+     * @return Start time in milliseconds. {@code 0} if the execution is still queued
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public long getRowsEvaluated() {
+        return rowsEvaluated;
+    }
+
+    /**
+     * Gets the total time the worker thread has been paused to stay within the CPU budget.
+     *
+     * @return Time in milliseconds
+     */
+    public long getThrottledMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledNanos);
+    }
+
+    public int getCpuBudgetPercent() {
+        return cpuBudgetPercent;
+    }
+
+    @Nonnull
+    /*package*/ RunnableFuture<?> getTask() {
+        return task;
+    }
+
+    /*package*/ long getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    /**
+     * Extends the lease of the execution.
+     * Should be invoked periodically by the clients waiting for the report.
+     */
+    public void renewLease() {
+        leaseExpiresAt = System.currentTimeMillis() + leaseTimeout;
+    }
+
+    /**
+     * Cancels the execution.
+     * A queued execution will be skipped, a running one stops at the next evaluated row.
+     */
+    public void cancel() {
+        cancelled = true;
+        task.cancel(true);
+    }
+
+    /**
+     * Checks whether the execution should be stopped.
+     *
+     * @return {@code true} if the execution has been cancelled or no client has renewed its lease in time
+     */
+    public boolean isCancelled() {
+        return cancelled || System.currentTimeMillis() > leaseExpiresAt;
+    }
+
+    /**
+     * Gets the time spent in the current state, queued or running.
+     *
+     * @return Human-readable duration
+     */
+    @Nonnull
+    public String getDurationString() {
+        final long since = isStarted() ? startedAt : queuedAt;
+        return Util.getTimeSpanString(System.currentTimeMillis() - since);
+    }
+
+    /*package*/ void onStarted() {
+        startedAt = System.currentTimeMillis();
+        resetBatch();
+    }
+
+    /**
+     * Notifies the execution about an evaluated row.
+     * At the end of each batch of rows the thread is paused if the batch has exceeded the CPU budget,
+     * otherwise it yields to other threads.
+     *
+     * @throws CancellationException The execution has been cancelled, abandoned or interrupted
+     */
+    /*package*/ void checkpoint() throws CancellationException {
+        if (isCancelled() || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Report " + key + " has been cancelled");
+        }
+        final long rows = ++rowsEvaluated;
+        if (rows % rowBatchSize != 0) {
+            return;
+        }
+
+        if (cpuBudgetPercent < 100) {
+            final long cpu = getCpuTime() - batchStartCpu;
+            final long wall = System.nanoTime() - batchStartWall;
+            final long pause = cpu * 100 / cpuBudgetPercent - wall;
+            if (pause > 0) {
+                throttledNanos += pause;
+                try {
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        Thread.yield();
+        resetBatch();
+    }
+
+    private void resetBatch() {
+        batchStartCpu = getCpuTime();
+        batchStartWall = System.nanoTime();
+    }
+
+    /**
+     * Gets the CPU time of the current thread.
+     * If the JVM does not support CPU time measurement, the wall time is used,
+     * so the budget gets applied to the elapsed time.
+     */
+    private static long getCpuTime() {
+        if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            final long cpuTime = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+            if (cpuTime >= 0) {
+                return cpuTime;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return "Execution of " + key;
+    }
+}
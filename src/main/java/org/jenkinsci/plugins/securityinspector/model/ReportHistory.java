@@ -0,0 +1,460 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * History of report runs stored in a directory.
+ * The newest run is a full {@link ReportSnapshot}, and every older run is stored as a delta against the next newer one.
+ * Runs usually differ in a few rows, so the history takes little more space than a single snapshot.
+ * Reverse deltas never depend on older runs, hence the retention policy just removes the oldest files.
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportHistory {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportHistory.class.getName());
+
+    @Nonnull
+    private final File dir;
+
+    public ReportHistory(@Nonnull File dir) {
+        this.dir = dir;
+    }
+
+    @Nonnull
+    public File getDir() {
+        return dir;
+    }
+
+    /**
+     * Lists runs.
+     * Unreadable files are skipped.
+     *
+     * @return Runs, newest first
+     */
+    @Nonnull
+    public List<ReportSnapshot> getRuns() {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        final List<ReportSnapshot> res = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (!file.getName().endsWith(ReportSnapshotStorage.SNAPSHOT_SUFFIX)) {
+                continue;
+            }
+            try {
+                res.add(ReportSnapshot.read(file));
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Cannot read the report run " + file, ex);
+            }
+        }
+        Collections.sort(res, new Comparator<ReportSnapshot>() {
+            @Override
+            public int compare(ReportSnapshot o1, ReportSnapshot o2) {
+                final int res = Long.compare(o2.getTimestamp(), o1.getTimestamp());
+                return res != 0 ? res : o2.getId().compareTo(o1.getId());
+            }
+        });
+        return res;
+    }
+
+    /**
+     * Gets the run by its identifier.
+     *
+     * @param id Run ID, see {@link ReportSnapshot#getId()}
+     * @return Run. {@code null} if it does not exist
+     * @throws IOException The run cannot be read
+     */
+    @CheckForNull
+    public ReportSnapshot get(@Nonnull String id) throws IOException {
+        if (!id.equals(ReportSnapshotStorage.toFileName(id)) || id.startsWith(".")) {
+            // Do not allow accessing files outside the directory
+            return null;
+        }
+        final File file = new File(dir, id + ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        return file.isFile() ? ReportSnapshot.read(file) : null;
+    }
+
+    /**
+     * Gets the disk usage of the history.
+     *
+     * @return Total size of runs in bytes
+     */
+    public long getTotalBytes() {
+        long res = 0;
+        for (ReportSnapshot run : getRuns()) {
+            res += run.getFile().length();
+        }
+        return res;
+    }
+
+    /**
+     * Records the generated report as the newest run.
+     * The previous run gets converted to a delta, and runs exceeding the retention policy get deleted.
+     *
+     * @param report Generated report
+     * @param policy Retention policy
+     * @return Recorded run
+     * @throws IOException Cannot write the run
+     */
+    @Nonnull
+    public synchronized ReportSnapshot record(@Nonnull SecurityInspectorReport<?, ?, ?, ?> report, 
+            @Nonnull RetentionPolicy policy) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create the history directory " + dir);
+        }
+
+        final long timestamp = System.currentTimeMillis();
+        final SimpleDateFormat f = new SimpleDateFormat("yyyyMMdd-HHmmss");
+        f.setTimeZone(TimeZone.getTimeZone("UTC"));
+        final String name = f.format(new Date(timestamp));
+        File file = new File(dir, name + ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        for (int i = 1; file.exists(); i++) {
+            file = new File(dir, name + "-" + i + ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        }
+        try (Writer writer = openWriter(file)) {
+            ReportSnapshotStorage.write(report, timestamp, writer);
+        }
+        return commit(file, policy, timestamp);
+    }
+
+    /**
+     * Converts the previous run to a delta and applies the retention policy.
+     *
+     * @param file Full snapshot of the newest run, which has been written to the directory
+     * @param policy Retention policy
+     * @param now Current time
+     * @return Newest run
+     * @throws IOException Read or write error
+     */
+    @Nonnull
+    /*package*/ synchronized ReportSnapshot commit(@Nonnull File file, @Nonnull RetentionPolicy policy, long now) 
+            throws IOException {
+        final ReportSnapshot newest = ReportSnapshot.read(file);
+        for (ReportSnapshot run : getRuns()) {
+            if (run.getId().equals(newest.getId())) {
+                continue;
+            }
+            if (!run.isDelta()) {
+                encodeDelta(run, newest);
+            }
+            // Only the previous run is full, older ones have been converted before
+            break;
+        }
+        prune(policy, now);
+        return newest;
+    }
+
+    /**
+     * Replaces the previous run by the delta against the newest run.
+     * The run is kept as is if columns differ or the delta is not smaller than the full snapshot.
+     */
+    private void encodeDelta(@Nonnull ReportSnapshot previous, @Nonnull ReportSnapshot newest) throws IOException {
+        if (!previous.getColumns().equals(newest.getColumns())) {
+            LOGGER.log(Level.FINE, "Columns of {0} differ from the next run, keeping the full snapshot", previous.getFile());
+            return;
+        }
+
+        final File tmp = new File(dir, previous.getId() + ".tmp");
+        try {
+            try (Writer writer = openWriter(tmp);
+                    RowGroups from = new RowGroups(previous); 
+                    RowGroups to = new RowGroups(newest)) {
+                final JsonStreamWriter json = new JsonStreamWriter(writer);
+                writeHeader(json, previous, newest.getId());
+                boolean hasFrom = from.next();
+                boolean hasTo = to.next();
+                while (hasFrom || hasTo) {
+                    final int cmp = !hasFrom ? 1 : !hasTo ? -1 : from.id.compareTo(to.id);
+                    if (cmp < 0) {
+                        writeRows(json, from, previous.getColumns().size());
+                        hasFrom = from.next();
+                    } else if (cmp > 0) {
+                        json.beginObject().name("id").value(to.id).name("row").value(to.titles.get(0))
+                                .name("removed").value(true).endObject().newLine();
+                        hasTo = to.next();
+                    } else {
+                        if (!from.rows.equals(to.rows) || !from.titles.equals(to.titles)) {
+                            writeRows(json, from, previous.getColumns().size());
+                        }
+                        hasFrom = from.next();
+                        hasTo = to.next();
+                    }
+                }
+            }
+            if (tmp.length() < previous.getFile().length()) {
+                Files.move(tmp.toPath(), previous.getFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+    }
+
+    /**
+     * Deletes runs exceeding the retention policy.
+     * The newest run is never deleted, and all runs older than the first expired one are deleted with it.
+     *
+     * @param policy Retention policy
+     * @param now Current time
+     * @return Number of deleted runs
+     * @throws IOException Cannot delete a run
+     */
+    /*package*/ synchronized int prune(@Nonnull RetentionPolicy policy, long now) throws IOException {
+        final List<ReportSnapshot> runs = getRuns();
+        long bytes = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            final ReportSnapshot run = runs.get(i);
+            bytes += run.getFile().length();
+            if (i > 0 && policy.isExceeded(i + 1, now - run.getTimestamp(), bytes)) {
+                for (ReportSnapshot expired : runs.subList(i, runs.size())) {
+                    Files.deleteIfExists(expired.getFile().toPath());
+                }
+                return runs.size() - i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Restores the full snapshot of the run.
+     *
+     * @param id Run ID
+     * @param target File for the full snapshot
+     * @return Full snapshot. Its ID is taken from the target file
+     * @throws IOException The run does not exist, cannot be read or one of newer runs is missing
+     */
+    @Nonnull
+    public synchronized ReportSnapshot materialize(@Nonnull String id, @Nonnull File target) throws IOException {
+        final List<ReportSnapshot> runs = getRuns();
+        File tmp = null;
+        try {
+            ReportSnapshot current = null;
+            for (int i = 0; i < runs.size(); i++) {
+                final ReportSnapshot run = runs.get(i);
+                final boolean last = run.getId().equals(id);
+                if (!run.isDelta()) {
+                    current = run;
+                } else {
+                    if (current == null || !run.getBase().equals(runs.get(i - 1).getId())) {
+                        throw new IOException("Base " + run.getBase() + " of the run " + run.getId() + " is missing");
+                    }
+                    final File out = last ? target : File.createTempFile("history", ".tmp", dir);
+                    apply(current, run, out);
+                    if (tmp != null) {
+                        Files.delete(tmp.toPath());
+                    }
+                    tmp = last ? null : out;
+                    current = ReportSnapshot.read(out);
+                }
+                if (last) {
+                    if (!run.isDelta()) {
+                        Files.copy(run.getFile().toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    return ReportSnapshot.read(target);
+                }
+            }
+            throw new IOException("Run " + id + " does not exist");
+        } finally {
+            if (tmp != null) {
+                Files.deleteIfExists(tmp.toPath());
+            }
+        }
+    }
+
+    /**
+     * Writes the full snapshot of the delta by the merge join with its base.
+     */
+    private static void apply(@Nonnull ReportSnapshot base, @Nonnull ReportSnapshot delta, @Nonnull File out) 
+            throws IOException {
+        final int columnCount = delta.getColumns().size();
+        try (Writer writer = openWriter(out); 
+                RowGroups from = new RowGroups(base); 
+                RowGroups changes = new RowGroups(delta)) {
+            final JsonStreamWriter json = new JsonStreamWriter(writer);
+            writeHeader(json, delta, null);
+            boolean hasFrom = from.next();
+            boolean hasChanges = changes.next();
+            while (hasFrom || hasChanges) {
+                final int cmp = !hasFrom ? 1 : !hasChanges ? -1 : from.id.compareTo(changes.id);
+                if (cmp < 0) {
+                    writeRows(json, from, columnCount);
+                    hasFrom = from.next();
+                } else {
+                    if (!changes.removed) {
+                        writeRows(json, changes, columnCount);
+                    }
+                    hasChanges = changes.next();
+                    if (cmp == 0) {
+                        hasFrom = from.next();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeHeader(@Nonnull JsonStreamWriter json, @Nonnull ReportSnapshot run, 
+            @CheckForNull String base) throws IOException {
+        json.beginObject();
+        json.name("target").value(run.getTarget());
+        json.name("timestamp").value(run.getTimestamp());
+        json.name("rows").value(run.getRowCount());
+        json.name("columns").beginArray();
+        for (String column : run.getColumns()) {
+            json.value(column);
+        }
+        json.endArray();
+        if (base != null) {
+            json.name("base").value(base);
+        }
+        json.endObject().newLine();
+    }
+
+    private static void writeRows(@Nonnull JsonStreamWriter json, @Nonnull RowGroups group, int columnCount) 
+            throws IOException {
+        for (int i = 0; i < group.rows.size(); i++) {
+            json.beginObject().name("id").value(group.id).name("row").value(group.titles.get(i));
+            json.name("mask").value(ExportFormat.toHexMask(group.rows.get(i), columnCount));
+            json.endObject().newLine();
+        }
+    }
+
+    @Nonnull
+    private static Writer openWriter(@Nonnull File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads rows grouped by IDs.
+     * Reports, which do not override {@link SecurityInspectorReport#getRowId(java.lang.Object)}, use titles as IDs.
+     * Titles may repeat, e.g. users may have identical display names. So deltas replace whole groups.
+     */
+    private static final class RowGroups implements Closeable {
+
+        @Nonnull
+        private final ReportSnapshot.RowReader reader;
+        private boolean hasRow;
+        @CheckForNull
+        private String id;
+        @Nonnull
+        private List<String> titles = Collections.emptyList();
+        @Nonnull
+        private List<BitSet> rows = Collections.emptyList();
+        private boolean removed;
+
+        RowGroups(@Nonnull ReportSnapshot snapshot) throws IOException {
+            this.reader = snapshot.openRows();
+            this.hasRow = reader.next();
+        }
+
+        boolean next() throws IOException {
+            if (!hasRow) {
+                id = null;
+                return false;
+            }
+            id = reader.getId();
+            titles = new ArrayList<>(1);
+            rows = new ArrayList<>(1);
+            removed = false;
+            while (hasRow && reader.getId().equals(id)) {
+                if (reader.isRemoved()) {
+                    removed = true;
+                } else {
+                    titles.add(reader.getRow());
+                    rows.add(reader.getGranted());
+                }
+                hasRow = reader.next();
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Limits the history by the number of runs, their age and the disk usage.
+     * Zero values disable the corresponding limit.
+     */
+    public static final class RetentionPolicy {
+
+        private final int maxRuns;
+        private final long maxAgeMillis;
+        private final long maxBytes;
+
+        public RetentionPolicy(int maxRuns, long maxAgeMillis, long maxBytes) {
+            this.maxRuns = maxRuns;
+            this.maxAgeMillis = maxAgeMillis;
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * Checks whether the run should be deleted.
+         *
+         * @param runs Number of runs up to this one, including it
+         * @param ageMillis Age of the run
+         * @param bytes Total size of runs up to this one, including it
+         * @return {@code true} if any limit is exceeded
+         */
+        public boolean isExceeded(int runs, long ageMillis, long bytes) {
+            return maxRuns > 0 && runs > maxRuns 
+                    || maxAgeMillis > 0 && ageMillis > maxAgeMillis 
+                    || maxBytes > 0 && bytes > maxBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "maxRuns=" + maxRuns + ", maxAgeMillis=" + maxAgeMillis + ", maxBytes=" + maxBytes;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Identifies a report computation.
+ * Two requests with equal keys produce the same report, so they may share a single computation.
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportKey {
+
+    /**
+     * Number of hash bytes used in entity tags.
+     */
+    private static final int ETAG_BYTES = 16;
+
+    @Nonnull
+    private final String builderIndex;
+    @Nonnull
+    private final UserContext context;
+
+    public ReportKey(@Nonnull String builderIndex, @Nonnull UserContext context) {
+        this.builderIndex = builderIndex;
+        this.context = context;
+    }
+
+    @Nonnull
+    public String getBuilderIndex() {
+        return builderIndex;
+    }
+
+    @Nonnull
+    public UserContext getContext() {
+        return context;
+    }
+
+    /**
+     * Gets the entity tag of a report representation.
+     * The tag is derived from the builder, the normalized filters and the security configuration fingerprint,
+     * so it can be compared with {@code If-None-Match} without generating the report.
+     * Tags are weak, because representations may differ in non-essential parts like timings.
+     *
+     * @param fingerprint Fingerprint of the security configuration
+     * @param variant Representation of the report, e.g. the page or the export format
+     * @return Weak entity tag including quotes
+     */
+    @Nonnull
+    public String getETag(@Nonnull String fingerprint, @Nonnull String variant) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+        final String source = builderIndex + '\n' + context.getCanonicalForm() + '\n' + fingerprint + '\n' + variant;
+        final byte[] hash = digest.digest(source.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder res = new StringBuilder("W/\"");
+        for (int i = 0; i < ETAG_BYTES; i++) {
+            res.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        return res.append('"').toString();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ReportKey)) {
+            return false;
+        }
+        final ReportKey other = (ReportKey) obj;
+        return builderIndex.equals(other.builderIndex) && context.equals(other.context);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * builderIndex.hashCode() + context.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return builderIndex + "[" + context.getItem() + "]";
+    }
+}
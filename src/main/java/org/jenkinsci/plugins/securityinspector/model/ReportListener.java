@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives notifications during the generation of {@link SecurityInspectorReport}.
+ * Can be used to process rows as soon as they are computed, e.g. to stream the report.
+ * The listener is invoked in the thread generating the report.
+ *
+ * @param <TRow> Class of the Rows in the report
+ */
+public abstract class ReportListener<TRow> {
+
+    /**
+     * Called when columns of the report are initialized, before any row is computed.
+     *
+     * @param report Report being generated
+     */
+    public void onStarted(@Nonnull SecurityInspectorReport<? extends TRow, ?, ?, ?> report) {
+        // Do nothing by default
+    }
+
+    /**
+     * Called when the row is added to the report.
+     * Rows are added in the display order, rows dropped due to {@link ReportOptions} are not reported.
+     *
+     * @param report Report being generated
+     * @param row Added row
+     */
+    public void onRow(@Nonnull SecurityInspectorReport<? extends TRow, ?, ?, ?> report, @Nonnull TRow row) {
+        // Do nothing by default
+    }
+
+    /**
+     * Called when all rows have been computed.
+     *
+     * @param report Generated report
+     */
+    public void onCompleted(@Nonnull SecurityInspectorReport<? extends TRow, ?, ?, ?> report) {
+        // Do nothing by default
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.StaplerResponse;
+
+/**
+ * Aggregated metrics of the report pipeline since the Jenkins startup.
+ * The metrics are available as JSON at {@code security-inspector/metrics/} and via JMX.
+ *
+ * @see ReportTimings
+ */
+@Restricted(NoExternalUse.class)
+public class ReportMetrics implements ReportMetricsMXBean {
+
+    private static final ReportMetrics INSTANCE = new ReportMetrics();
+
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(ReportTimings.Phase.values().length);
+    private final AtomicLongArray phaseCounts = new AtomicLongArray(ReportTimings.Phase.values().length);
+    private final AtomicLong reportsGenerated = new AtomicLong();
+    private final AtomicLong cellsEvaluated = new AtomicLong();
+    private final AtomicLong aclCalls = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    @Nonnull
+    public static ReportMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /*package*/ ReportMetrics() {
+        // Use getInstance()
+    }
+
+    /**
+     * Records time spent in the phase.
+     *
+     * @param phase Phase
+     * @param duration Duration in nanoseconds
+     */
+    public void record(@Nonnull ReportTimings.Phase phase, long duration) {
+        phaseNanos.addAndGet(phase.ordinal(), duration);
+        phaseCounts.incrementAndGet(phase.ordinal());
+    }
+
+    /**
+     * Records the generation phases and counters of a generated report.
+     *
+     * @param timings Timings of the report
+     */
+    /*package*/ void recordReport(@Nonnull ReportTimings timings) {
+        reportsGenerated.incrementAndGet();
+        cellsEvaluated.addAndGet(timings.getCells());
+        aclCalls.addAndGet(timings.getAclCalls());
+        for (ReportTimings.Phase phase : new ReportTimings.Phase[] {ReportTimings.Phase.IMPERSONATION, 
+                ReportTimings.Phase.ACL_EVALUATION, ReportTimings.Phase.SORTING}) {
+            record(phase, timings.getNanos(phase));
+        }
+    }
+
+    /*package*/ void recordCacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    /*package*/ void recordCacheMiss() {
+        cacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public long getReportsGenerated() {
+        return reportsGenerated.get();
+    }
+
+    @Override
+    public long getCellsEvaluated() {
+        return cellsEvaluated.get();
+    }
+
+    @Override
+    public long getCellsPerSecond() {
+        return ReportTimings.getCellsPerSecond(getCellsEvaluated(), 
+                phaseNanos.get(ReportTimings.Phase.IMPERSONATION.ordinal()) 
+                + phaseNanos.get(ReportTimings.Phase.ACL_EVALUATION.ordinal()));
+    }
+
+    @Override
+    public long getAclCalls() {
+        return aclCalls.get();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    @Override
+    public Map<String, Long> getPhaseTimes() {
+        final Map<String, Long> res = new LinkedHashMap<>();
+        for (ReportTimings.Phase phase : ReportTimings.Phase.values()) {
+            res.put(phase.name(), TimeUnit.NANOSECONDS.toMillis(phaseNanos.get(phase.ordinal())));
+        }
+        return res;
+    }
+
+    @Override
+    public Map<String, Long> getPhaseCounts() {
+        final Map<String, Long> res = new LinkedHashMap<>();
+        for (ReportTimings.Phase phase : ReportTimings.Phase.values()) {
+            res.put(phase.name(), phaseCounts.get(phase.ordinal()));
+        }
+        return res;
+    }
+
+    /**
+     * Writes the metrics as JSON.
+     *
+     * @param rsp Response
+     * @throws IOException Write error
+     */
+    public void doIndex(@Nonnull StaplerResponse rsp) throws IOException {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+
+        rsp.setContentType("application/json;charset=UTF-8");
+        final JsonStreamWriter writer = new JsonStreamWriter(rsp.getWriter());
+        writer.beginObject();
+        writer.name("reportsGenerated").value(getReportsGenerated());
+        writer.name("cellsEvaluated").value(getCellsEvaluated());
+        writer.name("cellsPerSecond").value(getCellsPerSecond());
+        writer.name("aclCalls").value(getAclCalls());
+        writer.name("cacheHits").value(getCacheHits());
+        writer.name("cacheMisses").value(getCacheMisses());
+        writer.name("phases").beginObject();
+        for (ReportTimings.Phase phase : ReportTimings.Phase.values()) {
+            writer.name(phase.name()).beginObject();
+            writer.name("count").value(phaseCounts.get(phase.ordinal()));
+            writer.name("totalMillis").value(TimeUnit.NANOSECONDS.toMillis(phaseNanos.get(phase.ordinal())));
+            writer.endObject();
+        }
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link ReportMetrics}.
+ * Allows collecting the report metrics by the standard monitoring tools.
+ */
+public interface ReportMetricsMXBean {
+
+    long getReportsGenerated();
+
+    long getCellsEvaluated();
+
+    long getCellsPerSecond();
+
+    long getAclCalls();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    /**
+     * Gets the total time spent in each phase.
+     *
+     * @return Time in milliseconds by phase names
+     */
+    Map<String, Long> getPhaseTimes();
+
+    /**
+     * Gets the number of measurements of each phase.
+     *
+     * @return Number of measurements by phase names
+     */
+    Map<String, Long> getPhaseCounts();
+}
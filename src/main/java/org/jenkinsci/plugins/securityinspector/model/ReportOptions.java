@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.model.Descriptor;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.StaplerRequest;
+
+/**
+ * Defines how the report gets stored and displayed.
+ */
+public final class ReportOptions {
+
+    /**
+     * Default options: all entries are stored, all rows are displayed.
+     */
+    public static final ReportOptions DEFAULT = new ReportOptions(false, false, false);
+
+    private final boolean sparse;
+    private final boolean dropEmptyRows;
+    private final boolean groupIdenticalRows;
+
+    /**
+     * Constructor.
+     *
+     * @param sparse Store only granted entries
+     * @param dropEmptyRows Exclude rows without granted entries from the report
+     */
+    public ReportOptions(boolean sparse, boolean dropEmptyRows) {
+        this(sparse, dropEmptyRows, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sparse Store only granted entries
+     * @param dropEmptyRows Exclude rows without granted entries from the report
+     * @param groupIdenticalRows Display and export rows with identical entries as a single line
+     */
+    public ReportOptions(boolean sparse, boolean dropEmptyRows, boolean groupIdenticalRows) {
+        this.sparse = sparse;
+        this.dropEmptyRows = dropEmptyRows;
+        this.groupIdenticalRows = groupIdenticalRows;
+    }
+
+    /**
+     * Constructs options from StaplerRequest.
+     *
+     * @param req Stapler Request
+     * @throws Descriptor.FormException Form error
+     */
+    @Restricted(NoExternalUse.class)
+    public ReportOptions(@Nonnull StaplerRequest req) throws Descriptor.FormException {
+        this(req.getParameter("sparsereport") != null, req.getParameter("dropemptyrows") != null,
+                req.getParameter("groupidenticalrows") != null);
+    }
+
+    /**
+     * Checks whether only granted entries should be stored.
+     * In the sparse mode the report keeps only the (row, column) pairs, for which
+     * {@link SecurityInspectorReport#isEntryReportOk(java.lang.Object, java.lang.Object, java.lang.Object)} passes.
+     *
+     * @return {@code true} if the report is sparse
+     */
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    /**
+     * Checks whether rows without granted entries should be excluded from the report.
+     *
+     * @return {@code true} if empty rows get dropped
+     */
+    public boolean isDropEmptyRows() {
+        return dropEmptyRows;
+    }
+
+    /**
+     * Checks whether rows with identical entries should be collapsed in the view.
+     *
+     * @return {@code true} if identical rows are grouped
+     */
+    public boolean isGroupIdenticalRows() {
+        return groupIdenticalRows;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ReportOptions)) {
+            return false;
+        }
+        final ReportOptions other = (ReportOptions) obj;
+        return sparse == other.sparse && dropEmptyRows == other.dropEmptyRows
+                && groupIdenticalRows == other.groupIdenticalRows;
+    }
+
+    @Override
+    public int hashCode() {
+        return (sparse ? 1 : 0) + (dropEmptyRows ? 2 : 0) + (groupIdenticalRows ? 4 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "sparse=" + sparse + ", dropEmptyRows=" + dropEmptyRows + ", groupIdenticalRows=" + groupIdenticalRows;
+    }
+}
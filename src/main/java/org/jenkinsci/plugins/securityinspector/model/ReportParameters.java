@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.Util;
+import hudson.security.Permission;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
+
+/**
+ * Report filters, which can be stored and resolved to {@link org.jenkinsci.plugins.securityinspector.UserContext} later.
+ * Unlike the context, the parameters do not reference Jenkins objects, so new jobs or users get into the report.
+ *
+ * @see ReportBuilder#createContext(ReportParameters)
+ */
+public class ReportParameters {
+
+    @CheckForNull
+    private final String target;
+    @CheckForNull
+    private final String includeRegex;
+    @CheckForNull
+    private final String folder;
+    @CheckForNull
+    private final List<String> permissions;
+    @CheckForNull
+    private final List<String> permissionGroups;
+    private final boolean sparse;
+    private final boolean dropEmptyRows;
+
+    /**
+     * Constructor.
+     *
+     * @param target Target of the report, e.g. ID of the user or full name of the item.
+     *        Depends on the report builder
+     * @param includeRegex Regular expression for rows to be reported
+     * @param folder Name of the top-level folder to be reported
+     * @param permissions IDs of permissions to be reported. Empty for all permissions
+     * @param sparse Store only granted permissions
+     * @param dropEmptyRows Do not report rows without granted permissions
+     */
+    public ReportParameters(@CheckForNull String target, @CheckForNull String includeRegex, @CheckForNull String folder, 
+            @Nonnull List<String> permissions, boolean sparse, boolean dropEmptyRows) {
+        this(target, includeRegex, folder, permissions, Collections.<String>emptyList(), sparse, dropEmptyRows);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param target Target of the report, e.g. ID of the user or full name of the item.
+     *        Depends on the report builder
+     * @param includeRegex Regular expression for rows to be reported
+     * @param folder Name of the top-level folder to be reported
+     * @param permissions IDs of permissions to be reported
+     * @param permissionGroups Class names of permission group owners to be reported.
+     *        All permissions are reported if both permissions and groups are empty
+     * @param sparse Store only granted permissions
+     * @param dropEmptyRows Do not report rows without granted permissions
+     */
+    public ReportParameters(@CheckForNull String target, @CheckForNull String includeRegex, @CheckForNull String folder, 
+            @Nonnull List<String> permissions, @Nonnull List<String> permissionGroups, boolean sparse, 
+            boolean dropEmptyRows) {
+        this.target = Util.fixEmptyAndTrim(target);
+        this.includeRegex = Util.fixEmpty(includeRegex);
+        this.folder = Util.fixEmptyAndTrim(folder);
+        this.permissions = new ArrayList<>(permissions);
+        this.permissionGroups = new ArrayList<>(permissionGroups);
+        this.sparse = sparse;
+        this.dropEmptyRows = dropEmptyRows;
+    }
+
+    @CheckForNull
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the target of the report.
+     *
+     * @return Target of the report
+     * @throws IllegalArgumentException The target is not specified
+     */
+    @Nonnull
+    public String getRequiredTarget() throws IllegalArgumentException {
+        if (target == null) {
+            throw new IllegalArgumentException("The report target is not specified");
+        }
+        return target;
+    }
+
+    @CheckForNull
+    public String getIncludeRegex() {
+        return includeRegex;
+    }
+
+    @CheckForNull
+    public String getFolder() {
+        return folder;
+    }
+
+    @Nonnull
+    public List<String> getPermissions() {
+        return permissions != null ? Collections.unmodifiableList(permissions) : Collections.<String>emptyList();
+    }
+
+    @Nonnull
+    public List<String> getPermissionGroups() {
+        // Parameters stored before the groups were introduced do not have the field
+        return permissionGroups != null ? Collections.unmodifiableList(permissionGroups) : Collections.<String>emptyList();
+    }
+
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    public boolean isDropEmptyRows() {
+        return dropEmptyRows;
+    }
+
+    /**
+     * Resolves permissions to be reported.
+     *
+     * @return Selected permissions. {@code null} for all permissions
+     * @throws IllegalArgumentException Unknown permission
+     */
+    @CheckForNull
+    public Set<Permission> getSelectedPermissions() throws IllegalArgumentException {
+        final List<String> ids = getPermissions();
+        final List<String> groupIds = getPermissionGroups();
+        return ids.isEmpty() && groupIds.isEmpty() ? null : new PermissionFilter(ids, groupIds).getSelectedPermissions();
+    }
+
+    @Nonnull
+    public ReportOptions getOptions() {
+        return new ReportOptions(sparse, dropEmptyRows);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.Functions;
+import hudson.Util;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Estimated size and cost of a report, produced by {@link ReportPlanner} before the report is generated.
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportPlan {
+
+    private final int rows;
+    private final int columns;
+    private final long estimatedMemory;
+    private final long estimatedDuration;
+    private final long memoryBudget;
+    @Nonnull
+    private final ReportOptions options;
+    private final boolean sparseStorageForced;
+    private final boolean confirmationRequired;
+
+    /*package*/ ReportPlan(int rows, int columns, long estimatedMemory, long estimatedDuration, long memoryBudget,
+            @Nonnull ReportOptions options, boolean sparseStorageForced, boolean confirmationRequired) {
+        this.rows = rows;
+        this.columns = columns;
+        this.estimatedMemory = estimatedMemory;
+        this.estimatedDuration = estimatedDuration;
+        this.memoryBudget = memoryBudget;
+        this.options = options;
+        this.sparseStorageForced = sparseStorageForced;
+        this.confirmationRequired = confirmationRequired;
+    }
+
+    /**
+     * Checks whether the size of the report could be estimated.
+     *
+     * @return {@code false} if the report builder does not provide estimations
+     */
+    public boolean isEstimated() {
+        return rows >= 0;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public long getCells() {
+        return isEstimated() ? (long) rows * columns : -1;
+    }
+
+    /**
+     * Gets the estimated memory required to keep the report with the planned options.
+     *
+     * @return Memory size in bytes
+     */
+    public long getEstimatedMemory() {
+        return estimatedMemory;
+    }
+
+    /**
+     * Gets the estimated generation time.
+     *
+     * @return Duration in milliseconds
+     */
+    public long getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    @Nonnull
+    public String getEstimatedMemoryString() {
+        return Functions.humanReadableByteSize(estimatedMemory);
+    }
+
+    @Nonnull
+    public String getMemoryBudgetString() {
+        return Functions.humanReadableByteSize(memoryBudget);
+    }
+
+    @Nonnull
+    public String getEstimatedDurationString() {
+        return Util.getTimeSpanString(estimatedDuration);
+    }
+
+    /**
+     * Gets options the report should be generated with.
+     *
+     * @return Requested options or options adjusted by the planner
+     */
+    @Nonnull
+    public ReportOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Checks whether the planner has switched the report to the sparse storage to fit the memory budget.
+     */
+    public boolean isSparseStorageForced() {
+        return sparseStorageForced;
+    }
+
+    /**
+     * Checks whether the report exceeds the thresholds even with the adjusted options,
+     * so the user should confirm the generation.
+     */
+    public boolean isConfirmationRequired() {
+        return confirmationRequired;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows x %d columns, ~%d bytes, ~%d ms%s%s", rows, columns, estimatedMemory, 
+                estimatedDuration, sparseStorageForced ? ", sparse storage" : "", 
+                confirmationRequired ? ", confirmation required" : "");
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Estimates the cost of reports before they get generated.
+ * The estimation is based on the number of cells, the storage options and
+ * the per-cell evaluation time measured for recently generated reports.
+ * If a dense report does not fit the memory budget, it is switched to the sparse storage.
+ * Reports exceeding the budget or the duration threshold even after that require a confirmation.
+ */
+@Restricted(NoExternalUse.class)
+public class ReportPlanner {
+
+    /**
+     * Part of the maximum heap size a single report may use, in percents.
+     */
+    static final int MEMORY_BUDGET_PERCENT = Integer.getInteger(ReportPlanner.class.getName() + ".memoryBudgetPercent", 10);
+
+    /**
+     * Estimated generation time, which requires a confirmation from the user.
+     */
+    static final long CONFIRMATION_THRESHOLD = TimeUnit.SECONDS.toMillis(
+            Long.getLong(ReportPlanner.class.getName() + ".confirmationThresholdSeconds", 300));
+
+    /**
+     * Evaluation time of a single cell, which is used till the first report is generated.
+     */
+    static final long DEFAULT_NANOS_PER_CELL = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Memory per row: row object, vector reference and map entries.
+     */
+    static final int BYTES_PER_ROW = 256;
+
+    /**
+     * Memory per cell in dense storage: reference to the entry report.
+     */
+    static final int DENSE_BYTES_PER_CELL = 8;
+
+    /**
+     * Memory per cell in sparse storage: bit in the granted mask and the granted entries.
+     * The estimation assumes that a quarter of cells is granted.
+     */
+    static final int SPARSE_BYTES_PER_CELL = 2;
+
+    /**
+     * Weight of the latest measurement in the moving average of the per-cell timing.
+     */
+    private static final double TIMING_WEIGHT = 0.3;
+
+    private static final ReportPlanner INSTANCE = new ReportPlanner(
+            Runtime.getRuntime().maxMemory() / 100 * MEMORY_BUDGET_PERCENT, CONFIRMATION_THRESHOLD);
+
+    private final long memoryBudget;
+    private final long confirmationThreshold;
+    private double nanosPerCell = DEFAULT_NANOS_PER_CELL;
+
+    @Nonnull
+    public static ReportPlanner getInstance() {
+        return INSTANCE;
+    }
+
+    /*package*/ ReportPlanner(long memoryBudget, long confirmationThreshold) {
+        this.memoryBudget = memoryBudget;
+        this.confirmationThreshold = confirmationThreshold;
+    }
+
+    /**
+     * Plans the report.
+     *
+     * @param rows Estimated number of rows. Negative value if unknown
+     * @param columns Number of reported permissions
+     * @param options Requested report options
+     * @return Report plan
+     */
+    @Nonnull
+    public ReportPlan plan(int rows, int columns, @Nonnull ReportOptions options) {
+        if (rows < 0) {
+            return new ReportPlan(-1, columns, 0, 0, memoryBudget, options, false, false);
+        }
+
+        ReportOptions plannedOptions = options;
+        boolean sparseStorageForced = false;
+        long memory = estimateMemory(rows, columns, options.isSparse());
+        if (memory > memoryBudget && !options.isSparse()) {
+            plannedOptions = new ReportOptions(true, options.isDropEmptyRows(), options.isGroupIdenticalRows());
+            sparseStorageForced = true;
+            memory = estimateMemory(rows, columns, true);
+        }
+
+        final long duration = TimeUnit.NANOSECONDS.toMillis((long) ((double) rows * columns * getNanosPerCell()));
+        final boolean confirmationRequired = memory > memoryBudget || duration > confirmationThreshold;
+        return new ReportPlan(rows, columns, memory, duration, memoryBudget, plannedOptions, 
+                sparseStorageForced, confirmationRequired);
+    }
+
+    /**
+     * Records the timing of a generated report.
+     *
+     * @param cells Number of evaluated cells
+     * @param nanos Generation time in nanoseconds
+     */
+    public synchronized void recordTiming(long cells, long nanos) {
+        if (cells <= 0 || nanos <= 0) {
+            return;
+        }
+        nanosPerCell = (1 - TIMING_WEIGHT) * nanosPerCell + TIMING_WEIGHT * nanos / cells;
+    }
+
+    /**
+     * Gets the estimated evaluation time of a single cell.
+     *
+     * @return Time in nanoseconds
+     */
+    public synchronized double getNanosPerCell() {
+        return nanosPerCell;
+    }
+
+    private static long estimateMemory(int rows, int columns, boolean sparse) {
+        final long cells = (long) rows * columns;
+        return rows * (long) BYTES_PER_ROW + cells * (sparse ? SPARSE_BYTES_PER_CELL : DENSE_BYTES_PER_CELL);
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import org.acegisecurity.Authentication;
+import org.acegisecurity.context.SecurityContext;
+import org.acegisecurity.context.SecurityContextHolder;
+import org.acegisecurity.context.SecurityContextImpl;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+/**
+ * Runs report computations on a limited number of low-priority worker threads.
+ * Requests exceeding the concurrency limit wait in a FIFO admission queue,
+ * and each running report is kept within the CPU-time budget by {@link ReportExecution}.
+ * It prevents large audits from competing with the build scheduling and the UI of the controller.
+ */
+@Restricted(NoExternalUse.class)
+public class ReportScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportScheduler.class.getName());
+
+    /**
+     * Maximum number of reports being computed at the same time.
+     */
+    static final int MAX_CONCURRENT_REPORTS = Math.max(1,
+            Integer.getInteger(ReportScheduler.class.getName() + ".maxConcurrentReports", 2));
+
+    /**
+     * Number of rows evaluated between the CPU budget checks.
+     */
+    static final int ROW_BATCH_SIZE = Integer.getInteger(ReportScheduler.class.getName() + ".rowBatchSize", 50);
+
+    /**
+     * CPU time a single report may consume, in percents of one core.
+     * {@code 100} disables the throttling.
+     */
+    static final int CPU_BUDGET_PERCENT = Integer.getInteger(ReportScheduler.class.getName() + ".cpuBudgetPercent", 50);
+
+    /**
+     * Time after which a report is cancelled if no client is waiting for it anymore.
+     */
+    static final long LEASE_TIMEOUT = TimeUnit.SECONDS.toMillis(
+            Long.getLong(ReportScheduler.class.getName() + ".leaseTimeoutSeconds", 30));
+
+    private static final ReportScheduler INSTANCE = new ReportScheduler(MAX_CONCURRENT_REPORTS);
+
+    private static final ThreadLocal<ReportExecution> CURRENT = new ThreadLocal<>();
+
+    private final int maxConcurrentReports;
+    private final long leaseTimeout;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong executionNumber = new AtomicLong();
+    private final List<ReportExecution> queued = new ArrayList<>();
+    private final List<ReportExecution> running = new ArrayList<>();
+
+    @Nonnull
+    public static ReportScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /*package*/ ReportScheduler(int maxConcurrentReports) {
+        this(maxConcurrentReports, LEASE_TIMEOUT);
+    }
+
+    /*package*/ ReportScheduler(int maxConcurrentReports, long leaseTimeout) {
+        this.maxConcurrentReports = maxConcurrentReports;
+        this.leaseTimeout = leaseTimeout;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentReports, maxConcurrentReports, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "Security Inspector report #" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Submits the computation to the admission queue.
+     * The computation runs with the authentication of the calling thread.
+     *
+     * @param <T> Type of the result
+     * @param key Key of the report being computed
+     * @param computation Computation
+     * @return Future of the computation result
+     */
+    @Nonnull
+    public <T> Future<T> submit(@Nonnull ReportKey key, @Nonnull Callable<T> computation) {
+        final FutureTask<T> task = new FutureTask<>(computation);
+        schedule(createExecution(key, task));
+        return task;
+    }
+
+    /**
+     * Creates a new execution for the task.
+     * The execution does not start until it is passed to {@link #schedule(org.jenkinsci.plugins.securityinspector.model.ReportExecution)}.
+     *
+     * @param key Key of the report being computed
+     * @param task Task to be executed
+     * @return Created execution
+     */
+    @Nonnull
+    public ReportExecution createExecution(@Nonnull ReportKey key, @Nonnull RunnableFuture<?> task) {
+        return new ReportExecution(executionNumber.incrementAndGet(), key, task, 
+                ROW_BATCH_SIZE, CPU_BUDGET_PERCENT, leaseTimeout);
+    }
+
+    /**
+     * Gets the time after which abandoned executions are cancelled.
+     *
+     * @return Lease timeout in milliseconds
+     */
+    /*package*/ long getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    /**
+     * Puts the execution to the admission queue.
+     * The task runs with the authentication of the calling thread.
+     *
+     * @param execution Execution to be scheduled
+     */
+    public void schedule(@Nonnull final ReportExecution execution) {
+        final RunnableFuture<?> task = execution.getTask();
+        final ReportKey key = execution.getKey();
+        final Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        synchronized (this) {
+            queued.add(execution);
+        }
+
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (ReportScheduler.this) {
+                    queued.remove(execution);
+                    if (execution.isCancelled()) {
+                        LOGGER.log(Level.FINE, "Skipping the cancelled report {0}", key);
+                        task.cancel(false);
+                        return;
+                    }
+                    running.add(execution);
+                }
+                final SecurityContext initialContext = SecurityContextHolder.getContext();
+                final SecurityContext context = new SecurityContextImpl();
+                context.setAuthentication(auth);
+                SecurityContextHolder.setContext(context);
+                CURRENT.set(execution);
+                execution.onStarted();
+                try {
+                    task.run();
+                } finally {
+                    CURRENT.remove();
+                    SecurityContextHolder.setContext(initialContext);
+                    synchronized (ReportScheduler.this) {
+                        running.remove(execution);
+                    }
+                }
+            }
+        };
+
+        try {
+            executor.execute(worker);
+        } catch (RejectedExecutionException ex) {
+            LOGGER.log(Level.WARNING, "Cannot schedule " + key + ", running it in the calling thread", ex);
+            worker.run();
+        }
+    }
+
+    /**
+     * Notifies the scheduler that a row has been evaluated by the current thread.
+     * Does nothing if the thread does not run a scheduled report.
+     */
+    public static void checkpoint() {
+        final ReportExecution execution = CURRENT.get();
+        if (execution != null) {
+            execution.checkpoint();
+        }
+    }
+
+    /**
+     * Gets the execution running in the current thread.
+     *
+     * @return Execution. {@code null} if the thread does not run a scheduled report
+     */
+    @CheckForNull
+    public static ReportExecution getCurrentExecution() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the position of the report in the admission queue.
+     *
+     * @param key Report key
+     * @return Position starting from {@code 1}. {@code 0} if the report is not queued
+     */
+    public synchronized int getQueuePosition(@Nonnull ReportKey key) {
+        for (int i = 0; i < queued.size(); i++) {
+            if (queued.get(i).getKey().equals(key)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the running execution of the report.
+     *
+     * @param key Report key
+     * @return Execution. {@code null} if the report is not running
+     */
+    @CheckForNull
+    public synchronized ReportExecution getRunningExecution(@Nonnull ReportKey key) {
+        for (ReportExecution execution : running) {
+            if (execution.getKey().equals(key)) {
+                return execution;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the execution by its ID.
+     *
+     * @param id Execution ID
+     * @return Queued or running execution. {@code null} if it cannot be found
+     */
+    @CheckForNull
+    public synchronized ReportExecution getExecution(long id) {
+        for (ReportExecution execution : running) {
+            if (execution.getId() == id) {
+                return execution;
+            }
+        }
+        for (ReportExecution execution : queued) {
+            if (execution.getId() == id) {
+                return execution;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cancels all queued and running executions of the report.
+     *
+     * @param key Report key
+     * @return Number of cancelled executions
+     */
+    public int cancel(@Nonnull ReportKey key) {
+        final List<ReportExecution> toCancel = new ArrayList<>();
+        synchronized (this) {
+            for (ReportExecution execution : running) {
+                if (execution.getKey().equals(key)) {
+                    toCancel.add(execution);
+                }
+            }
+            for (ReportExecution execution : queued) {
+                if (execution.getKey().equals(key)) {
+                    toCancel.add(execution);
+                }
+            }
+        }
+        for (ReportExecution execution : toCancel) {
+            LOGGER.log(Level.FINE, "Cancelling {0}", execution);
+            execution.cancel();
+        }
+        return toCancel.size();
+    }
+
+    @RequirePOST
+    @Restricted(NoExternalUse.class)
+    public HttpResponse doCancel(@QueryParameter long id) {
+        JenkinsHelper.getInstanceOrFail().checkPermission(Jenkins.ADMINISTER);
+        final ReportExecution execution = getExecution(id);
+        if (execution != null) {
+            LOGGER.log(Level.FINE, "Cancelling {0}", execution);
+            execution.cancel();
+        }
+        return HttpResponses.forwardToPreviousPage();
+    }
+
+    @Nonnull
+    public synchronized List<ReportExecution> getQueued() {
+        return new ArrayList<>(queued);
+    }
+
+    @Nonnull
+    public synchronized List<ReportExecution> getRunning() {
+        return new ArrayList<>(running);
+    }
+
+    public int getMaxConcurrentReports() {
+        return maxConcurrentReports;
+    }
+
+    public int getCpuBudgetPercent() {
+        return CPU_BUDGET_PERCENT;
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Report snapshot saved by {@link ReportSnapshotStorage}.
+ * The file starts with a header line, which is followed by a line per row in the ascending order of row IDs:
+ * <pre>
+ * {"target":"alice","timestamp":1514764800000,"rows":2,"columns":["hudson.model.Item.Build","hudson.model.Item.Read"]}
+ * {"id":"folder","row":"Folder","mask":"2"}
+ * {"id":"project","row":"Project","mask":"3"}
+ * </pre>
+ * IDs come from {@link SecurityInspectorReport#getRowId(java.lang.Object)}, and {@code row} is the title for display.
+ * Masks use the format of {@link ExportFormat#JSON}.
+ * Delta snapshots written by {@link ReportHistory} have the {@code base} field in the header. They contain only rows,
+ * which differ from the base snapshot, and rows missing in this snapshot are marked by {@code "removed":true}.
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportSnapshot {
+
+    @Nonnull
+    private final File file;
+    @Nonnull
+    private final String target;
+    private final long timestamp;
+    private final int rowCount;
+    @Nonnull
+    private final List<String> columns;
+    @CheckForNull
+    private final String base;
+
+    private ReportSnapshot(@Nonnull File file, @Nonnull String target, long timestamp, int rowCount, 
+            @Nonnull List<String> columns, @CheckForNull String base) {
+        this.file = file;
+        this.target = target;
+        this.timestamp = timestamp;
+        this.rowCount = rowCount;
+        this.columns = Collections.unmodifiableList(columns);
+        this.base = base;
+    }
+
+    /**
+     * Reads the snapshot header.
+     *
+     * @param file Snapshot file
+     * @return Snapshot
+     * @throws IOException The file cannot be read or it is not a snapshot
+     */
+    @Nonnull
+    public static ReportSnapshot read(@Nonnull File file) throws IOException {
+        try (BufferedReader reader = openReader(file)) {
+            final String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Snapshot " + file + " is empty");
+            }
+            final JSONObject header = parse(file, line);
+            if (!header.has("columns")) {
+                throw new IOException("Snapshot " + file + " has an unsupported format");
+            }
+            final JSONArray array = header.getJSONArray("columns");
+            final List<String> columns = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                columns.add(array.getString(i));
+            }
+            return new ReportSnapshot(file, header.getString("target"), header.getLong("timestamp"), 
+                    header.optInt("rows", -1), columns, header.has("base") ? header.getString("base") : null);
+        }
+    }
+
+    /**
+     * Gets the identifier of the snapshot.
+     *
+     * @return File name without the {@link ReportSnapshotStorage#SNAPSHOT_SUFFIX}
+     */
+    @Nonnull
+    public String getId() {
+        return getId(file);
+    }
+
+    @Nonnull
+    /*package*/ static String getId(@Nonnull File file) {
+        final String name = file.getName();
+        return name.endsWith(ReportSnapshotStorage.SNAPSHOT_SUFFIX) 
+                ? name.substring(0, name.length() - ReportSnapshotStorage.SNAPSHOT_SUFFIX.length()) : name;
+    }
+
+    @Nonnull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the name of the report target, e.g. the user.
+     *
+     * @return Target name
+     */
+    @Nonnull
+    public String getTarget() {
+        return target;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Nonnull
+    public Date getTime() {
+        return new Date(timestamp);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return Number of rows. {@code -1} if it is unknown
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the snapshot, which this delta snapshot is based on.
+     *
+     * @return ID of the base snapshot. {@code null} if the snapshot contains all rows
+     */
+    @CheckForNull
+    public String getBase() {
+        return base;
+    }
+
+    public boolean isDelta() {
+        return base != null;
+    }
+
+    /**
+     * Gets identifiers of the columns.
+     *
+     * @return Column IDs in the order of bits in {@link RowReader#getGranted()}
+     */
+    @Nonnull
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Opens the reader of rows.
+     * Rows are not loaded into the memory, so the reader should be closed after the use.
+     *
+     * @return Reader of rows
+     * @throws IOException Read error
+     */
+    @Nonnull
+    public RowReader openRows() throws IOException {
+        final BufferedReader reader = openReader(file);
+        // Skip the header
+        reader.readLine();
+        return new RowReader(reader);
+    }
+
+    @Nonnull
+    private static BufferedReader openReader(@Nonnull File file) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8));
+    }
+
+    @Nonnull
+    private static JSONObject parse(@Nonnull File file, @Nonnull String line) throws IOException {
+        try {
+            return JSONObject.fromObject(line);
+        } catch (JSONException ex) {
+            throw new IOException("Snapshot " + file + " contains a malformed line: " + line, ex);
+        }
+    }
+
+    /**
+     * Sequential reader of snapshot rows.
+     */
+    public final class RowReader implements Closeable {
+
+        @Nonnull
+        private final BufferedReader reader;
+        @CheckForNull
+        private String id;
+        @CheckForNull
+        private String row;
+        @CheckForNull
+        private BitSet granted;
+        @CheckForNull
+        private String previousId;
+        private boolean removed;
+
+        private RowReader(@Nonnull BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the next row.
+         * The order of rows is verified, because snapshots are compared by merge joins.
+         *
+         * @return {@code false} if there is no more rows
+         * @throws IOException Read error, malformed row or rows are not sorted by IDs
+         */
+        public boolean next() throws IOException {
+            previousId = id;
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    id = null;
+                    row = null;
+                    granted = null;
+                    return false;
+                }
+            } while (line.isEmpty());
+
+            final JSONObject json = parse(file, line);
+            row = json.getString("row");
+            id = json.getString("id");
+            if (previousId != null && previousId.compareTo(id) > 0) {
+                throw new IOException("Rows of the snapshot " + file + " are not sorted: " + id + " follows " + previousId);
+            }
+            removed = json.optBoolean("removed");
+            if (removed) {
+                granted = new BitSet();
+            } else {
+                granted = readMask(json.getString("mask"));
+            }
+            return true;
+        }
+
+        @Nonnull
+        private BitSet readMask(@Nonnull String mask) throws IOException {
+            try {
+                return ExportFormat.fromHexMask(mask);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Snapshot " + file + " contains a malformed mask of " + row, ex);
+            }
+        }
+
+        /**
+         * Gets the identifier of the current row.
+         *
+         * @return Row ID
+         * @throws IllegalStateException {@link #next()} has not returned {@code true}
+         */
+        @Nonnull
+        public String getId() throws IllegalStateException {
+            if (id == null) {
+                throw new IllegalStateException("There is no current row");
+            }
+            return id;
+        }
+
+        /**
+         * Gets the title of the current row.
+         *
+         * @return Row title
+         * @throws IllegalStateException {@link #next()} has not returned {@code true}
+         */
+        @Nonnull
+        public String getRow() throws IllegalStateException {
+            if (row == null) {
+                throw new IllegalStateException("There is no current row");
+            }
+            return row;
+        }
+
+        /**
+         * Gets granted columns of the current row.
+         *
+         * @return Indexes in {@link #getColumns()}
+         * @throws IllegalStateException {@link #next()} has not returned {@code true}
+         */
+        @Nonnull
+        public BitSet getGranted() throws IllegalStateException {
+            if (granted == null) {
+                throw new IllegalStateException("There is no current row");
+            }
+            return granted;
+        }
+
+        /**
+         * Checks whether the current row is missing in the delta snapshot, but exists in its base.
+         *
+         * @return {@code true} if the row has been removed
+         */
+        public boolean isRemoved() {
+            return removed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
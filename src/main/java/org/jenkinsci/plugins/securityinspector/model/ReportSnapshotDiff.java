@@ -0,0 +1,419 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Difference between two {@link ReportSnapshot}s.
+ * Snapshots are compared by a merge join over rows sorted by IDs, and granted columns of matching rows
+ * are compared by XOR of their bit sets. Rows are streamed from the files, so the memory usage does not depend
+ * on the snapshot size.
+ * Columns, which are missing in one of the snapshots, are not compared.
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportSnapshotDiff {
+
+    @Nonnull
+    private final ReportSnapshot from;
+    @Nonnull
+    private final ReportSnapshot to;
+    @Nonnull
+    private final List<String> addedColumns = new ArrayList<>();
+    @Nonnull
+    private final List<String> removedColumns = new ArrayList<>();
+    private int addedRows;
+    private int removedRows;
+    private int changedRows;
+    private int unchangedRows;
+    private long granted;
+    private long revoked;
+
+    private ReportSnapshotDiff(@Nonnull ReportSnapshot from, @Nonnull ReportSnapshot to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Compares snapshots.
+     *
+     * @param from Older snapshot
+     * @param to Newer snapshot
+     * @param listener Listener, which receives changes in the order of row IDs
+     * @return Summary of the difference
+     * @throws IOException Snapshot read error
+     */
+    @Nonnull
+    public static ReportSnapshotDiff compare(@Nonnull ReportSnapshot from, @Nonnull ReportSnapshot to, 
+            @Nonnull Listener listener) throws IOException {
+        final ReportSnapshotDiff diff = new ReportSnapshotDiff(from, to);
+        final List<String> fromColumns = from.getColumns();
+        final List<String> toColumns = to.getColumns();
+        final boolean sameColumns = fromColumns.equals(toColumns);
+
+        // Bits of the older snapshot are remapped to columns of the newer one
+        final Map<String, Integer> toIndexes = new HashMap<>(toColumns.size());
+        for (String column : toColumns) {
+            toIndexes.put(column, toIndexes.size());
+        }
+        final int[] remap = new int[fromColumns.size()];
+        final BitSet common = new BitSet(toColumns.size());
+        for (int i = 0; i < remap.length; i++) {
+            final Integer index = toIndexes.get(fromColumns.get(i));
+            if (index != null) {
+                remap[i] = index;
+                common.set(index);
+            } else {
+                remap[i] = -1;
+                diff.removedColumns.add(fromColumns.get(i));
+            }
+        }
+        for (int i = 0; i < toColumns.size(); i++) {
+            if (!common.get(i)) {
+                diff.addedColumns.add(toColumns.get(i));
+            }
+        }
+
+        try (ReportSnapshot.RowReader older = from.openRows(); ReportSnapshot.RowReader newer = to.openRows()) {
+            boolean hasOlder = older.next();
+            boolean hasNewer = newer.next();
+            while (hasOlder || hasNewer) {
+                final int cmp = !hasOlder ? 1 : !hasNewer ? -1 : older.getId().compareTo(newer.getId());
+                if (cmp < 0) {
+                    diff.removedRows++;
+                    listener.onRowRemoved(older.getRow(), toColumnIds(older.getGranted(), fromColumns));
+                    hasOlder = older.next();
+                } else if (cmp > 0) {
+                    diff.addedRows++;
+                    listener.onRowAdded(newer.getRow(), toColumnIds(newer.getGranted(), toColumns));
+                    hasNewer = newer.next();
+                } else {
+                    final BitSet before = sameColumns ? older.getGranted() : remap(older.getGranted(), remap);
+                    final BitSet after = newer.getGranted();
+                    if (!sameColumns) {
+                        after.and(common);
+                    }
+                    final BitSet changed = (BitSet) before.clone();
+                    changed.xor(after);
+                    if (changed.isEmpty()) {
+                        diff.unchangedRows++;
+                    } else {
+                        final BitSet grantedColumns = (BitSet) changed.clone();
+                        grantedColumns.and(after);
+                        changed.and(before);
+                        diff.changedRows++;
+                        diff.granted += grantedColumns.cardinality();
+                        diff.revoked += changed.cardinality();
+                        listener.onRowChanged(newer.getRow(), toColumnIds(grantedColumns, toColumns), 
+                                toColumnIds(changed, toColumns));
+                    }
+                    hasOlder = older.next();
+                    hasNewer = newer.next();
+                }
+            }
+        }
+        return diff;
+    }
+
+    @Nonnull
+    private static BitSet remap(@Nonnull BitSet bits, @Nonnull int[] remap) {
+        final BitSet res = new BitSet();
+        for (int i = bits.nextSetBit(0); i >= 0 && i < remap.length; i = bits.nextSetBit(i + 1)) {
+            if (remap[i] >= 0) {
+                res.set(remap[i]);
+            }
+        }
+        return res;
+    }
+
+    @Nonnull
+    private static List<String> toColumnIds(@Nonnull BitSet bits, @Nonnull List<String> columns) {
+        if (bits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> res = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0 && i < columns.size(); i = bits.nextSetBit(i + 1)) {
+            res.add(columns.get(i));
+        }
+        return res;
+    }
+
+    @Nonnull
+    public ReportSnapshot getFrom() {
+        return from;
+    }
+
+    @Nonnull
+    public ReportSnapshot getTo() {
+        return to;
+    }
+
+    /**
+     * Gets columns, which exist only in the newer snapshot.
+     *
+     * @return Column IDs
+     */
+    @Nonnull
+    public List<String> getAddedColumns() {
+        return Collections.unmodifiableList(addedColumns);
+    }
+
+    /**
+     * Gets columns, which exist only in the older snapshot.
+     *
+     * @return Column IDs
+     */
+    @Nonnull
+    public List<String> getRemovedColumns() {
+        return Collections.unmodifiableList(removedColumns);
+    }
+
+    public int getAddedRows() {
+        return addedRows;
+    }
+
+    public int getRemovedRows() {
+        return removedRows;
+    }
+
+    public int getChangedRows() {
+        return changedRows;
+    }
+
+    public int getUnchangedRows() {
+        return unchangedRows;
+    }
+
+    /**
+     * Gets the number of permissions granted in rows existing in both snapshots.
+     *
+     * @return Number of cells
+     */
+    public long getGranted() {
+        return granted;
+    }
+
+    /**
+     * Gets the number of permissions revoked in rows existing in both snapshots.
+     *
+     * @return Number of cells
+     */
+    public long getRevoked() {
+        return revoked;
+    }
+
+    /**
+     * Receives changes found by {@link #compare(ReportSnapshot, ReportSnapshot, Listener)}.
+     */
+    public static abstract class Listener {
+
+        /**
+         * Invoked for rows, which exist only in the newer snapshot.
+         *
+         * @param row Row title
+         * @param granted Granted columns
+         * @throws IOException Processing error, e.g. the client has disconnected
+         */
+        public void onRowAdded(@Nonnull String row, @Nonnull List<String> granted) throws IOException {
+            // Do nothing by default
+        }
+
+        /**
+         * Invoked for rows, which exist only in the older snapshot.
+         *
+         * @param row Row title
+         * @param revoked Columns granted in the older snapshot
+         * @throws IOException Processing error, e.g. the client has disconnected
+         */
+        public void onRowRemoved(@Nonnull String row, @Nonnull List<String> revoked) throws IOException {
+            // Do nothing by default
+        }
+
+        /**
+         * Invoked for rows with changed permissions.
+         *
+         * @param row Row title
+         * @param granted Newly granted columns
+         * @param revoked Revoked columns
+         * @throws IOException Processing error, e.g. the client has disconnected
+         */
+        public void onRowChanged(@Nonnull String row, @Nonnull List<String> granted, @Nonnull List<String> revoked) 
+                throws IOException {
+            // Do nothing by default
+        }
+    }
+
+    /**
+     * Writes changes as NDJSON, one line per row:
+     * {@code {"row":"job","change":"changed","granted":["hudson.model.Item.Build"],"revoked":[]}}.
+     */
+    public static final class JsonLinesWriter extends Listener {
+
+        @Nonnull
+        private final JsonStreamWriter json;
+
+        public JsonLinesWriter(@Nonnull Writer out) {
+            this.json = new JsonStreamWriter(out);
+        }
+
+        @Override
+        public void onRowAdded(String row, List<String> granted) throws IOException {
+            write(row, "added", granted, Collections.<String>emptyList());
+        }
+
+        @Override
+        public void onRowRemoved(String row, List<String> revoked) throws IOException {
+            write(row, "removed", Collections.<String>emptyList(), revoked);
+        }
+
+        @Override
+        public void onRowChanged(String row, List<String> granted, List<String> revoked) throws IOException {
+            write(row, "changed", granted, revoked);
+        }
+
+        private void write(@Nonnull String row, @Nonnull String change, @Nonnull List<String> granted, 
+                @Nonnull List<String> revoked) throws IOException {
+            json.beginObject().name("row").value(row).name("change").value(change);
+            json.name("granted").beginArray();
+            for (String column : granted) {
+                json.value(column);
+            }
+            json.endArray().name("revoked").beginArray();
+            for (String column : revoked) {
+                json.value(column);
+            }
+            json.endArray().endObject().newLine();
+        }
+    }
+
+    /**
+     * Keeps the first changes for displaying them.
+     */
+    public static final class Collector extends Listener {
+
+        private final int limit;
+        @Nonnull
+        private final List<Change> changes = new ArrayList<>();
+
+        /**
+         * Constructor.
+         *
+         * @param limit Maximum number of kept changes
+         */
+        public Collector(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onRowAdded(String row, List<String> granted) {
+            add(new Change(Change.Type.ADDED, row, granted, Collections.<String>emptyList()));
+        }
+
+        @Override
+        public void onRowRemoved(String row, List<String> revoked) {
+            add(new Change(Change.Type.REMOVED, row, Collections.<String>emptyList(), revoked));
+        }
+
+        @Override
+        public void onRowChanged(String row, List<String> granted, List<String> revoked) {
+            add(new Change(Change.Type.CHANGED, row, granted, revoked));
+        }
+
+        private void add(@Nonnull Change change) {
+            if (changes.size() < limit) {
+                changes.add(change);
+            }
+        }
+
+        /**
+         * Gets the kept changes.
+         *
+         * @return First changes in the order of row IDs
+         */
+        @Nonnull
+        public List<Change> getChanges() {
+            return Collections.unmodifiableList(changes);
+        }
+    }
+
+    /**
+     * Change of a single row.
+     */
+    public static final class Change {
+
+        public enum Type {
+            ADDED,
+            REMOVED,
+            CHANGED
+        }
+
+        @Nonnull
+        private final Type type;
+        @Nonnull
+        private final String row;
+        @Nonnull
+        private final List<String> granted;
+        @Nonnull
+        private final List<String> revoked;
+
+        /*package*/ Change(@Nonnull Type type, @Nonnull String row, @Nonnull List<String> granted, 
+                @Nonnull List<String> revoked) {
+            this.type = type;
+            this.row = row;
+            this.granted = granted;
+            this.revoked = revoked;
+        }
+
+        @Nonnull
+        public Type getType() {
+            return type;
+        }
+
+        @Nonnull
+        public String getRow() {
+            return row;
+        }
+
+        @Nonnull
+        public List<String> getGranted() {
+            return granted;
+        }
+
+        @Nonnull
+        public List<String> getRevoked() {
+            return revoked;
+        }
+    }
+}
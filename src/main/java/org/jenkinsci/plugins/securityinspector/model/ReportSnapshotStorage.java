@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.util.JenkinsHelper;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Stores snapshots of generated reports in {@code JENKINS_HOME/security-inspector/snapshots}.
+ * Snapshots are gzipped NDJSON files described in {@link ReportSnapshot}, one directory per {@link ReportBuilder}.
+ */
+@Restricted(NoExternalUse.class)
+public class ReportSnapshotStorage {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportSnapshotStorage.class.getName());
+    private static final ReportSnapshotStorage INSTANCE = new ReportSnapshotStorage();
+
+    /**
+     * Suffix of snapshot files.
+     */
+    public static final String SNAPSHOT_SUFFIX = ".ndjson.gz";
+
+    @Nonnull
+    public static ReportSnapshotStorage getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the root directory for snapshots.
+     *
+     * @return Directory, which may not exist yet
+     */
+    @Nonnull
+    public File getRootDir() {
+        return new File(JenkinsHelper.getInstanceOrFail().getRootDir(), "security-inspector/snapshots");
+    }
+
+    /**
+     * Gets the directory for snapshots of the builder.
+     *
+     * @param builderIndex Index of the {@link ReportBuilder}
+     * @return Directory, which may not exist yet
+     */
+    @Nonnull
+    public File getSnapshotDir(@Nonnull String builderIndex) {
+        return new File(getRootDir(), toFileName(builderIndex));
+    }
+
+    /**
+     * Saves the generated report.
+     *
+     * @param builderIndex Index of the {@link ReportBuilder}, which generated the report
+     * @param report Generated report
+     * @return Snapshot file
+     * @throws IOException Cannot write the snapshot
+     */
+    @Nonnull
+    public File save(@Nonnull String builderIndex, @Nonnull SecurityInspectorReport<?, ?, ?, ?> report) 
+            throws IOException {
+        final File dir = getSnapshotDir(builderIndex);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create the snapshot directory " + dir);
+        }
+
+        final long timestamp = System.currentTimeMillis();
+        final SimpleDateFormat f = new SimpleDateFormat("yyyyMMdd-HHmmss");
+        f.setTimeZone(TimeZone.getTimeZone("UTC"));
+        final String name = toFileName(report.getReportTargetName()) + "-" + f.format(new Date(timestamp));
+        File file = new File(dir, name + SNAPSHOT_SUFFIX);
+        for (int i = 1; file.exists(); i++) {
+            file = new File(dir, name + "-" + i + SNAPSHOT_SUFFIX);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8))) {
+            write(report, timestamp, writer);
+        }
+        return file;
+    }
+
+    /**
+     * Writes the report in the snapshot format.
+     *
+     * @param <TRow> Class of the Rows in the report
+     * @param report Generated report
+     * @param timestamp Time of the snapshot
+     * @param out Output writer
+     * @throws IOException Write error
+     */
+    public static <TRow> void write(@Nonnull final SecurityInspectorReport<TRow, ?, ?, ?> report, long timestamp, 
+            @Nonnull Writer out) throws IOException {
+        final String[] columnIds = ExportFormat.getColumnIds(report);
+        final JsonStreamWriter json = new JsonStreamWriter(out);
+        json.beginObject();
+        json.name("target").value(report.getReportTargetName());
+        json.name("timestamp").value(timestamp);
+        json.name("rows").value(report.getRows().size());
+        json.name("columns").beginArray();
+        for (String columnId : columnIds) {
+            json.value(columnId);
+        }
+        json.endArray().endObject().newLine();
+
+        // Snapshots are merge-joined by row IDs, which usually follow the order of titles, so sorting is cheap
+        final List<TRow> rows = new ArrayList<>(report.getRows());
+        Collections.sort(rows, new Comparator<TRow>() {
+            @Override
+            public int compare(TRow o1, TRow o2) {
+                return report.getRowId(o1).compareTo(report.getRowId(o2));
+            }
+        });
+        for (TRow row : rows) {
+            json.beginObject().name("id").value(report.getRowId(row));
+            json.name("row").value(report.getRowTitle(row));
+            json.name("mask").value(ExportFormat.toHexMask(report.getGrantedColumns(row), columnIds.length));
+            json.endObject().newLine();
+        }
+    }
+
+    /**
+     * Lists snapshots of the builder.
+     * Unreadable files are skipped.
+     *
+     * @param builderIndex Index of the {@link ReportBuilder}
+     * @return Snapshots, newest first
+     */
+    @Nonnull
+    public List<ReportSnapshot> list(@Nonnull String builderIndex) {
+        final File[] files = getSnapshotDir(builderIndex).listFiles();
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        final List<ReportSnapshot> res = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (!file.getName().endsWith(SNAPSHOT_SUFFIX)) {
+                continue;
+            }
+            try {
+                res.add(ReportSnapshot.read(file));
+            } catch (IOException ex) {
+                LOGGER.log(Level.WARNING, "Cannot read the report snapshot " + file, ex);
+            }
+        }
+        Collections.sort(res, new Comparator<ReportSnapshot>() {
+            @Override
+            public int compare(ReportSnapshot o1, ReportSnapshot o2) {
+                return Long.compare(o2.getTimestamp(), o1.getTimestamp());
+            }
+        });
+        return res;
+    }
+
+    /**
+     * Gets the snapshot by its identifier.
+     *
+     * @param builderIndex Index of the {@link ReportBuilder}
+     * @param id Snapshot ID, see {@link ReportSnapshot#getId()}
+     * @return Snapshot. {@code null} if it does not exist
+     * @throws IOException The snapshot cannot be read
+     */
+    @CheckForNull
+    public ReportSnapshot get(@Nonnull String builderIndex, @Nonnull String id) throws IOException {
+        if (!id.equals(toFileName(id)) || id.startsWith(".")) {
+            // Do not allow accessing files outside the directory
+            return null;
+        }
+        final File file = new File(getSnapshotDir(builderIndex), id + SNAPSHOT_SUFFIX);
+        return file.isFile() ? ReportSnapshot.read(file) : null;
+    }
+
+    /**
+     * Converts the name to a safe file name.
+     *
+     * @param name Name
+     * @return Name with characters other than letters, digits, dots, underscores and dashes replaced
+     */
+    @Nonnull
+    public static String toFileName(@Nonnull String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
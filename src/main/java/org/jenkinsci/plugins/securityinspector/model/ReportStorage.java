@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Stores entries of {@link SecurityInspectorReport}.
+ * Columns are addressed by their indexes in {@link SecurityInspectorReport#getSortedColumns()}.
+ * Rows with identical entries share a single interned {@link RowVector}.
+ *
+ * @param <TRow> Class of the Rows in the report
+ * @param <TEntryReport> Class of the stored entries
+ */
+/*package*/ abstract class ReportStorage<TRow, TEntryReport> {
+
+    @Nonnull
+    private final Map<TRow, Integer> rowVectors = new HashMap<>();
+    @Nonnull
+    private final List<RowVector> vectors = new ArrayList<>();
+    @Nonnull
+    private final Map<RowVector, Integer> vectorIndexes = new HashMap<>();
+    private int grantCount = 0;
+
+    /**
+     * Adds a row to the storage.
+     * Rows are added in the display order.
+     *
+     * @param row Row
+     * @param entries Entries for all columns
+     * @param granted Indexes of columns, for which the entry check passes
+     */
+    final void addRow(@Nonnull TRow row, @Nonnull TEntryReport[] entries, @Nonnull BitSet granted) {
+        final RowVector vector = createVector(entries, granted);
+        Integer index = vectorIndexes.get(vector);
+        if (index == null) {
+            index = vectors.size();
+            vectors.add(vector);
+            vectorIndexes.put(vector, index);
+        }
+        rowVectors.put(row, index);
+        grantCount += granted.cardinality();
+    }
+
+    /**
+     * Creates a vector to be interned for the row.
+     *
+     * @param entries Entries for all columns
+     * @param granted Indexes of columns, for which the entry check passes
+     * @return Vector, which contains all data required by {@link #getEntry(RowVector, int)}
+     */
+    @Nonnull
+    abstract RowVector createVector(@Nonnull TEntryReport[] entries, @Nonnull BitSet granted);
+
+    /**
+     * Gets the entry from the vector.
+     *
+     * @param vector Vector created by {@link #createVector(java.lang.Object[], java.util.BitSet)}
+     * @param column Column index
+     * @return Entry. {@code null} if the entry is not stored
+     */
+    @CheckForNull
+    abstract TEntryReport getEntry(@Nonnull RowVector vector, int column);
+
+    /**
+     * Gets the stored entry.
+     *
+     * @param row Row
+     * @param column Column index
+     * @return Entry. {@code null} if the entry is not stored
+     */
+    @CheckForNull
+    final TEntryReport getEntry(@Nonnull TRow row, int column) {
+        final Integer index = rowVectors.get(row);
+        return index != null ? getEntry(vectors.get(index), column) : null;
+    }
+
+    /**
+     * Gets indexes of granted columns for the row.
+     *
+     * @param row Row
+     * @return New bit set with granted columns. Empty if the row is unknown
+     */
+    @Nonnull
+    final BitSet getGrantedColumns(@Nonnull TRow row) {
+        final Integer index = rowVectors.get(row);
+        return index != null ? vectors.get(index).getGranted() : new BitSet();
+    }
+
+    /**
+     * Gets index of the interned vector used by the row.
+     * Rows with the same index have identical entries.
+     *
+     * @param row Row
+     * @return Vector index or {@code -1} if the row is unknown
+     */
+    final int getVectorIndex(@Nonnull TRow row) {
+        final Integer index = rowVectors.get(row);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Gets number of distinct row vectors in the storage.
+     *
+     * @return Number of distinct rows
+     */
+    final int getVectorCount() {
+        return vectors.size();
+    }
+
+    /**
+     * Gets number of granted entries in the storage.
+     *
+     * @return Number of granted entries
+     */
+    final int getGrantCount() {
+        return grantCount;
+    }
+
+    @Nonnull
+    final Map<TRow, Integer> getRowVectors() {
+        return rowVectors;
+    }
+
+    @Nonnull
+    final RowVector getVector(int index) {
+        return vectors.get(index);
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.Messages;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Renders the HTML table of the report.
+ * Jelly evaluates expressions for every cell via reflection, which takes seconds for large reports.
+ * The renderer writes the markup directly using {@link SecurityInspectorReport#getGrantedColumns(java.lang.Object)}.
+ * The header and the column order are prepared once per report and reused by all requests,
+ * because the report does not change after the generation.
+ *
+ * @param <TRow> Class of the Rows in the report
+ * @param <TColumnGroup> Class of the column group definitions
+ * @param <TColumnItem> Class of item reports within a group
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportTableRenderer<TRow, TColumnGroup, TColumnItem> {
+
+    private static final String GRANTED_CELL = "<td class=\"pane\">&#10004;</td>";
+    private static final String EMPTY_CELL = "<td class=\"pane\"></td>";
+    private static final String ROW_START = "<tr><td class=\"start\"></td>";
+    private static final String ROW_END = "<td class=\"stop\"></td></tr>\n";
+
+    /**
+     * Estimated length of the markup per cell, used to size the buffer.
+     */
+    private static final int CHARS_PER_CELL = 24;
+
+    @Nonnull
+    private final SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, ?> report;
+    /**
+     * Indexes of columns in {@link SecurityInspectorReport#getSortedColumns()} in the display order.
+     */
+    @Nonnull
+    private final int[] displayedColumns;
+    @Nonnull
+    private final String header;
+    @CheckForNull
+    private List<SecurityInspectorReport.RowGroup<TRow>> rowGroups;
+
+    /*package*/ ReportTableRenderer(@Nonnull SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, ?> report) {
+        this.report = report;
+
+        final List<TColumnItem> sortedColumns = report.getSortedColumns();
+        final Map<TColumnItem, Integer> indexes = new HashMap<>(sortedColumns.size());
+        for (int i = 0; i < sortedColumns.size(); i++) {
+            indexes.put(sortedColumns.get(i), i);
+        }
+
+        final StringBuilder groupRow = new StringBuilder();
+        final StringBuilder captionRow = new StringBuilder();
+        groupRow.append("<tr class=\"group-row\"><td rowspan=\"2\" class=\"start\"></td>")
+                .append("<td rowspan=\"2\" class=\"pane-header blank\">");
+        escape(groupRow, report.getRowColumnHeader());
+        groupRow.append("</td>");
+        captionRow.append("<tr class=\"caption-row\">");
+
+        final int[] columns = new int[sortedColumns.size()];
+        int count = 0;
+        for (TColumnGroup group : report.getGroups()) {
+            final List<TColumnItem> groupColumns = report.getColumnsOfGroup(group);
+            groupRow.append("<td class=\"pane-header\" colspan=\"").append(groupColumns.size()).append("\">");
+            escape(groupRow, report.getGroupTitle(group));
+            groupRow.append("</td>");
+            for (TColumnItem column : groupColumns) {
+                columns[count++] = indexes.get(column);
+                captionRow.append("<td class=\"pane\">");
+                escape(captionRow, report.getColumnTitle(column));
+                captionRow.append("</td>");
+            }
+        }
+        groupRow.append("<td rowspan=\"2\" class=\"stop\"></td></tr>\n");
+        captionRow.append("</tr>\n");
+
+        this.displayedColumns = count == columns.length ? columns : Arrays.copyOf(columns, count);
+        this.header = groupRow.append(captionRow).toString();
+    }
+
+    /**
+     * Gets the displayed row groups.
+     * The list is computed on the first call, so subsequent requests for chunks of the grid do not regroup rows.
+     *
+     * @return Row groups
+     */
+    @Nonnull
+    public synchronized List<SecurityInspectorReport.RowGroup<TRow>> getDisplayedRowGroups() {
+        if (rowGroups == null) {
+            rowGroups = report.getDisplayedRowGroups();
+        }
+        return rowGroups;
+    }
+
+    /**
+     * Renders the table rows including the header.
+     *
+     * @return HTML markup of the table content
+     */
+    @Nonnull
+    public String render() {
+        return render(getDisplayedRowGroups());
+    }
+
+    /**
+     * Renders the specified rows including the header.
+     *
+     * @param rowGroups Rows to be rendered, e.g. rows matching a query
+     * @return HTML markup of the table content
+     */
+    @Nonnull
+    public String render(@Nonnull List<SecurityInspectorReport.RowGroup<TRow>> rowGroups) {
+        final StringBuilder out = new StringBuilder(header.length() 
+                + rowGroups.size() * (displayedColumns.length + 4) * CHARS_PER_CELL);
+        try {
+            write(out, rowGroups);
+        } catch (IOException ex) {
+            // StringBuilder does not throw IOException
+            throw new IllegalStateException(ex);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the table rows including the header.
+     *
+     * @param out Output
+     * @throws IOException Write error
+     */
+    public void write(@Nonnull Appendable out) throws IOException {
+        write(out, getDisplayedRowGroups());
+    }
+
+    /**
+     * Writes the column layout of the client-side grid.
+     * Columns are listed in the display order, which is also the bit order of row masks.
+     *
+     * @param json Output
+     * @throws IOException Write error
+     * @see #writeGridRows(org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter, int, int)
+     */
+    public void writeGridLayout(@Nonnull JsonStreamWriter json) throws IOException {
+        writeGridLayout(json, getDisplayedRowGroups().size());
+    }
+
+    /**
+     * Writes the column layout of the client-side grid for the specified number of rows.
+     *
+     * @param json Output
+     * @param rows Number of displayed rows
+     * @throws IOException Write error
+     */
+    public void writeGridLayout(@Nonnull JsonStreamWriter json, int rows) throws IOException {
+        json.beginObject();
+        json.name("target").value(report.getReportTargetName());
+        json.name("rowHeader").value(report.getRowColumnHeader());
+        json.name("rows").value(rows);
+        json.name("groups").beginArray();
+        for (TColumnGroup group : report.getGroups()) {
+            json.beginObject();
+            json.name("title").value(report.getGroupTitle(group));
+            json.name("columns").beginArray();
+            for (TColumnItem column : report.getColumnsOfGroup(group)) {
+                json.value(report.getColumnTitle(column));
+            }
+            json.endArray();
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    /**
+     * Writes a chunk of rows for the client-side grid.
+     * Each row is an array of the title, the hexadecimal mask of granted columns in the display order,
+     * the number of grouped rows and, for groups, the titles of all grouped rows.
+     *
+     * @param json Output
+     * @param offset Index of the first displayed row
+     * @param limit Maximum number of rows
+     * @throws IOException Write error
+     */
+    public void writeGridRows(@Nonnull JsonStreamWriter json, int offset, int limit) throws IOException {
+        writeGridRows(json, getDisplayedRowGroups(), offset, limit);
+    }
+
+    /**
+     * Writes a chunk of the specified rows for the client-side grid.
+     *
+     * @param json Output
+     * @param groups Displayed rows, e.g. rows matching a query
+     * @param offset Index of the first displayed row
+     * @param limit Maximum number of rows
+     * @throws IOException Write error
+     */
+    public void writeGridRows(@Nonnull JsonStreamWriter json, @Nonnull List<SecurityInspectorReport.RowGroup<TRow>> groups, 
+            int offset, int limit) throws IOException {
+        final int from = Math.max(0, Math.min(offset, groups.size()));
+        final int to = Math.min(groups.size(), from + Math.max(0, limit));
+        final BitSet mask = new BitSet(displayedColumns.length);
+        json.beginObject();
+        json.name("offset").value(from);
+        json.name("rows").beginArray();
+        for (int i = from; i < to; i++) {
+            final SecurityInspectorReport.RowGroup<TRow> rowGroup = groups.get(i);
+            final BitSet granted = report.getGrantedColumns(rowGroup.getFirstRow());
+            mask.clear();
+            for (int column = 0; column < displayedColumns.length; column++) {
+                if (granted.get(displayedColumns[column])) {
+                    mask.set(column);
+                }
+            }
+            json.beginArray();
+            json.value(report.getRowTitle(rowGroup.getFirstRow()));
+            json.value(ExportFormat.toHexMask(mask, displayedColumns.length));
+            json.value(rowGroup.getSize());
+            if (rowGroup.getSize() > 1) {
+                json.value(report.getRowGroupTitle(rowGroup));
+            }
+            json.endArray();
+        }
+        json.endArray();
+        json.endObject();
+    }
+
+    private void write(@Nonnull Appendable out, @Nonnull List<SecurityInspectorReport.RowGroup<TRow>> rowGroups) 
+            throws IOException {
+        out.append(header);
+        for (SecurityInspectorReport.RowGroup<TRow> rowGroup : rowGroups) {
+            final TRow row = rowGroup.getFirstRow();
+            if (rowGroup.getSize() > 1) {
+                out.append(ROW_START).append("<td style=\"white-space: nowrap\" tooltip=\"");
+                escape(out, report.getRowGroupTitle(rowGroup));
+                out.append("\">");
+                escape(out, report.getRowTitle(row));
+                out.append(' ');
+                escape(out, Messages.ReportTable_AndMore(rowGroup.getSize() - 1));
+                out.append("</td>");
+                writeCells(out, row);
+            } else {
+                writeRow(out, row);
+            }
+        }
+    }
+
+    /**
+     * Gets the header rows of the table.
+     *
+     * @return HTML markup of the header rows
+     */
+    @Nonnull
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Writes a single row without grouping.
+     * Can be used to stream rows while the report is being generated.
+     *
+     * @param out Output
+     * @param row Row, which has been already added to the report
+     * @throws IOException Write error
+     */
+    public void writeRow(@Nonnull Appendable out, @Nonnull TRow row) throws IOException {
+        out.append(ROW_START).append("<td style=\"white-space: nowrap\">");
+        escape(out, report.getRowTitle(row));
+        out.append("</td>");
+        writeCells(out, row);
+    }
+
+    private void writeCells(@Nonnull Appendable out, @Nonnull TRow row) throws IOException {
+        final BitSet granted = report.getGrantedColumns(row);
+        for (int column : displayedColumns) {
+            out.append(granted.get(column) ? GRANTED_CELL : EMPTY_CELL);
+        }
+        out.append(ROW_END);
+    }
+
+    /**
+     * Escapes the text for HTML element content and quoted attribute values.
+     *
+     * @param out Output
+     * @param text Text to be escaped
+     * @throws IOException Write error
+     */
+    /*package*/ static void escape(@Nonnull Appendable out, @Nonnull String text) throws IOException {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final String replacement;
+            switch (text.charAt(i)) {
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\'':
+                    replacement = "&#39;";
+                    break;
+                default:
+                    continue;
+            }
+            out.append(text, start, i).append(replacement);
+            start = i + 1;
+        }
+        out.append(text, start, text.length());
+    }
+
+    private static void escape(@Nonnull StringBuilder out, @Nonnull String text) {
+        try {
+            escape((Appendable) out, text);
+        } catch (IOException ex) {
+            // StringBuilder does not throw IOException
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Timing breakdown of a single report.
+ * Generation phases are recorded by the thread generating the report,
+ * rendering and export phases may be recorded by multiple request threads afterwards.
+ *
+ * @see ReportMetrics
+ */
+@Restricted(NoExternalUse.class)
+public final class ReportTimings {
+
+    /**
+     * Phases of the report pipeline.
+     */
+    public enum Phase {
+        FILTER("Filter"),
+        IMPERSONATION("Impersonation"),
+        ACL_EVALUATION("ACL evaluation"),
+        SORTING("Sorting"),
+        RENDERING("Rendering"),
+        EXPORT("Export");
+
+        @Nonnull
+        private final String displayName;
+
+        Phase(@Nonnull String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Nonnull
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+    private final AtomicLong cells = new AtomicLong();
+    private final AtomicLong aclCalls = new AtomicLong();
+
+    /**
+     * Records time spent in the phase.
+     *
+     * @param phase Phase
+     * @param duration Duration in nanoseconds
+     */
+    public void record(@Nonnull Phase phase, long duration) {
+        nanos.addAndGet(phase.ordinal(), duration);
+    }
+
+    /**
+     * Starts measuring the phase.
+     * The time is recorded both in this report and in {@link ReportMetrics} once the stopwatch is stopped.
+     *
+     * @param phase Phase to be measured
+     * @return Started stopwatch
+     */
+    @Nonnull
+    public Stopwatch start(@Nonnull Phase phase) {
+        return new Stopwatch(phase);
+    }
+
+    /**
+     * Starts measuring the rendering of the report page.
+     *
+     * @return Started stopwatch
+     */
+    @Nonnull
+    public Stopwatch startRendering() {
+        return start(Phase.RENDERING);
+    }
+
+    /*package*/ void addCells(long count) {
+        cells.addAndGet(count);
+    }
+
+    /*package*/ void addAclCalls(long count) {
+        aclCalls.addAndGet(count);
+    }
+
+    public long getNanos(@Nonnull Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    public long getMillis(@Nonnull Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(getNanos(phase));
+    }
+
+    public long getImpersonationMillis() {
+        return getMillis(Phase.IMPERSONATION);
+    }
+
+    public long getAclEvaluationMillis() {
+        return getMillis(Phase.ACL_EVALUATION);
+    }
+
+    public long getSortingMillis() {
+        return getMillis(Phase.SORTING);
+    }
+
+    public long getExportMillis() {
+        return getMillis(Phase.EXPORT);
+    }
+
+    /**
+     * Gets the number of evaluated cells.
+     *
+     * @return Number of cells including the ones filled without ACL checks
+     */
+    public long getCells() {
+        return cells.get();
+    }
+
+    public long getAclCalls() {
+        return aclCalls.get();
+    }
+
+    /**
+     * Gets the evaluation throughput.
+     *
+     * @return Number of cells evaluated per second of impersonation and ACL evaluation time
+     */
+    public long getCellsPerSecond() {
+        return getCellsPerSecond(getCells(), getNanos(Phase.IMPERSONATION) + getNanos(Phase.ACL_EVALUATION));
+    }
+
+    /*package*/ static long getCellsPerSecond(long cells, long nanos) {
+        return nanos > 0 ? cells * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    /**
+     * Measures a single phase.
+     */
+    public final class Stopwatch {
+
+        @Nonnull
+        private final Phase phase;
+        private final long start = System.nanoTime();
+
+        private Stopwatch(@Nonnull Phase phase) {
+            this.phase = phase;
+        }
+
+        /**
+         * Stops the measurement and records the time.
+         *
+         * @return Measured time in milliseconds
+         */
+        public long stop() {
+            final long duration = System.nanoTime() - start;
+            record(phase, duration);
+            ReportMetrics.getInstance().record(phase, duration);
+            return TimeUnit.NANOSECONDS.toMillis(duration);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.Locale;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Order of rows in range queries.
+ *
+ * @see SecurityInspectorReport#getRowRange(int, int, org.jenkinsci.plugins.securityinspector.model.RowOrder)
+ */
+@Restricted(NoExternalUse.class)
+public enum RowOrder {
+    /**
+     * Rows ordered by titles, the display order of the report.
+     */
+    NAME("name", false),
+    NAME_DESC("-name", true),
+    /**
+     * Rows ordered by the number of granted permissions, ties are ordered by titles in both directions.
+     */
+    GRANTS("grants", false),
+    GRANTS_DESC("-grants", true);
+
+    @Nonnull
+    private final String id;
+    private final boolean descending;
+
+    RowOrder(@Nonnull String id, boolean descending) {
+        this.id = id;
+        this.descending = descending;
+    }
+
+    /**
+     * Gets the ID used in the {@code sort} query parameter.
+     *
+     * @return ID, e.g. {@code -name} for the descending order by titles
+     */
+    @Nonnull
+    public String getId() {
+        return id;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Gets the order, which index serves this order.
+     * Titles are unique, so {@link #NAME_DESC} is served from the {@link #NAME} index in reverse.
+     * {@link #GRANTS_DESC} has its own index, because ties must remain in the ascending order of titles.
+     *
+     * @return Indexed order. If it differs from this order, the index is read in reverse
+     */
+    @Nonnull
+    /*package*/ RowOrder getIndexedOrder() {
+        return this == NAME_DESC ? NAME : this;
+    }
+
+    /**
+     * Parses the order from the query parameter.
+     *
+     * @param id Order ID, case-insensitive. {@code null} for the default order
+     * @return Order
+     * @throws IllegalArgumentException Unknown order
+     */
+    @Nonnull
+    public static RowOrder fromId(@CheckForNull String id) throws IllegalArgumentException {
+        if (id == null || id.isEmpty()) {
+            return NAME;
+        }
+        final String normalized = id.toLowerCase(Locale.ENGLISH);
+        for (RowOrder order : values()) {
+            if (order.id.equals(normalized)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort order: " + id);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import javax.annotation.Nonnull;
+
+/**
+ * Interned entries of a report row.
+ * Instances are immutable and compared by value, so identical rows can share them.
+ */
+/*package*/ final class RowVector {
+
+    @Nonnull
+    private final Object[] values;
+    @Nonnull
+    private final BitSet granted;
+    /**
+     * Indexes of granted columns in the ascending order.
+     * A position in this array is the position of the value in sparse vectors.
+     */
+    @Nonnull
+    private final int[] grantedColumns;
+    private final int hash;
+
+    /**
+     * Constructor.
+     *
+     * @param values Stored values. The array must not be modified after the call
+     * @param granted Indexes of granted columns. The bit set must not be modified after the call
+     */
+    RowVector(@Nonnull Object[] values, @Nonnull BitSet granted) {
+        this.values = values;
+        this.granted = granted;
+        this.grantedColumns = granted.stream().toArray();
+        this.hash = 31 * Arrays.hashCode(values) + granted.hashCode();
+    }
+
+    @Nonnull
+    Object[] getValues() {
+        return values;
+    }
+
+    /**
+     * Gets granted columns.
+     *
+     * @return New bit set with granted columns
+     */
+    @Nonnull
+    BitSet getGranted() {
+        return (BitSet) granted.clone();
+    }
+
+    /**
+     * Gets position of the granted column among all granted columns.
+     *
+     * @param column Column index
+     * @return Position or {@code -1} if the column is not granted
+     */
+    int rankOf(int column) {
+        final int pos = Arrays.binarySearch(grantedColumns, column);
+        return pos >= 0 ? pos : -1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RowVector)) {
+            return false;
+        }
+        final RowVector other = (RowVector) obj;
+        return hash == other.hash && granted.equals(other.granted) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
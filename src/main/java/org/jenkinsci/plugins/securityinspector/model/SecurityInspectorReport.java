@@ -23,10 +23,23 @@
  */
 package org.jenkinsci.plugins.securityinspector.model;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -55,14 +68,41 @@ import org.kohsuke.accmod.restrictions.NoExternalUse;
  */
 public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, TEntryReport> {
 
-    @Nonnull
-    private final MultiKeyMap entries;
     @Nonnull
     private final Set<TColumnGroup> groups;
     @Nonnull
     private final Set<TRow> rows;
     @Nonnull
     private final Set<TColumnItem> columns;
+    @Nonnull
+    private final Map<TColumnGroup, List<TColumnItem>> columnsByGroup;
+    @Nonnull
+    private final List<TColumnItem> sortedColumns;
+    @Nonnull
+    private final Map<TColumnItem, Integer> columnIndexes;
+    private boolean generated;
+    @Nonnull
+    private ReportOptions options;
+    @Nonnull
+    private ReportStorage<TRow, TEntryReport> storage;
+    @CheckForNull
+    private ReportListener<? super TRow> listener;
+    @Nonnull
+    private final ReportTimings timings = new ReportTimings();
+    @CheckForNull
+    private ReportTableRenderer<TRow, TColumnGroup, TColumnItem> tableRenderer;
+    /**
+     * Indexes for range queries: positions of rows in {@link RowOrder#NAME} sorted in other ascending orders.
+     */
+    @Nonnull
+    private final Map<RowOrder, int[]> rowIndexes = new EnumMap<>(RowOrder.class);
+    @CheckForNull
+    private List<TRow> rowsByName;
+    /**
+     * Columnar representation of grants: rows (by positions in {@link RowOrder#NAME}), for which the column is granted.
+     */
+    @CheckForNull
+    private BitSet[] grantedRows;
     
     /**
      * Get report target name (e.g. user or job)
@@ -71,17 +111,70 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
     @Nonnull
     public abstract String getReportTargetName();
     
-    /*package*/
-    SecurityInspectorReport() {
-        this.entries = new MultiKeyMap();
-        this.groups = new HashSet<>();
+    /**
+     * Creates the report.
+     * Reports should extend {@link PermissionReport}, the constructor is accessible only for test fixtures.
+     */
+    @Restricted(NoExternalUse.class)
+    protected SecurityInspectorReport() {
+        this.groups = new LinkedHashSet<>();
         this.rows = new TreeSet<>(getRowComparator());
         this.columns = new HashSet<>();
+        this.columnsByGroup = new HashMap<>();
+        this.sortedColumns = new ArrayList<>();
+        this.columnIndexes = new HashMap<>();
+        this.options = ReportOptions.DEFAULT;
+        this.storage = new DenseReportStorage<>(sortedColumns);
     }
 
+    /**
+     * Gets all entries of the report.
+     * The map is built on every call, because entries of identical rows are stored only once.
+     *
+     * @return Map of entries, where keys are rows and columns.
+     * The map is empty if the report is not stored in the dense format.
+     * @deprecated Use {@link #getEntry(java.lang.Object, java.lang.Object)}
+     */
     @Nonnull
+    @Deprecated
     public MultiKeyMap getEntries() {
-        return entries;
+        return storage instanceof DenseReportStorage 
+                ? ((DenseReportStorage<?, ?, ?>) storage).getEntries() : new MultiKeyMap();
+    }
+
+    /**
+     * Sets options of the report.
+     * Options should be set before the report generation.
+     *
+     * @param options Report options
+     * @throws IllegalStateException The report has been already generated
+     */
+    public void setOptions(@Nonnull ReportOptions options) throws IllegalStateException {
+        if (generated) {
+            throw new IllegalStateException("Options cannot be changed after the report generation");
+        }
+        this.options = options;
+        this.storage = options.isSparse() 
+                ? new SparseReportStorage<TRow, TEntryReport>() 
+                : new DenseReportStorage<TRow, TColumnItem, TEntryReport>(sortedColumns);
+    }
+
+    /**
+     * Sets the listener to be notified during the report generation.
+     *
+     * @param listener Listener. {@code null} to remove the listener
+     * @throws IllegalStateException The report has been already generated
+     */
+    public void setListener(@CheckForNull ReportListener<? super TRow> listener) throws IllegalStateException {
+        if (generated) {
+            throw new IllegalStateException("Listener cannot be changed after the report generation");
+        }
+        this.listener = listener;
+    }
+
+    @Nonnull
+    public ReportOptions getOptions() {
+        return options;
     }
 
     @Nonnull
@@ -99,10 +192,145 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
         return columns;
     }
 
+    /**
+     * Retrieves columns of the group, which have been computed in the report.
+     * Unlike {@link #getItemsOfGroup(java.lang.Object)}, the method does not return columns excluded from the report.
+     *
+     * @param group Group
+     * @return Sorted list of columns. May be empty, but never {@code null}
+     */
+    @Nonnull
+    public List<TColumnItem> getColumnsOfGroup(@Nonnull TColumnGroup group) {
+        final List<TColumnItem> res = columnsByGroup.get(group);
+        return res != null ? res : Collections.<TColumnItem>emptyList();
+    }
+
+    /**
+     * Gets columns of the report in the display order.
+     *
+     * @return Unmodifiable list of columns sorted by {@link #getColumnComparator()}
+     */
+    @Nonnull
+    public List<TColumnItem> getSortedColumns() {
+        return Collections.unmodifiableList(sortedColumns);
+    }
+
     @CheckForNull
     public final TEntryReport getEntry(@Nonnull TRow row, @Nonnull TColumnItem column) {
-        final Object object = entries.get(row, column);
-        return (TEntryReport)object;
+        final Integer index = columnIndexes.get(column);
+        return index != null ? storage.getEntry(row, index) : null;
+    }
+
+    /**
+     * Gets columns, for which the entry check passes.
+     *
+     * @param row Row
+     * @return Indexes of granted columns in {@link #getSortedColumns()}
+     */
+    @Nonnull
+    public BitSet getGrantedColumns(@Nonnull TRow row) {
+        return storage.getGrantedColumns(row);
+    }
+
+    /**
+     * Gets total number of granted entries in the report.
+     *
+     * @return Number of entries, for which the entry check passes
+     */
+    public int getGrantCount() {
+        return storage.getGrantCount();
+    }
+
+    /**
+     * Gets number of distinct rows in the report.
+     * Rows are distinct if they have different entries in at least one column.
+     *
+     * @return Number of distinct rows
+     */
+    public int getDistinctRowCount() {
+        return storage.getVectorCount();
+    }
+
+    /**
+     * Groups rows with identical entries.
+     * Groups are ordered by their first rows, rows within groups keep the display order.
+     *
+     * @return List of row groups
+     */
+    @Nonnull
+    public List<RowGroup<TRow>> getRowGroups() {
+        return getRowGroups(rows);
+    }
+
+    /**
+     * Groups the specified rows with identical entries.
+     * Groups are ordered by their first rows, rows within groups keep the order of the input.
+     *
+     * @param rows Rows of the report, e.g. rows matching a query
+     * @return List of row groups
+     */
+    @Nonnull
+    /*package*/ List<RowGroup<TRow>> getRowGroups(@Nonnull Iterable<TRow> rows) {
+        final Map<Integer, RowGroup<TRow>> res = new LinkedHashMap<>();
+        for (TRow row : rows) {
+            final int vector = storage.getVectorIndex(row);
+            RowGroup<TRow> group = res.get(vector);
+            if (group == null) {
+                group = new RowGroup<>();
+                res.put(vector, group);
+            }
+            group.rows.add(row);
+        }
+        return new ArrayList<>(res.values());
+    }
+
+    /**
+     * Gets rows to be displayed according to {@link ReportOptions#isGroupIdenticalRows()}.
+     *
+     * @return Row groups if identical rows should be grouped, single-row groups otherwise
+     */
+    @Nonnull
+    public List<RowGroup<TRow>> getDisplayedRowGroups() {
+        if (options.isGroupIdenticalRows()) {
+            return getRowGroups();
+        }
+        return toRowGroups(rows);
+    }
+
+    /**
+     * Wraps rows into single-row groups.
+     *
+     * @param <TRow> Class of the Rows in the report
+     * @param rows Rows
+     * @return Row groups in the order of rows
+     */
+    @Nonnull
+    /*package*/ static <TRow> List<RowGroup<TRow>> toRowGroups(@Nonnull Collection<TRow> rows) {
+        final List<RowGroup<TRow>> res = new ArrayList<>(rows.size());
+        for (TRow row : rows) {
+            final RowGroup<TRow> group = new RowGroup<>();
+            group.rows.add(row);
+            res.add(group);
+        }
+        return res;
+    }
+
+    /**
+     * Gets a title for the group of rows.
+     *
+     * @param group Group of rows
+     * @return Titles of all rows in the group
+     */
+    @Nonnull
+    public String getRowGroupTitle(@Nonnull RowGroup<TRow> group) {
+        final StringBuilder res = new StringBuilder();
+        for (TRow row : group.getRows()) {
+            if (res.length() > 0) {
+                res.append("; ");
+            }
+            res.append(getRowTitle(row));
+        }
+        return res.toString();
     }
 
     public void forRow(@Nonnull TRow row, @Nonnull Runnable runnable) {
@@ -110,26 +338,322 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
         runnable.run();
     }
     
+    /**
+     * Generates the report.
+     * Rows are evaluated in the order defined by {@link #getRowComparator()}.
+     *
+     * @param rows Rows to be reported
+     * @param columns Columns to be reported
+     * @param groups Column groups
+     * @throws IllegalStateException The report has been already generated
+     */
     public final void generateReport(final @Nonnull Set<TRow> rows, final @Nonnull Set<TColumnItem> columns, final @Nonnull Set<TColumnGroup> groups) {
-        this.groups.addAll(groups);
-        this.rows.addAll(rows);
+        if (generated) {
+            throw new IllegalStateException("The report has been already generated");
+        }
+        generated = true;
         this.columns.addAll(columns);
 
-        for (final TRow row : rows) {
-            forRow(row, new Runnable() {
-                @Override
-                public void run() {
-                    for (TColumnItem column : columns) {
-                        entries.put(row, column, getEntryReport(row, column));
+        final long sortingStart = System.nanoTime();
+        final Set<TColumnItem> orderedColumns = new TreeSet<>(getColumnComparator());
+        orderedColumns.addAll(columns);
+        sortedColumns.addAll(orderedColumns);
+        for (TColumnItem column : sortedColumns) {
+            columnIndexes.put(column, columnIndexes.size());
+            final TColumnGroup group = getGroupOfItem(column);
+            List<TColumnItem> groupColumns = columnsByGroup.get(group);
+            if (groupColumns == null) {
+                groupColumns = new ArrayList<>();
+                columnsByGroup.put(group, groupColumns);
+                if (groups.contains(group)) {
+                    // Groups are displayed in the order of their columns
+                    this.groups.add(group);
+                }
+            }
+            groupColumns.add(column);
+        }
+        this.groups.addAll(groups);
+
+        if (listener != null) {
+            listener.onStarted(this);
+        }
+
+        final Set<TRow> orderedRows = new TreeSet<>(getRowComparator());
+        orderedRows.addAll(rows);
+        timings.record(ReportTimings.Phase.SORTING, System.nanoTime() - sortingStart);
+
+        final long startTime = System.nanoTime();
+        final Object reportEvent = ReportEvents.beginReport();
+        final CellProfiler.Probe<TRow, TColumnItem> probe = CellProfiler.getInstance().startReport(this);
+        Object batchEvent = null;
+        long batchStart = 0;
+        long batchImpersonationBefore = 0;
+        long rowIndex = 0;
+        try {
+            for (final TRow row : orderedRows) {
+                if (batchEvent == null) {
+                    batchEvent = ReportEvents.beginBatch();
+                    batchStart = rowIndex;
+                    batchImpersonationBefore = timings.getNanos(ReportTimings.Phase.IMPERSONATION);
+                }
+                forRow(row, new Runnable() {
+                    @Override
+                    public void run() {
+                        // Impersonation inside getEntryReport() is recorded separately by the implementations
+                        final long evaluationStart = System.nanoTime();
+                        final long impersonationBefore = timings.getNanos(ReportTimings.Phase.IMPERSONATION);
+                        final TEntryReport[] entries = newEntries();
+                        for (int i = 0; i < entries.length; i++) {
+                            final TColumnItem column = sortedColumns.get(i);
+                            if (probe != null) {
+                                final long cellStart = probe.enterCell(row, column);
+                                entries[i] = getEntryReport(row, column);
+                                probe.exitCell(i, cellStart);
+                            } else {
+                                entries[i] = getEntryReport(row, column);
+                            }
+                        }
+                        final long impersonation = timings.getNanos(ReportTimings.Phase.IMPERSONATION) - impersonationBefore;
+                        timings.record(ReportTimings.Phase.ACL_EVALUATION, System.nanoTime() - evaluationStart - impersonation);
+                        timings.addAclCalls(entries.length);
+                        addRow(row, entries);
                     }
+                });
+                if (probe != null) {
+                    probe.exitRow(row);
                 }
-            });
+                rowIndex++;
+                if (batchEvent != null && rowIndex - batchStart >= ReportEvents.BATCH_SIZE) {
+                    ReportEvents.commitBatch(batchEvent, this, batchStart, rowIndex - batchStart, sortedColumns.size(),
+                            timings.getNanos(ReportTimings.Phase.IMPERSONATION) - batchImpersonationBefore);
+                    batchEvent = null;
+                }
+                ReportScheduler.checkpoint();
+            }
+            if (batchEvent != null) {
+                ReportEvents.commitBatch(batchEvent, this, batchStart, rowIndex - batchStart, sortedColumns.size(),
+                        timings.getNanos(ReportTimings.Phase.IMPERSONATION) - batchImpersonationBefore);
+            }
+        } finally {
+            if (probe != null) {
+                probe.finish();
+            }
+        }
+        ReportEvents.commitReport(reportEvent, this, orderedRows.size(), sortedColumns.size());
+        timings.addCells((long) orderedRows.size() * sortedColumns.size());
+        ReportPlanner.getInstance().recordTiming((long) orderedRows.size() * sortedColumns.size(), 
+                System.nanoTime() - startTime);
+        ReportMetrics.getInstance().recordReport(timings);
+        if (listener != null) {
+            listener.onCompleted(this);
         }
     }
     
+    /**
+     * Gets the timing breakdown of the report.
+     * Implementations record the time spent on impersonation there.
+     *
+     * @return Report timings
+     */
+    @Nonnull
+    public final ReportTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Gets a page of rows in the specified order.
+     * The first query for the order builds an index over all rows, subsequent queries cost {@code O(limit)}.
+     *
+     * @param offset Index of the first row in the order
+     * @param limit Maximum number of rows
+     * @param order Order of rows
+     * @return Rows of the page. Empty list if the offset is beyond the last row
+     * @throws IllegalArgumentException Negative offset or limit
+     */
+    @Nonnull
+    public final List<TRow> getRowRange(int offset, int limit, @Nonnull RowOrder order) throws IllegalArgumentException {
+        return getRowRange(offset, limit, order, null);
+    }
+
+    /**
+     * Gets a page of rows, which match the filter, in the specified order.
+     * Filtered queries scan the index till the end of the page.
+     *
+     * @param offset Index of the first matching row in the order
+     * @param limit Maximum number of rows
+     * @param order Order of rows
+     * @param filter Positions of matching rows in {@link RowOrder#NAME}, e.g. a result of a column query.
+     *               {@code null} to return all rows
+     * @return Rows of the page. Empty list if the offset is beyond the last row
+     * @throws IllegalArgumentException Negative offset or limit
+     * @see #getGrantedRows(int)
+     */
+    @Nonnull
+    public final List<TRow> getRowRange(int offset, int limit, @Nonnull RowOrder order, @CheckForNull BitSet filter) 
+            throws IllegalArgumentException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must be non-negative");
+        }
+        final List<TRow> byName = getRowsByName();
+        final RowOrder indexedOrder = order.getIndexedOrder();
+        final int[] positions = getRowPositions(indexedOrder);
+        final int size = byName.size();
+        final List<TRow> res = new ArrayList<>(Math.min(limit, size));
+        int skipped = 0;
+        for (int i = filter == null ? Math.min(offset, size) : 0; i < size && res.size() < limit; i++) {
+            final int k = indexedOrder != order ? size - 1 - i : i;
+            final int position = positions != null ? positions[k] : k;
+            if (filter != null && !filter.get(position)) {
+                continue;
+            }
+            if (filter != null && skipped < offset) {
+                skipped++;
+                continue;
+            }
+            res.add(byName.get(position));
+        }
+        return res;
+    }
+
+    @Nonnull
+    private synchronized List<TRow> getRowsByName() {
+        if (rowsByName == null) {
+            rowsByName = new ArrayList<>(rows);
+        }
+        return rowsByName;
+    }
+
+    /**
+     * Gets the index of the order.
+     *
+     * @param order Indexed order
+     * @return Positions of rows in {@link RowOrder#NAME} sorted in the order. {@code null} for {@link RowOrder#NAME}
+     */
+    @CheckForNull
+    private synchronized int[] getRowPositions(@Nonnull RowOrder order) {
+        if (order == RowOrder.NAME) {
+            return null;
+        }
+        int[] index = rowIndexes.get(order);
+        if (index == null) {
+            final List<TRow> byName = getRowsByName();
+            final Integer[] sorted = new Integer[byName.size()];
+            final int[] grants = new int[byName.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = i;
+                grants[i] = storage.getGrantedColumns(byName.get(i)).cardinality();
+            }
+            final boolean descending = order.isDescending();
+            // The sort is stable, so ties remain ordered by titles
+            Arrays.sort(sorted, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer o1, Integer o2) {
+                    return descending ? Integer.compare(grants[o2], grants[o1]) : Integer.compare(grants[o1], grants[o2]);
+                }
+            });
+            index = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                index[i] = sorted[i];
+            }
+            rowIndexes.put(order, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets rows, for which the column is granted.
+     * The report is transposed into the columnar representation on the first call,
+     * so boolean queries over columns can be evaluated as word-parallel {@link BitSet} operations.
+     *
+     * @param column Index of the column in {@link #getSortedColumns()}
+     * @return Positions of rows in {@link RowOrder#NAME}. The bit set may be modified by the caller
+     * @see #getRowsAt(java.util.BitSet)
+     */
+    @Nonnull
+    public final BitSet getGrantedRows(int column) {
+        final BitSet[] columns;
+        synchronized (this) {
+            if (grantedRows == null) {
+                grantedRows = new BitSet[sortedColumns.size()];
+                for (int i = 0; i < grantedRows.length; i++) {
+                    grantedRows[i] = new BitSet(rows.size());
+                }
+                int position = 0;
+                for (TRow row : rows) {
+                    final BitSet granted = storage.getGrantedColumns(row);
+                    for (int i = granted.nextSetBit(0); i >= 0; i = granted.nextSetBit(i + 1)) {
+                        grantedRows[i].set(position);
+                    }
+                    position++;
+                }
+            }
+            columns = grantedRows;
+        }
+        return (BitSet) columns[column].clone();
+    }
+
+    /**
+     * Gets rows by their positions.
+     *
+     * @param positions Positions of rows in {@link RowOrder#NAME}
+     * @return Rows in the display order
+     */
+    @Nonnull
+    public final List<TRow> getRowsAt(@Nonnull BitSet positions) {
+        final List<TRow> index = getRowsByName();
+        final List<TRow> res = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0 && i < index.size(); i = positions.nextSetBit(i + 1)) {
+            res.add(index.get(i));
+        }
+        return res;
+    }
+
+    /**
+     * Gets the renderer of the report table.
+     * The renderer is created on the first call and reused afterwards.
+     *
+     * @return Table renderer
+     * @throws IllegalStateException The report has not been generated yet
+     */
+    @Nonnull
+    @Restricted(NoExternalUse.class)
+    public final synchronized ReportTableRenderer<TRow, TColumnGroup, TColumnItem> getTableRenderer() 
+            throws IllegalStateException {
+        if (!generated) {
+            throw new IllegalStateException("The report has not been generated yet");
+        }
+        if (tableRenderer == null) {
+            tableRenderer = new ReportTableRenderer<>(this);
+        }
+        return tableRenderer;
+    }
+
     protected final void fillRowByResult(@Nonnull TRow row, TEntryReport result) {
-        for (TColumnItem column : columns) {
-            entries.put(row, column, result);
+        final TEntryReport[] entries = newEntries();
+        Arrays.fill(entries, result);
+        addRow(row, entries);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private TEntryReport[] newEntries() {
+        return (TEntryReport[]) new Object[sortedColumns.size()];
+    }
+
+    private void addRow(@Nonnull TRow row, @Nonnull TEntryReport[] entries) {
+        final BitSet granted = new BitSet(entries.length);
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != null && isEntryReportOk(row, sortedColumns.get(i), entries[i])) {
+                granted.set(i);
+            }
+        }
+        if (options.isDropEmptyRows() && granted.isEmpty()) {
+            return;
+        }
+        rows.add(row);
+        storage.addRow(row, entries, granted);
+        if (listener != null) {
+            listener.onRow(this, row);
         }
     }
 
@@ -138,7 +662,9 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
         return new Comparator<TRow>() {
             @Override
             public int compare(TRow o1, TRow o2) {
-                return getRowTitle(o1).compareTo(getRowTitle(o2));
+                // Titles may be not unique, e.g. display names of users
+                final int cmp = getRowTitle(o1).compareTo(getRowTitle(o2));
+                return cmp != 0 ? cmp : getRowId(o1).compareTo(getRowId(o2));
             }
         };
     }
@@ -184,6 +710,18 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
     @Nonnull
     protected abstract TEntryReport getEntryReport(@Nonnull TRow row, @Nonnull TColumnItem item);
 
+    /**
+     * Checks whether the evaluation time can be attributed to cells.
+     * Reports, which evaluate the whole row in the first cell, should return {@code false},
+     * otherwise {@link CellProfiler} charges the whole row to the first column.
+     *
+     * @return {@code true} if {@link #getEntryReport(java.lang.Object, java.lang.Object)} evaluates only the requested cell
+     */
+    @Restricted(NoExternalUse.class)
+    protected boolean isCellProfilingSupported() {
+        return true;
+    }
+
     /**
      * Returns display name for the row grouping cell.
      *
@@ -201,6 +739,19 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
     @Nonnull
     public abstract String getRowTitle(@Nonnull TRow row);
 
+    /**
+     * Retrieves a unique and stable identifier of the specified row.
+     * The identifier is used to match rows of report snapshots, so it should not change when the row is renamed
+     * for display, e.g. a user ID or a full name of an item.
+     *
+     * @param row Row
+     * @return Row identifier. The row title by default
+     */
+    @Nonnull
+    public String getRowId(@Nonnull TRow row) {
+        return getRowTitle(row);
+    }
+
     /**
      * Retrieves a title for the specified group.
      *
@@ -219,6 +770,18 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
     @Nonnull
     public abstract String getColumnTitle(@Nonnull TColumnItem column);
 
+    /**
+     * Retrieves a machine-readable identifier of the specified column.
+     * The identifier is used in exports.
+     *
+     * @param column Column
+     * @return Column identifier. The column title by default
+     */
+    @Nonnull
+    public String getColumnId(@Nonnull TColumnItem column) {
+        return getColumnTitle(column);
+    }
+
     /**
      * Verifies that the generated entry is correct.
      *
@@ -229,61 +792,91 @@ public abstract class SecurityInspectorReport<TRow, TColumnGroup, TColumnItem, T
      */
     public abstract boolean isEntryReportOk(@Nonnull TRow row, @Nonnull TColumnItem column, @Nonnull TEntryReport reportEntry);
 
-    protected final String[][] getReportInMatrix() {
-        
-        Set<TRow> allRows = this.getRows();
-        
-        Set<TColumnItem> sortedColumns = new TreeSet<>(getColumnComparator());
-        sortedColumns.addAll(this.columns);
-        
-        String[][] report = new String[this.getColumns().size()+1][allRows.size()+2];
-
-        report[0][0]="Groups";
-        report[0][1]="Permissions";
-        
-        // Title
-        int NColumn = 1;
-        for (TColumnItem column : sortedColumns) {
-            report[NColumn][0] = this.getGroupTitle(getGroupOfItem(column));
-            report[NColumn][1] = this.getColumnTitle(column);
-            NColumn++;
-        }
-        
-        // Body
-        int NRow = 2;
-        for (TRow row : allRows) {
-            report[0][NRow] = this.getRowTitle(row);
-            NColumn = 1;
-            for (TColumnItem column : sortedColumns){
-                Object entry = this.getEntries().get(row, column);
-                report[NColumn][NRow] = entry != null ? entry.toString() : "null";
-                NColumn++;
-            }
-            NRow++;
+    @Restricted(NoExternalUse.class)
+    public String getReportInCSV() {
+        final StringWriter writer = new StringWriter();
+        try {
+            writeReportInCSV(writer);
+        } catch (IOException ex) {
+            // StringWriter does not throw IOExceptions
+            throw new IllegalStateException(ex);
         }
-        
-        return report;
+        return writer.toString();
     }
-    
+
+    /**
+     * Writes the report matrix in CSV.
+     * Rows are written one by one, so the output is not buffered in memory.
+     *
+     * @param out Output writer
+     * @throws IOException Write error
+     */
     @Restricted(NoExternalUse.class)
-    public String getReportInCSV() {
+    public void writeReportInCSV(@Nonnull Writer out) throws IOException {
         
         final Jenkins jenkins = JenkinsHelper.getInstanceOrFail();
         jenkins.checkPermission(Jenkins.ADMINISTER);
         
-        String[][] report = getReportInMatrix();
-        StringBuilder reportCSV = new StringBuilder();
-        
+        writeCSVHeader(out);
+        for (TRow row : rows) {
+            writeCSVRow(row, out);
+        }
+    }
+
+    /*package*/ void writeCSVHeader(@Nonnull Writer out) throws IOException {
         // For Microsoft Exel
-        reportCSV.append("sep=,").append("\n");
+        out.write("sep=,\n");
         
-        for (int NRow = 0; NRow < this.getRows().size()+2; NRow++) {    
-            for (int NColumn = 0; NColumn < this.getColumns().size()+1; NColumn++) {
-                reportCSV.append(report[NColumn][NRow]).append(",");
-            }
-            reportCSV.append("\n");
+        // Title
+        out.write("Groups,");
+        for (TColumnItem column : sortedColumns) {
+            out.write(getGroupTitle(getGroupOfItem(column)));
+            out.write(',');
+        }
+        out.write("\nPermissions,");
+        for (TColumnItem column : sortedColumns) {
+            out.write(getColumnTitle(column));
+            out.write(',');
         }
+        out.write('\n');
+    }
 
-        return reportCSV.toString();
+    /*package*/ void writeCSVRow(@Nonnull TRow row, @Nonnull Writer out) throws IOException {
+        out.write(getRowTitle(row));
+        out.write(',');
+        for (TColumnItem column : sortedColumns) {
+            final Object entry = getEntry(row, column);
+            out.write(entry != null ? entry.toString() : "null");
+            out.write(',');
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Rows of the report with identical entries.
+     *
+     * @param <TRow> Class of the Rows in the report
+     */
+    public static final class RowGroup<TRow> {
+
+        @Nonnull
+        private final List<TRow> rows = new ArrayList<>();
+
+        /*package*/ RowGroup() {
+        }
+
+        @Nonnull
+        public List<TRow> getRows() {
+            return Collections.unmodifiableList(rows);
+        }
+
+        @Nonnull
+        public TRow getFirstRow() {
+            return rows.get(0);
+        }
+
+        public int getSize() {
+            return rows.size();
+        }
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.BitSet;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Stores only granted entries.
+ * Every distinct row is a row of the compressed sparse row (CSR) matrix: values of granted columns
+ * and the sorted indexes of these columns, see {@link RowVector#rankOf(int)}.
+ * Rows are interned instead of being packed into shared CSR arrays, so rows with identical entries
+ * share a single vector, and the memory footprint depends on the number of distinct grants instead of rows &times; columns.
+ */
+/*package*/ class SparseReportStorage<TRow, TEntryReport> extends ReportStorage<TRow, TEntryReport> {
+
+    @Override
+    RowVector createVector(TEntryReport[] entries, BitSet granted) {
+        final Object[] values = new Object[granted.cardinality()];
+        int pos = 0;
+        for (int i = granted.nextSetBit(0); i >= 0; i = granted.nextSetBit(i + 1)) {
+            values[pos++] = entries[i];
+        }
+        return new RowVector(values, granted);
+    }
+
+    @CheckForNull
+    @Override
+    @SuppressWarnings("unchecked")
+    TEntryReport getEntry(RowVector vector, int column) {
+        final int pos = vector.rankOf(column);
+        return pos >= 0 ? (TEntryReport) vector.getValues()[pos] : null;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Immutable bitmap, which picks the smallest representation for its contents.
+ * Sparse bitmaps are stored as sorted arrays of positions, dense ones as arrays of 64-bit words.
+ * Empty bitmaps do not allocate any storage.
+ */
+public final class CompressedBitmap {
+
+    public static final CompressedBitmap EMPTY = new CompressedBitmap(null, null, 0);
+
+    /**
+     * Sorted positions for sparse bitmaps.
+     */
+    @CheckForNull
+    private final int[] positions;
+
+    /**
+     * Words for dense bitmaps.
+     */
+    @CheckForNull
+    private final long[] words;
+
+    private final int cardinality;
+
+    private CompressedBitmap(@CheckForNull int[] positions, @CheckForNull long[] words, int cardinality) {
+        this.positions = positions;
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Creates a bitmap from the bit set.
+     *
+     * @param bits Source bit set
+     * @return Compressed bitmap
+     */
+    @Nonnull
+    public static CompressedBitmap of(@Nonnull BitSet bits) {
+        final int cardinality = bits.cardinality();
+        if (cardinality == 0) {
+            return EMPTY;
+        }
+        final long[] dense = bits.toLongArray();
+        // An int position takes half of the word
+        if (cardinality < dense.length * 2) {
+            final int[] sparse = new int[cardinality];
+            int j = 0;
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                sparse[j++] = i;
+            }
+            return new CompressedBitmap(sparse, null, cardinality);
+        }
+        return new CompressedBitmap(null, dense, cardinality);
+    }
+
+    /**
+     * Converts the bitmap to a new mutable bit set.
+     *
+     * @return New bit set
+     */
+    @Nonnull
+    public BitSet toBitSet() {
+        if (words != null) {
+            return BitSet.valueOf(words);
+        }
+        final BitSet res = new BitSet();
+        if (positions != null) {
+            for (int position : positions) {
+                res.set(position);
+            }
+        }
+        return res;
+    }
+
+    public boolean get(int position) {
+        if (words != null) {
+            final int word = position >>> 6;
+            return word < words.length && (words[word] & (1L << position)) != 0;
+        }
+        return positions != null && Arrays.binarySearch(positions, position) >= 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Gets the approximate size of the stored data.
+     *
+     * @return Size in bytes
+     */
+    public long getSizeInBytes() {
+        if (words != null) {
+            return words.length * 8L;
+        }
+        return positions != null ? positions.length * 4L : 0;
+    }
+}
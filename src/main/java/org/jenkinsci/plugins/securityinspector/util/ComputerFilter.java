@@ -66,6 +66,17 @@ public class ComputerFilter {
         this.includePattern4Slave = null;
     }
 
+    /**
+     * Constructs filter with the include regular expression.
+     *
+     * @param includeRegex Regular expression for computer names. {@code null} to include all computers
+     * @throws PatternSyntaxException Invalid regular expression
+     */
+    public ComputerFilter(@CheckForNull String includeRegex) throws PatternSyntaxException {
+        this.includeRegex4Slave = Util.fixEmpty(includeRegex);
+        this.includePattern4Slave = includeRegex4Slave != null ? Pattern.compile(includeRegex4Slave) : null;
+    }
+
     /**
      * Constructs filter from StaplerRequest. This constructor is just a
      * modified copy of ListView's configure method.
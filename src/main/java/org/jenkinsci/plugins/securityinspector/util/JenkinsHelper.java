@@ -23,6 +23,9 @@
  */
 package org.jenkinsci.plugins.securityinspector.util;
 
+import hudson.model.AllView;
+import hudson.model.View;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import jenkins.model.Jenkins;
 import org.kohsuke.accmod.Restricted;
@@ -55,4 +58,20 @@ public class JenkinsHelper {
         return instance;
     }
 
+    /**
+     * Retrieves the All view from the Jenkins root.
+     *
+     * @return All view or {@code null} if it is missing
+     * @throws IllegalStateException Jenkins instance is not ready
+     */
+    @CheckForNull
+    @Restricted(NoExternalUse.class)
+    public static AllView getAllView() throws IllegalStateException {
+        for (View view : getInstanceOrFail().getViews()) {
+            if (view instanceof AllView) {
+                return (AllView) view;
+            }
+        }
+        return null;
+    }
 }
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.servlet.ServletException;
@@ -94,6 +95,21 @@ public class JobFilter {
         this.report4folder = null;
     }
 
+    /**
+     * Constructs filter with the include regular expression and the folder.
+     *
+     * @param includeRegex Regular expression for full names of jobs. {@code null} to include all jobs
+     * @param folder Name of the top-level folder to report. {@code null} to report all jobs
+     * @throws PatternSyntaxException Invalid regular expression
+     */
+    public JobFilter(@CheckForNull String includeRegex, @CheckForNull String folder) throws PatternSyntaxException {
+        this.statusFilter = null;
+        this.jobFilters = new LinkedList<>();
+        this.includeRegex = Util.fixEmpty(includeRegex);
+        this.includePattern = this.includeRegex != null ? Pattern.compile(this.includeRegex) : null;
+        this.report4folder = Util.fixEmpty(folder);
+    }
+
     /**
      * Constructs filter from a StaplerRequest. This constructor is just a
      * modified copy of ListView's configure method.
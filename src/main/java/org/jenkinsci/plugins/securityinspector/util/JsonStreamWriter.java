@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Minimal streaming JSON generator.
+ * Values are written to the underlying writer immediately, so large documents are never kept in memory.
+ * The writer does not validate the document structure beyond comma placement.
+ */
+@Restricted(NoExternalUse.class)
+public class JsonStreamWriter {
+
+    @Nonnull
+    private final Writer out;
+
+    /**
+     * Stack of the opened containers.
+     * {@code true} if the next value in the container should be prefixed by a comma.
+     */
+    @Nonnull
+    private final Deque<Boolean> needsComma = new ArrayDeque<>();
+
+    private boolean afterName = false;
+
+    public JsonStreamWriter(@Nonnull Writer out) {
+        this.out = out;
+    }
+
+    @Nonnull
+    public JsonStreamWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        needsComma.push(Boolean.FALSE);
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter endObject() throws IOException {
+        needsComma.pop();
+        out.write('}');
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        needsComma.push(Boolean.FALSE);
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter endArray() throws IOException {
+        needsComma.pop();
+        out.write(']');
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter name(@Nonnull String name) throws IOException {
+        beforeValue();
+        writeString(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter value(@CheckForNull String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    @Nonnull
+    public JsonStreamWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Finishes the current top-level value and starts a new line.
+     * Used to produce newline-delimited JSON (NDJSON) streams.
+     *
+     * @return this
+     * @throws IOException Write error
+     * @throws IllegalStateException A container is not closed
+     */
+    @Nonnull
+    public JsonStreamWriter newLine() throws IOException, IllegalStateException {
+        if (!needsComma.isEmpty()) {
+            throw new IllegalStateException("Cannot finish the line inside a container");
+        }
+        out.write('\n');
+        return this;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!needsComma.isEmpty()) {
+            if (needsComma.peek()) {
+                out.write(',');
+            } else {
+                needsComma.pop();
+                needsComma.push(Boolean.TRUE);
+            }
+        }
+    }
+
+    private void writeString(@Nonnull String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
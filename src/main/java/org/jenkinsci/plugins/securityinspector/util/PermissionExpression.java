@@ -0,0 +1,330 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.util;
+
+import hudson.security.Permission;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Boolean expression over permissions, e.g. {@code Job/Build & !Job/Read} or
+ * {@code hudson.model.Item.Configure OR hudson.model.Item.Delete}.
+ *
+ * <p>
+ * Supported operators are {@code !} ({@code NOT}), {@code &} ({@code AND}) and {@code |} ({@code OR}),
+ * parentheses can be used for grouping.
+ * Permissions can be referenced by their IDs, by {@code GroupTitle/Name} or by {@code Name}
+ * if the name is unique among the permissions available for the expression.
+ *
+ * <p>
+ * Expressions are evaluated as word-parallel operations on {@link BitSet}s,
+ * where each permission is resolved to the set of positions (e.g. rows or items) it is granted for.
+ */
+public final class PermissionExpression {
+
+    /**
+     * Resolves permissions to bit sets.
+     */
+    public interface Evaluator {
+
+        /**
+         * Gets positions, for which the permission is granted.
+         *
+         * @param permission Permission
+         * @return Bit set, which may be modified by the caller
+         */
+        @Nonnull
+        BitSet get(@Nonnull Permission permission);
+
+        /**
+         * Gets the number of positions.
+         * It is used as a universe for negations.
+         *
+         * @return Number of positions
+         */
+        int size();
+    }
+
+    @Nonnull
+    private final String expression;
+    @Nonnull
+    private final Node root;
+    @Nonnull
+    private final Set<Permission> permissions;
+
+    private PermissionExpression(@Nonnull String expression, @Nonnull Node root, @Nonnull Set<Permission> permissions) {
+        this.expression = expression;
+        this.root = root;
+        this.permissions = permissions;
+    }
+
+    /**
+     * Parses the expression.
+     *
+     * @param expression Expression string
+     * @param available Permissions, which may be referenced in the expression
+     * @return Parsed expression
+     * @throws IllegalArgumentException Syntax error or unknown permission
+     */
+    @Nonnull
+    public static PermissionExpression parse(@Nonnull String expression, @Nonnull Collection<Permission> available)
+            throws IllegalArgumentException {
+        final Parser parser = new Parser(expression, available);
+        final Node root = parser.parseOr();
+        if (parser.peek() != null) {
+            throw new IllegalArgumentException("Unexpected token '" + parser.peek() + "' in expression: " + expression);
+        }
+        return new PermissionExpression(expression, root, Collections.unmodifiableSet(parser.referenced));
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param evaluator Evaluator, which resolves permissions
+     * @return Positions, for which the expression is true
+     */
+    @Nonnull
+    public BitSet evaluate(@Nonnull Evaluator evaluator) {
+        return root.evaluate(evaluator);
+    }
+
+    /**
+     * Gets permissions referenced in the expression.
+     *
+     * @return Unmodifiable set of permissions
+     */
+    @Nonnull
+    public Set<Permission> getPermissions() {
+        return permissions;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static abstract class Node {
+
+        @Nonnull
+        abstract BitSet evaluate(@Nonnull Evaluator evaluator);
+    }
+
+    private static final class PermissionNode extends Node {
+
+        @Nonnull
+        private final Permission permission;
+
+        PermissionNode(@Nonnull Permission permission) {
+            this.permission = permission;
+        }
+
+        @Override
+        BitSet evaluate(Evaluator evaluator) {
+            return evaluator.get(permission);
+        }
+    }
+
+    private static final class NotNode extends Node {
+
+        @Nonnull
+        private final Node operand;
+
+        NotNode(@Nonnull Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        BitSet evaluate(Evaluator evaluator) {
+            final BitSet res = operand.evaluate(evaluator);
+            res.flip(0, evaluator.size());
+            return res;
+        }
+    }
+
+    private static final class BinaryNode extends Node {
+
+        private final boolean and;
+        @Nonnull
+        private final Node left;
+        @Nonnull
+        private final Node right;
+
+        BinaryNode(boolean and, @Nonnull Node left, @Nonnull Node right) {
+            this.and = and;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        BitSet evaluate(Evaluator evaluator) {
+            final BitSet res = left.evaluate(evaluator);
+            if (and && res.isEmpty()) {
+                return res;
+            }
+            final BitSet other = right.evaluate(evaluator);
+            if (and) {
+                res.and(other);
+            } else {
+                res.or(other);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Recursive descent parser.
+     */
+    private static final class Parser {
+
+        @Nonnull
+        private final String expression;
+        @Nonnull
+        private final Collection<Permission> available;
+        @Nonnull
+        private final List<String> tokens;
+        @Nonnull
+        private final Set<Permission> referenced = new LinkedHashSet<>();
+        private int pos = 0;
+
+        Parser(@Nonnull String expression, @Nonnull Collection<Permission> available) {
+            this.expression = expression;
+            this.available = available;
+            this.tokens = tokenize(expression);
+        }
+
+        @CheckForNull
+        String peek() {
+            return pos < tokens.size() ? tokens.get(pos) : null;
+        }
+
+        @Nonnull
+        String next() {
+            final String token = peek();
+            if (token == null) {
+                throw new IllegalArgumentException("Unexpected end of expression: " + expression);
+            }
+            pos++;
+            return token;
+        }
+
+        @Nonnull
+        Node parseOr() {
+            Node res = parseAnd();
+            while ("|".equals(peek()) || "OR".equalsIgnoreCase(peek())) {
+                next();
+                res = new BinaryNode(false, res, parseAnd());
+            }
+            return res;
+        }
+
+        @Nonnull
+        Node parseAnd() {
+            Node res = parseUnary();
+            while ("&".equals(peek()) || "AND".equalsIgnoreCase(peek())) {
+                next();
+                res = new BinaryNode(true, res, parseUnary());
+            }
+            return res;
+        }
+
+        @Nonnull
+        Node parseUnary() {
+            final String token = next();
+            if ("!".equals(token) || "NOT".equalsIgnoreCase(token)) {
+                return new NotNode(parseUnary());
+            }
+            if ("(".equals(token)) {
+                final Node res = parseOr();
+                if (!")".equals(next())) {
+                    throw new IllegalArgumentException("Missing ')' in expression: " + expression);
+                }
+                return res;
+            }
+            if (isOperator(token)) {
+                throw new IllegalArgumentException("Unexpected token '" + token + "' in expression: " + expression);
+            }
+            final Permission permission = resolve(token);
+            referenced.add(permission);
+            return new PermissionNode(permission);
+        }
+
+        @Nonnull
+        private Permission resolve(@Nonnull String reference) {
+            Permission byName = null;
+            for (Permission p : available) {
+                if (p.getId().equals(reference) 
+                        || (p.group.title.toString() + "/" + p.name).equalsIgnoreCase(reference)) {
+                    return p;
+                }
+                if (p.name.equalsIgnoreCase(reference)) {
+                    if (byName != null) {
+                        throw new IllegalArgumentException("Ambiguous permission '" + reference 
+                                + "', use GroupTitle/Name or the permission ID");
+                    }
+                    byName = p;
+                }
+            }
+            if (byName == null) {
+                throw new IllegalArgumentException("Unknown permission: " + reference);
+            }
+            return byName;
+        }
+
+        private static boolean isOperator(@Nonnull String token) {
+            return "|".equals(token) || "&".equals(token) || ")".equals(token)
+                    || "OR".equalsIgnoreCase(token) || "AND".equalsIgnoreCase(token);
+        }
+
+        @Nonnull
+        private static List<String> tokenize(@Nonnull String expression) {
+            final List<String> res = new ArrayList<>();
+            int i = 0;
+            while (i < expression.length()) {
+                final char c = expression.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(' || c == ')' || c == '!' || c == '&' || c == '|') {
+                    res.add(String.valueOf(c));
+                    i++;
+                } else {
+                    int end = i;
+                    while (end < expression.length() && !Character.isWhitespace(expression.charAt(end))
+                            && "()!&|".indexOf(expression.charAt(end)) < 0) {
+                        end++;
+                    }
+                    res.add(expression.substring(i, end));
+                    i = end;
+                }
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.util;
+
+import hudson.model.Descriptor;
+import hudson.security.Permission;
+import hudson.security.PermissionGroup;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.StaplerRequest;
+
+/**
+ * Filters {@link Permission}s to be computed in the report.
+ * Permissions, which are not selected, are never evaluated.
+ */
+public class PermissionFilter {
+
+    /**
+     * Selected permissions.
+     * {@code null} if all permissions should be reported.
+     */
+    @CheckForNull
+    private final Set<Permission> selectedPermissions;
+
+    /**
+     * Constructs empty filter.
+     */
+    public PermissionFilter() {
+        this.selectedPermissions = null;
+    }
+
+    /**
+     * Constructs filter for the specified permissions.
+     *
+     * @param selectedPermissions Permissions to be reported. {@code null} if all permissions should be reported
+     */
+    public PermissionFilter(@CheckForNull Collection<Permission> selectedPermissions) {
+        this.selectedPermissions = selectedPermissions != null ? new HashSet<>(selectedPermissions) : null;
+    }
+
+    /**
+     * Constructs filter from the list of permission and group IDs.
+     *
+     * @param permissionIds IDs of permissions, e.g. {@code hudson.model.Item.Build}
+     * @param groupIds Class names of permission group owners, e.g. {@code hudson.model.Item}
+     * @throws IllegalArgumentException Unknown permission or group
+     */
+    public PermissionFilter(@CheckForNull Collection<String> permissionIds, @CheckForNull Collection<String> groupIds)
+            throws IllegalArgumentException {
+        this.selectedPermissions = resolve(permissionIds, groupIds);
+    }
+
+    /**
+     * Constructs filter from StaplerRequest.
+     *
+     * @param req Stapler Request
+     * @throws Descriptor.FormException Unknown permission or group
+     */
+    @Restricted(NoExternalUse.class)
+    public PermissionFilter(@Nonnull StaplerRequest req) throws Descriptor.FormException {
+        if (req.getParameter("usepermissionfilter") != null) {
+            final String[] permissionIds = req.getParameterValues("selectedPermissions");
+            final String[] groupIds = req.getParameterValues("selectedPermissionGroups");
+            try {
+                selectedPermissions = resolve(
+                        permissionIds != null ? Arrays.asList(permissionIds) : null,
+                        groupIds != null ? Arrays.asList(groupIds) : null);
+            } catch (IllegalArgumentException ex) {
+                throw new Descriptor.FormException(ex.getMessage(), ex, "selectedPermissions");
+            }
+            if (selectedPermissions.isEmpty()) {
+                throw new Descriptor.FormException("At least one permission should be selected", "selectedPermissions");
+            }
+        } else {
+            selectedPermissions = null;
+        }
+    }
+
+    @Nonnull
+    private static Set<Permission> resolve(@CheckForNull Collection<String> permissionIds, 
+            @CheckForNull Collection<String> groupIds) throws IllegalArgumentException {
+        final Set<Permission> res = new HashSet<>();
+        if (permissionIds != null) {
+            for (String id : permissionIds) {
+                final Permission p = Permission.fromId(id);
+                if (p == null) {
+                    throw new IllegalArgumentException("Unknown permission: " + id);
+                }
+                res.add(p);
+            }
+        }
+        if (groupIds != null) {
+            for (String id : groupIds) {
+                final PermissionGroup group = findGroup(id);
+                if (group == null) {
+                    throw new IllegalArgumentException("Unknown permission group: " + id);
+                }
+                res.addAll(group.getPermissions());
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Gets selected permissions.
+     *
+     * @return Unmodifiable set of permissions. {@code null} if all permissions should be reported
+     */
+    @CheckForNull
+    public Set<Permission> getSelectedPermissions() {
+        return selectedPermissions != null ? Collections.unmodifiableSet(selectedPermissions) : null;
+    }
+
+    /**
+     * Checks whether the permission should be reported.
+     *
+     * @param permission Permission to check
+     * @return {@code true} if the permission passes the filter
+     */
+    public boolean isSelected(@Nonnull Permission permission) {
+        return selectedPermissions == null || selectedPermissions.contains(permission);
+    }
+
+    @CheckForNull
+    private static PermissionGroup findGroup(@Nonnull String ownerClassName) {
+        for (PermissionGroup group : PermissionGroup.getAll()) {
+            if (group.owner.getName().equals(ownerClassName)) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.util;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Node;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.AuthorizationStrategy;
+import hudson.security.SecurityRealm;
+import hudson.slaves.ComputerListener;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.Beta;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Tracks changes of the security configuration.
+ * The version is a monotonically increasing counter, which is incremented by listeners
+ * when the global configuration, items, nodes or users get modified.
+ * Reports generated for one version remain valid while the {@link #getFingerprint()} stays the same.
+ *
+ * <p>
+ * Authorization strategies may also depend on external state (e.g. LDAP group membership),
+ * which cannot be tracked by the plugin.
+ */
+@Restricted(Beta.class)
+public class SecurityConfigurationVersion {
+
+    private static final Logger LOGGER = Logger.getLogger(SecurityConfigurationVersion.class.getName());
+
+    private static final SecurityConfigurationVersion INSTANCE = new SecurityConfigurationVersion();
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Nonnull
+    public static SecurityConfigurationVersion getInstance() {
+        return INSTANCE;
+    }
+
+    private SecurityConfigurationVersion() {
+        // Use getInstance()
+    }
+
+    /**
+     * Gets the current version of the security configuration.
+     *
+     * @return Version number, which grows on every tracked change
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Gets a cheap hash of the global security configuration.
+     * {@link AuthorizationStrategy} and {@link SecurityRealm} get replaced by new instances on reconfiguration,
+     * so the hash changes even if the new configuration has not been saved yet.
+     *
+     * @return Hash of the global security configuration
+     */
+    public int getGlobalConfigHash() {
+        final Jenkins jenkins = JenkinsHelper.getInstanceOrFail();
+        final AuthorizationStrategy strategy = jenkins.getAuthorizationStrategy();
+        final SecurityRealm realm = jenkins.getSecurityRealm();
+        int hash = System.identityHashCode(strategy);
+        hash = 31 * hash + System.identityHashCode(realm);
+        hash = 31 * hash + strategy.getClass().getName().hashCode();
+        hash = 31 * hash + realm.getClass().getName().hashCode();
+        return hash;
+    }
+
+    /**
+     * Gets the fingerprint of the security configuration.
+     * Cached results may be reused while the fingerprint stays the same.
+     *
+     * @return Fingerprint, which combines the version and the global configuration hash
+     */
+    @Nonnull
+    public String getFingerprint() {
+        return Long.toString(getVersion()) + "-" + Integer.toHexString(getGlobalConfigHash());
+    }
+
+    /**
+     * Increments the version.
+     *
+     * @param reason Reason of the change
+     * @return New version
+     */
+    public long increment(@CheckForNull Object reason) {
+        final long newVersion = version.incrementAndGet();
+        LOGGER.log(Level.FINEST, "Security configuration version changed to {0} due to {1}", 
+                new Object[] {newVersion, reason});
+        return newVersion;
+    }
+
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class SaveableListenerImpl extends SaveableListener {
+
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            // Builds are not relevant, other changes may modify the permissions
+            if (o instanceof Jenkins || o instanceof Item || o instanceof User || o instanceof Node) {
+                INSTANCE.increment(o);
+            }
+        }
+    }
+
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class ItemListenerImpl extends ItemListener {
+
+        @Override
+        public void onCreated(Item item) {
+            INSTANCE.increment(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            INSTANCE.increment(item);
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            INSTANCE.increment(item);
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            INSTANCE.increment(item);
+        }
+    }
+
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class ComputerListenerImpl extends ComputerListener {
+
+        @Override
+        public void onConfigurationChange() {
+            INSTANCE.increment("nodes");
+        }
+    }
+}
@@ -60,6 +60,17 @@ public class UserFilter {
         this.includePattern4User = null;
     }
 
+    /**
+     * Constructs filter with the include regular expression.
+     *
+     * @param includeRegex Regular expression for user IDs. {@code null} to include all users
+     * @throws PatternSyntaxException Invalid regular expression
+     */
+    public UserFilter(@CheckForNull String includeRegex) throws PatternSyntaxException {
+        this.includeRegex4User = Util.fixEmpty(includeRegex);
+        this.includePattern4User = includeRegex4User != null ? Pattern.compile(includeRegex4User) : null;
+    }
+
     /**
      * Constructs filter from StaplerRequest. This constructor is just a
      * modified copy of ListView's configure method.
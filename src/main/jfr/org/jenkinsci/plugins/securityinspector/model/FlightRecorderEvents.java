@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event definitions.
+ * This class references the JFR API, so it is compiled only by JDKs providing {@code jdk.jfr}
+ * and loaded reflectively by {@link ReportEvents} after the availability check.
+ */
+/*package*/ final class FlightRecorderEvents implements ReportEventSink {
+
+    private static final String CATEGORY = "Security Inspector";
+
+    /*package*/ FlightRecorderEvents() {
+        // Instantiated by ReportEvents
+    }
+
+    @Override
+    @Nonnull
+    public Object beginReport() {
+        final ReportEvent event = new ReportEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitReport(@Nonnull Object handle, @CheckForNull String builder, @Nonnull String reportClass,
+            @Nonnull String target, long rows, long columns) {
+        final ReportEvent event = (ReportEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.builder = builder;
+            event.reportClass = reportClass;
+            event.target = target;
+            event.rows = rows;
+            event.columns = columns;
+            event.cells = rows * columns;
+            event.commit();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Object beginFilter() {
+        final FilterEvent event = new FilterEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitFilter(@Nonnull Object handle, @Nonnull String builder, long estimatedRows) {
+        final FilterEvent event = (FilterEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.builder = builder;
+            event.estimatedRows = estimatedRows;
+            event.commit();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Object beginBatch() {
+        final EvaluationBatchEvent event = new EvaluationBatchEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitBatch(@Nonnull Object handle, @CheckForNull String builder, @Nonnull String target,
+            long firstRow, long rows, long cells, long impersonationNanos) {
+        final EvaluationBatchEvent event = (EvaluationBatchEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.builder = builder;
+            event.target = target;
+            event.firstRow = firstRow;
+            event.rows = rows;
+            event.cells = cells;
+            event.impersonationTime = impersonationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cacheLookup(@Nonnull String builder, @Nonnull String item, @Nonnull String result) {
+        final CacheLookupEvent event = new CacheLookupEvent();
+        if (event.shouldCommit()) {
+            event.builder = builder;
+            event.item = item;
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Object beginImpersonation() {
+        final ImpersonationEvent event = new ImpersonationEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitImpersonation(@Nonnull Object handle, @Nonnull String userId) {
+        final ImpersonationEvent event = (ImpersonationEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.user = userId;
+            event.commit();
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Object beginExport() {
+        final ExportEvent event = new ExportEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitExport(@Nonnull Object handle, @Nonnull String target, @Nonnull String format, long rows) {
+        final ExportEvent event = (ExportEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.target = target;
+            event.format = format;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    @Name("org.jenkinsci.plugins.securityinspector.Report")
+    @Label("Report Generation")
+    @Description("Generation of a permission report")
+    @Category({"Jenkins", CATEGORY})
+    static final class ReportEvent extends Event {
+        @Label("Builder")
+        String builder;
+        @Label("Report Class")
+        String reportClass;
+        @Label("Target")
+        String target;
+        @Label("Rows")
+        long rows;
+        @Label("Columns")
+        long columns;
+        @Label("Cells")
+        long cells;
+    }
+
+    @Name("org.jenkinsci.plugins.securityinspector.Filter")
+    @Label("Report Filter")
+    @Description("Processing of the report filter form")
+    @Category({"Jenkins", CATEGORY})
+    static final class FilterEvent extends Event {
+        @Label("Builder")
+        String builder;
+        @Label("Estimated Rows")
+        long estimatedRows;
+    }
+
+    @Name("org.jenkinsci.plugins.securityinspector.EvaluationBatch")
+    @Label("Evaluation Batch")
+    @Description("Permission evaluation of a batch of report rows")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class EvaluationBatchEvent extends Event {
+        @Label("Builder")
+        String builder;
+        @Label("Target")
+        String target;
+        @Label("First Row")
+        long firstRow;
+        @Label("Rows")
+        long rows;
+        @Label("Cells")
+        long cells;
+        @Label("Impersonation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long impersonationTime;
+    }
+
+    @Name("org.jenkinsci.plugins.securityinspector.CacheLookup")
+    @Label("Report Cache Lookup")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    static final class CacheLookupEvent extends Event {
+        @Label("Builder")
+        String builder;
+        @Label("Item")
+        String item;
+        @Label("Result")
+        String result;
+    }
+
+    @Name("org.jenkinsci.plugins.securityinspector.Impersonation")
+    @Label("User Impersonation")
+    @Description("Impersonation of a user for permission checks")
+    @Category({"Jenkins", CATEGORY})
+    @StackTrace(false)
+    @Threshold("1 ms")
+    static final class ImpersonationEvent extends Event {
+        @Label("User")
+        String user;
+    }
+
+    @Name("org.jenkinsci.plugins.securityinspector.Export")
+    @Label("Report Export")
+    @Category({"Jenkins", CATEGORY})
+    static final class ExportEvent extends Event {
+        @Label("Target")
+        String target;
+        @Label("Format")
+        String format;
+        @Label("Rows")
+        long rows;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+/*
+ * Virtual-scrolling grid for large Security Inspector reports.
+ * Only rows in the viewport are rendered, the rest of the data is loaded in chunks on demand.
+ */
+var SecurityInspectorGrid = (function () {
+    "use strict";
+
+    var ROW_HEIGHT = 22;
+    var TITLE_WIDTH = 250;
+    var CELL_WIDTH = 24;
+    var CHUNK_SIZE = 200;
+    var OVERSCAN = 10;
+
+    function retryDelay(xhr) {
+        var seconds = parseInt(xhr.getResponseHeader("Retry-After"), 10);
+        return (isNaN(seconds) ? 1 : seconds) * 1000;
+    }
+
+    // 202 Accepted means that the report is still being generated, the request is repeated after Retry-After
+    function request(url, callback) {
+        var xhr = new XMLHttpRequest();
+        xhr.open("GET", url, true);
+        xhr.onreadystatechange = function () {
+            if (xhr.readyState === 4) {
+                if (xhr.status === 202) {
+                    window.setTimeout(function () {
+                        request(url, callback);
+                    }, retryDelay(xhr));
+                } else if (xhr.status === 200) {
+                    callback(JSON.parse(xhr.responseText));
+                } else {
+                    callback(null, xhr.status);
+                }
+            }
+        };
+        xhr.send();
+    }
+
+    function isGranted(mask, column) {
+        var digit = mask.length - 1 - (column >> 2);
+        return digit >= 0 && ((parseInt(mask.charAt(digit), 16) >> (column & 3)) & 1) === 1;
+    }
+
+    function element(tag, className, text) {
+        var res = document.createElement(tag);
+        if (className) {
+            res.className = className;
+        }
+        if (text !== undefined) {
+            res.appendChild(document.createTextNode(text));
+        }
+        return res;
+    }
+
+    function colgroup(columns) {
+        var res = element("colgroup");
+        var title = element("col");
+        title.style.width = TITLE_WIDTH + "px";
+        res.appendChild(title);
+        for (var i = 0; i < columns; i++) {
+            var col = element("col");
+            col.style.width = CELL_WIDTH + "px";
+            res.appendChild(col);
+        }
+        return res;
+    }
+
+    function Grid(container) {
+        this.container = container;
+        this.baseUrl = container.getAttribute("data-base-url");
+        this.filter = container.getAttribute("data-filter") || "";
+        this.header = container.querySelector(".security-inspector-grid-header");
+        this.body = container.querySelector(".security-inspector-grid-body");
+        this.chunks = {};
+        this.pending = {};
+        this.rowCount = 0;
+        this.columnCount = 0;
+        this.scheduled = false;
+    }
+
+    Grid.prototype.load = function () {
+        var self = this;
+        self.body.appendChild(element("div", "security-inspector-grid-status", self.container.getAttribute("data-loading")));
+        request(self.baseUrl + "gridLayout?filter=" + encodeURIComponent(self.filter), function (layout, status) {
+            if (layout === null) {
+                self.body.textContent = "Failed to load the report: HTTP " + status;
+                return;
+            }
+            self.renderHeader(layout);
+            self.rowCount = layout.rows;
+            self.body.textContent = "";
+            self.body.style.height = (self.rowCount * ROW_HEIGHT) + "px";
+            self.container.addEventListener("scroll", function () {
+                self.scheduleRender();
+            });
+            self.render();
+        });
+    };
+
+    Grid.prototype.renderHeader = function (layout) {
+        var table = element("table", "security-inspector-grid-table");
+        var groupRow = element("tr", "group-row");
+        var captionRow = element("tr", "caption-row");
+        var corner = element("th", "security-inspector-grid-title pane-header blank", layout.rowHeader);
+        corner.rowSpan = 2;
+        groupRow.appendChild(corner);
+        for (var i = 0; i < layout.groups.length; i++) {
+            var group = layout.groups[i];
+            var groupCell = element("th", "pane-header", group.title);
+            groupCell.colSpan = group.columns.length;
+            groupRow.appendChild(groupCell);
+            for (var j = 0; j < group.columns.length; j++) {
+                var caption = element("th", "pane security-inspector-grid-caption");
+                caption.appendChild(element("span", null, group.columns[j]));
+                caption.title = group.title + ": " + group.columns[j];
+                captionRow.appendChild(caption);
+                this.columnCount++;
+            }
+        }
+        table.appendChild(colgroup(this.columnCount));
+        table.appendChild(groupRow);
+        table.appendChild(captionRow);
+        this.header.appendChild(table);
+        this.body.style.width = (TITLE_WIDTH + this.columnCount * CELL_WIDTH) + "px";
+    };
+
+    Grid.prototype.scheduleRender = function () {
+        var self = this;
+        if (self.scheduled) {
+            return;
+        }
+        self.scheduled = true;
+        window.requestAnimationFrame(function () {
+            self.scheduled = false;
+            self.render();
+        });
+    };
+
+    Grid.prototype.getRow = function (index) {
+        var chunk = this.chunks[Math.floor(index / CHUNK_SIZE)];
+        return chunk ? chunk[index % CHUNK_SIZE] : null;
+    };
+
+    Grid.prototype.fetchChunk = function (chunkIndex) {
+        var self = this;
+        if (self.chunks[chunkIndex] || self.pending[chunkIndex]) {
+            return;
+        }
+        self.pending[chunkIndex] = true;
+        request(self.baseUrl + "gridRows?offset=" + (chunkIndex * CHUNK_SIZE) + "&limit=" + CHUNK_SIZE
+                + "&filter=" + encodeURIComponent(self.filter), function (data) {
+            delete self.pending[chunkIndex];
+            if (data !== null) {
+                self.chunks[chunkIndex] = data.rows;
+                self.scheduleRender();
+            }
+        });
+    };
+
+    Grid.prototype.render = function () {
+        var headerHeight = this.header.offsetHeight;
+        var scrollTop = Math.max(0, this.container.scrollTop - headerHeight);
+        var first = Math.max(0, Math.floor(scrollTop / ROW_HEIGHT) - OVERSCAN);
+        var last = Math.min(this.rowCount, Math.ceil((scrollTop + this.container.clientHeight) / ROW_HEIGHT) + OVERSCAN);
+
+        var table = element("table", "security-inspector-grid-table");
+        table.style.top = (first * ROW_HEIGHT) + "px";
+        table.appendChild(colgroup(this.columnCount));
+        for (var i = first; i < last; i++) {
+            var row = this.getRow(i);
+            var tr = element("tr");
+            if (row === null || row === undefined) {
+                this.fetchChunk(Math.floor(i / CHUNK_SIZE));
+                tr.appendChild(element("td", "security-inspector-grid-title", "..."));
+            } else {
+                var title = element("td", "security-inspector-grid-title", row[2] > 1 ? row[0] + " (+" + (row[2] - 1) + ")" : row[0]);
+                if (row[2] > 1) {
+                    title.title = row[3];
+                }
+                tr.appendChild(title);
+                var cells = [];
+                for (var column = 0; column < this.columnCount; column++) {
+                    cells.push(isGranted(row[1], column) ? "<td class=\"pane\">&#10004;</td>" : "<td class=\"pane\"></td>");
+                }
+                tr.insertAdjacentHTML("beforeend", cells.join(""));
+            }
+            table.appendChild(tr);
+        }
+        this.body.textContent = "";
+        this.body.appendChild(table);
+    };
+
+    return {
+        init: function (container) {
+            new Grid(container).load();
+        }
+    };
+})();
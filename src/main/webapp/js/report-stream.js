@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+/*
+ * Progressive rendering of Security Inspector reports.
+ * Table rows are appended as soon as the server flushes them,
+ * the page is reloaded once the report is complete to show the export options.
+ */
+var SecurityInspectorStream = (function () {
+    "use strict";
+
+    return {
+        load: function (url, tbody, status) {
+            var xhr = new XMLHttpRequest();
+            var processed = 0;
+
+            // Rows are separated by newlines, so only complete rows are inserted
+            function append(complete) {
+                var text = xhr.responseText;
+                var end = complete ? text.length : text.lastIndexOf("\n") + 1;
+                if (end > processed) {
+                    tbody.insertAdjacentHTML("beforeend", text.substring(processed, end));
+                    processed = end;
+                }
+            }
+
+            xhr.open("GET", url, true);
+            xhr.onprogress = function () {
+                append(false);
+            };
+            xhr.onload = function () {
+                if (xhr.status === 200) {
+                    append(true);
+                    window.location.reload();
+                } else {
+                    status.textContent = status.getAttribute("data-failed");
+                }
+            };
+            xhr.onerror = function () {
+                status.textContent = status.getAttribute("data-failed");
+            };
+            xhr.send();
+        }
+    };
+})();
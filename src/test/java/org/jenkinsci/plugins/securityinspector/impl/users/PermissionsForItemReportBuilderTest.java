@@ -23,16 +23,42 @@
  */
 package org.jenkinsci.plugins.securityinspector.impl.users;
 
+import com.gargoylesoftware.htmlunit.HttpMethod;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.util.NameValuePair;
 import hudson.model.Item;
 import hudson.model.TopLevelItem;
+import hudson.security.PermissionGroup;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.io.IOUtils;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import org.jenkinsci.plugins.securityinspector.cli.UserItemsReportCommand;
+import org.jenkinsci.plugins.securityinspector.model.ExportFormat;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
 import org.jenkinsci.plugins.securityinspector.util.PermissionReportAssert;
 import org.jenkinsci.plugins.securityinspector.util.ReportBuilderTestBase;
 import static org.junit.Assert.assertNotNull;
 import org.junit.Test;
+import org.jvnet.hudson.test.CLICommandInvoker;
+import org.jvnet.hudson.test.JenkinsRule;
 
 /**
  * Tests of {@link PermissionsForItemReportBuilder}.
@@ -190,4 +216,157 @@ public class PermissionsForItemReportBuilderTest  extends ReportBuilderTestBase<
             assertThat("CSV Report must had row " + item, reportInCSV.contains(item.getFullDisplayName()));
         }
     }
+    
+    @Test
+    public void shouldReportOnlySelectedPermissions() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        
+        final PermissionsForItemReportBuilder.ReportImpl report = new PermissionsForItemReportBuilder.ReportImpl(j.jenkins.getUser("user1"));
+        final Set<TopLevelItem> allItems = new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class));
+        report.generateReport(allItems, new PermissionFilter(Arrays.asList(Item.BUILD, Item.CONFIGURE)));
+        
+        assertThat("Only selected permissions must be reported", report.getColumns(), 
+                containsInAnyOrder(Item.BUILD, Item.CONFIGURE));
+        assertThat(report.getGroups(), contains(PermissionGroup.get(Item.class)));
+        assertThat(report.getEntry(j.jenkins.getItem("project1"), Item.READ), nullValue());
+        PermissionReportAssert.assertHasPermissions(report, j.jenkins.getItem("project1"), 
+                Item.BUILD, Item.CONFIGURE);
+        PermissionReportAssert.assertHasNotPermissions(report, j.jenkins.getItem("project2"), 
+                Item.BUILD, Item.CONFIGURE);
+    }
+    
+    @Test
+    public void shouldStoreOnlyGrantsInSparseMode() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        
+        final PermissionsForItemReportBuilder.ReportImpl report = new PermissionsForItemReportBuilder.ReportImpl(j.jenkins.getUser("user2"));
+        report.setOptions(new ReportOptions(true, true));
+        final Set<TopLevelItem> allItems = new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class));
+        report.generateReport(allItems, new PermissionFilter(Arrays.asList(Item.BUILD, Item.DELETE)));
+        
+        assertThat("Rows without grants must be dropped", report.getRows(), 
+                contains((TopLevelItem)j.jenkins.getItem("project2")));
+        assertThat(report.getGrantCount(), equalTo(2));
+        assertThat(report.getEntry(j.jenkins.getItem("project2"), Item.BUILD), equalTo(Boolean.TRUE));
+        assertThat(report.getEntry(j.jenkins.getItem("project1"), Item.BUILD), nullValue());
+        
+        final StringWriter csv = new StringWriter();
+        ExportFormat.SPARSE_CSV.write(report, csv);
+        assertThat(csv.toString(), equalTo("Items,Group,Permission\n"
+                + "project2,Job,Build\n"
+                + "project2,Job,Delete\n"));
+        
+        final StringWriter ndjson = new StringWriter();
+        ExportFormat.SPARSE_NDJSON.write(report, ndjson);
+        assertThat(ndjson.toString(), equalTo("{\"row\":\"project2\",\"granted\":"
+                + "[\"hudson.model.Item.Build\",\"hudson.model.Item.Delete\"]}\n"));
+    }
+
+    @Test
+    public void shouldGroupIdenticalRows() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        
+        final PermissionsForItemReportBuilder.ReportImpl report = new PermissionsForItemReportBuilder.ReportImpl(j.jenkins.getUser("user2"));
+        report.setOptions(new ReportOptions(false, false, true));
+        final Set<TopLevelItem> allItems = new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class));
+        report.generateReport(allItems, new PermissionFilter(Arrays.asList(Item.BUILD, Item.DELETE)));
+        
+        assertThat(report.getRows().size(), equalTo(4));
+        assertThat("Rows without grants must share the storage", report.getDistinctRowCount(), equalTo(2));
+        assertThat(report.getEntry(j.jenkins.getItem("project1"), Item.BUILD), equalTo(Boolean.FALSE));
+        assertThat(report.getEntry(j.jenkins.getItem("project2"), Item.BUILD), equalTo(Boolean.TRUE));
+        
+        final StringWriter csv = new StringWriter();
+        ExportFormat.GROUPED_CSV.write(report, csv);
+        assertThat(csv.toString(), equalTo("Items,Count,Job/Build,Job/Delete\n"
+                + "folder; folder \u00bb projectInFolder; project1,3,,\n"
+                + "project2,1,x,x\n"));
+    }
+
+    @Test
+    public void shouldExportJson() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        
+        final PermissionsForItemReportBuilder.ReportImpl report = new PermissionsForItemReportBuilder.ReportImpl(j.jenkins.getUser("user2"));
+        final Set<TopLevelItem> allItems = new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class));
+        report.generateReport(allItems, new PermissionFilter(Arrays.asList(Item.BUILD, Item.DELETE)));
+        
+        final StringWriter ndjson = new StringWriter();
+        ExportFormat.NDJSON.write(report, ndjson);
+        assertThat(ndjson.toString(), containsString("{\"row\":\"project1\",\"permissions\":"
+                + "{\"hudson.model.Item.Build\":false,\"hudson.model.Item.Delete\":false}}\n"
+                + "{\"row\":\"project2\",\"permissions\":"
+                + "{\"hudson.model.Item.Build\":true,\"hudson.model.Item.Delete\":true}}\n"));
+        
+        final StringWriter json = new StringWriter();
+        ExportFormat.JSON.write(report, json);
+        assertThat(json.toString(), containsString(
+                "\"columns\":[\"hudson.model.Item.Build\",\"hudson.model.Item.Delete\"]"));
+        assertThat(json.toString(), containsString("{\"row\":\"project1\",\"mask\":\"0\"}"));
+        assertThat(json.toString(), containsString("{\"row\":\"project2\",\"mask\":\"3\"}"));
+    }
+
+    @Test
+    public void shouldStreamReportInCLI() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        
+        final CLICommandInvoker.Result result = new CLICommandInvoker(j, new UserItemsReportCommand())
+                .asUser("admin")
+                .invokeWithArgs("--format", "sparse_csv", "-p", "hudson.model.Item.Build", "-p", "hudson.model.Item.Delete", "user2");
+        assertThat(result, CLICommandInvoker.Matcher.succeeded());
+        assertThat(result.stdout(), equalTo("Items,Group,Permission\n"
+                + "project2,Job,Build\n"
+                + "project2,Job,Delete\n"));
+    }
+
+    @Test
+    public void shouldResolveCLIArgumentsByBuilder() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        
+        final CLICommandInvoker.Result result = new CLICommandInvoker(j, new UserItemsReportCommand())
+                .asUser("admin")
+                .invokeWithArgs("--format", "sparse_csv", "--include-regex", "project.*", "-p", "hudson.model.Item.Build", 
+                        "user2");
+        assertThat(result, CLICommandInvoker.Matcher.succeeded());
+        assertThat(result.stdout(), equalTo("Items,Group,Permission\n"
+                + "project2,Job,Build\n"));
+        
+        final CLICommandInvoker.Result missingUser = new CLICommandInvoker(j, new UserItemsReportCommand())
+                .asUser("admin")
+                .invokeWithArgs("missingUser");
+        assertThat(missingUser, not(CLICommandInvoker.Matcher.succeeded()));
+    }
+
+    @Test
+    public void shouldDownloadCompressedReport() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        j.jenkins.setCrumbIssuer(null);
+        final JenkinsRule.WebClient wc = j.createWebClient().login("admin");
+        wc.getOptions().setJavaScriptEnabled(false);
+        post(wc, "filterSubmit", "Submit", "Submit", "_.includeRegex", ".*", "selectedUser", "user1", "json", "{}");
+
+        final WebResponse plain = post(wc, "processReportAction", "Download", "Download", "exportFormat", "CSV");
+        final WebResponse compressed = post(wc, "processReportAction", "Download", "Download", "exportFormat", "CSV", 
+                "compressDownload", "on");
+
+        assertThat(compressed.getContentType(), equalTo("application/gzip"));
+        assertThat(compressed.getResponseHeaderValue("Content-Disposition"), endsWith(".csv.gz\""));
+        final String csv = plain.getContentAsString(StandardCharsets.UTF_8.name());
+        assertThat(csv, containsString("project1"));
+        try (InputStream gzip = new GZIPInputStream(compressed.getContentAsStream())) {
+            assertThat("The archive must contain the same CSV as the plain download", 
+                    IOUtils.toString(gzip, StandardCharsets.UTF_8.name()), equalTo(csv));
+        }
+    }
+
+    private WebResponse post(JenkinsRule.WebClient wc, String action, String... parameters) throws Exception {
+        final WebRequest request = new WebRequest(
+                new URL(j.getURL(), "security-inspector/" + getBuilder().getIndex() + "/" + action), HttpMethod.POST);
+        final List<NameValuePair> params = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i += 2) {
+            params.add(new NameValuePair(parameters[i], parameters[i + 1]));
+        }
+        request.setRequestParameters(params);
+        return wc.getPage(request).getWebResponse();
+    }
 }
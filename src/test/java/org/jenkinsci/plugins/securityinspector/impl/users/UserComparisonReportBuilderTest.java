@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.impl.users;
+
+import hudson.model.Item;
+import hudson.model.TopLevelItem;
+import hudson.security.Permission;
+import java.util.Arrays;
+import java.util.HashSet;
+import javax.annotation.Nonnull;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import org.jenkinsci.plugins.securityinspector.model.ComparisonReport;
+import org.jenkinsci.plugins.securityinspector.util.PermissionFilter;
+import org.jenkinsci.plugins.securityinspector.util.ReportBuilderTestBase;
+import org.junit.Test;
+
+/**
+ * Tests of {@link UserComparisonReportBuilder}.
+ */
+public class UserComparisonReportBuilderTest extends ReportBuilderTestBase<UserComparisonReportBuilder> {
+
+    public UserComparisonReportBuilderTest() {
+        super(UserComparisonReportBuilder.class);
+    }
+
+    @Test
+    public void shouldCompareUsersInOnePass() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+
+        final UserComparisonReportBuilder.ReportImpl report = UserComparisonReportBuilder.ReportImpl.createReport(
+                new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class)), 
+                Arrays.asList(j.jenkins.getUser("user1"), j.jenkins.getUser("user2")), new PermissionFilter());
+
+        final TopLevelItem project1 = j.jenkins.getItem("project1");
+        assertGranted(report, project1, "any", Item.READ, true);
+        assertGranted(report, project1, "any", Item.CONFIGURE, true);
+        assertGranted(report, project1, "every", Item.READ, true);
+        assertGranted(report, project1, "every", Item.CONFIGURE, false);
+        assertGranted(report, project1, "only:user1", Item.CONFIGURE, true);
+        assertGranted(report, project1, "only:user1", Item.READ, false);
+        assertGranted(report, project1, "only:user2", Item.CONFIGURE, false);
+
+        final TopLevelItem project2 = j.jenkins.getItem("project2");
+        assertGranted(report, project2, "only:user2", Item.DELETE, true);
+        assertGranted(report, project2, "only:user1", Item.DELETE, false);
+        assertGranted(report, project2, "every", Item.DELETE, false);
+        assertGranted(report, project2, "any", Item.CREATE, false);
+    }
+
+    @Test
+    public void shouldDisplayViewsInOrder() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+
+        final UserComparisonReportBuilder.ReportImpl report = UserComparisonReportBuilder.ReportImpl.createReport(
+                new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class)), 
+                Arrays.asList(j.jenkins.getUser("user1"), j.jenkins.getUser("user2")), new PermissionFilter());
+
+        assertThat(Arrays.asList(report.getGroups().toArray()).toString(), 
+                equalTo("[any, every, only:user1, only:user2]"));
+        assertThat(report.getReportTargetName(), equalTo("user1, user2"));
+    }
+
+    private static void assertGranted(@Nonnull UserComparisonReportBuilder.ReportImpl report, 
+            @Nonnull TopLevelItem item, @Nonnull String view, @Nonnull Permission permission, boolean expected) {
+        for (ComparisonReport.Column column : report.getSortedColumns()) {
+            if (column.getView().getId().equals(view) && column.getPermission() == permission) {
+                assertThat("Wrong value for " + view + "/" + permission.getId() + " in " + item.getFullName(), 
+                        report.getEntry(item, column), equalTo(expected));
+                return;
+            }
+        }
+        throw new AssertionError("Column " + view + "/" + permission.getId() + " is missing in the report");
+    }
+}
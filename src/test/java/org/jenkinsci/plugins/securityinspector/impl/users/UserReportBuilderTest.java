@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.impl.users;
+
+import hudson.model.Descriptor;
+import hudson.model.TopLevelItem;
+import hudson.model.User;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import org.jenkinsci.plugins.securityinspector.model.ExportFormat;
+import org.jenkinsci.plugins.securityinspector.model.ReportBatch;
+import org.jenkinsci.plugins.securityinspector.model.ReportOptions;
+import org.jenkinsci.plugins.securityinspector.util.ReportBuilderTestBase;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ * Tests of the batch mode in {@link UserReportBuilder}.
+ */
+public class UserReportBuilderTest extends ReportBuilderTestBase<PermissionsForItemReportBuilder> {
+
+    public UserReportBuilderTest() {
+        super(PermissionsForItemReportBuilder.class);
+    }
+
+    @Test
+    public void shouldMergeListAndRegexSelection() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+
+        final List<User> users = UserReportBuilder.getBatchUsers("user2, admin\nuser2", "user[13]");
+        final List<String> ids = new ArrayList<>();
+        for (User user : users) {
+            ids.add(user.getId());
+        }
+        assertThat("Users should be deduplicated and sorted by ID", ids, contains("admin", "user1", "user2", "user3"));
+    }
+
+    @Test
+    public void shouldRejectWrongBatchSelection() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+
+        assertFormException("Unknown users must be rejected", "batchUsers", "user1,nosuchuser", null);
+        assertFormException("Empty selection must be rejected", "batchUsers", " ", "nosuchuser.*");
+        assertFormException("Invalid regular expressions must be rejected", "batchUserRegex", null, "user[");
+    }
+
+    @Test
+    public void shouldGenerateSectionPerUser() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        final PermissionsForItemReportBuilder builder = getBuilder();
+        final List<TopLevelItem> items = new ArrayList<>(j.jenkins.getAllItems(TopLevelItem.class));
+        final UserContext context = new UserContext(items, null, UserReportBuilder.getBatchUsers("user1,user2", null), 
+                "", null, ReportOptions.DEFAULT);
+
+        final ReportBatch batch = builder.computeBatch(context).call();
+
+        final List<ReportBatch.Section> sections = batch.getSections();
+        assertThat(sections, hasSize(2));
+        assertThat(sections.get(0).getTarget(), equalTo("user1"));
+        assertThat(sections.get(0).getReport().getReportTargetName(), equalTo("user1"));
+        assertThat(sections.get(1).getTarget(), equalTo("user2"));
+        assertThat(sections.get(1).getReport().getReportTargetName(), equalTo("user2"));
+    }
+
+    @Test
+    public void shouldWriteZipEntryPerSection() throws Exception {
+        initializeDefaultMatrixAuthSecurity();
+        final Set<TopLevelItem> items = new HashSet<>(j.jenkins.getAllItems(TopLevelItem.class));
+        final PermissionsForItemReportBuilder.ReportImpl report1 = 
+                PermissionsForItemReportBuilder.ReportImpl.createReport(items, User.get("user1"));
+        final PermissionsForItemReportBuilder.ReportImpl report2 = 
+                PermissionsForItemReportBuilder.ReportImpl.createReport(items, User.get("user2"));
+        // Both IDs are sanitized to the same name
+        final ReportBatch batch = new ReportBatch(Arrays.asList(
+                new ReportBatch.Section("a/b", report1), new ReportBatch.Section("a_b", report2)));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserReportBuilder.writeBatch(batch, ExportFormat.CSV, out);
+
+        final List<String> names = new ArrayList<>();
+        final List<String> contents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+                contents.add(readEntry(zip));
+            }
+        }
+        assertThat(names, contains("a_b.csv", "a_b-2.csv"));
+        assertThat(contents.get(0), containsString("project1"));
+        assertThat("Entries should contain reports of different users", contents.get(0), not(equalTo(contents.get(1))));
+    }
+
+    @Test
+    public void shouldMakeEntryNamesUnique() {
+        final Set<String> used = new HashSet<>();
+        assertThat(UserReportBuilder.getEntryName("a.b", "csv", used), equalTo("a.b.csv"));
+        assertThat(UserReportBuilder.getEntryName("a/b", "csv", used), equalTo("a_b.csv"));
+        assertThat(UserReportBuilder.getEntryName("a\\b", "csv", used), equalTo("a_b-2.csv"));
+        assertThat(UserReportBuilder.getEntryName("a_b", "csv", used), equalTo("a_b-3.csv"));
+    }
+
+    private static void assertFormException(String message, String field, String list, String regex) {
+        try {
+            UserReportBuilder.getBatchUsers(list, regex);
+            fail(message);
+        } catch (Descriptor.FormException ex) {
+            assertThat(message, ex.getFormField(), equalTo(field));
+        }
+    }
+
+    private static String readEntry(ZipInputStream zip) throws Exception {
+        // The stream must not be closed, it is positioned at the current entry
+        final Reader reader = new InputStreamReader(zip, StandardCharsets.UTF_8);
+        final StringBuilder res = new StringBuilder();
+        final char[] buffer = new char[1024];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            res.append(buffer, 0, read);
+        }
+        return res.toString();
+    }
+}
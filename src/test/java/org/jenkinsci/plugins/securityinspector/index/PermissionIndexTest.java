@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.index;
+
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.FreeStyleProject;
+import hudson.model.Item;
+import hudson.model.JobProperty;
+import hudson.model.User;
+import hudson.security.AuthorizationMatrixProperty;
+import hudson.security.Permission;
+import hudson.security.ProjectMatrixAuthorizationStrategy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jenkins.model.Jenkins;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import org.jenkinsci.plugins.securityinspector.util.SecurityConfigurationVersion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+/**
+ * Tests of {@link PermissionIndex}.
+ */
+public class PermissionIndexTest {
+
+    @Rule
+    public final JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void shouldAnswerBooleanQueries() throws Exception {
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        User.get("admin");
+        User.get("user1");
+        User.get("user2");
+
+        final FreeStyleProject project1 = j.createFreeStyleProject("project1");
+        final Folder folder = j.createProject(Folder.class, "folder");
+        final FreeStyleProject projectInFolder = folder.createProject(FreeStyleProject.class, "projectInFolder");
+
+        final ProjectMatrixAuthorizationStrategy strategy = new ProjectMatrixAuthorizationStrategy();
+        strategy.add(Jenkins.ADMINISTER, "admin");
+        strategy.add(Jenkins.READ, "user1");
+        strategy.add(Jenkins.READ, "user2");
+        strategy.add(Item.READ, "user1");
+        strategy.add(Item.READ, "user2");
+        j.jenkins.setAuthorizationStrategy(strategy);
+
+        grant(project1, "user1", Item.CONFIGURE);
+        grant(projectInFolder, "user2", Item.CONFIGURE, Item.DELETE);
+
+        final PermissionIndex index = PermissionIndex.getInstance();
+        final PermissionIndexSnapshot snapshot = index.rebuild();
+        assertThat(snapshot, notNullValue());
+        assertThat("Index should be up to date right after the rebuild", index.isUpToDate(), equalTo(true));
+
+        List<PermissionIndexSnapshot.Match> matches = index.query("Job/Configure & !Job/Delete", null);
+        assertThat(matches.size(), equalTo(1));
+        assertThat(matches.get(0).getUserId(), equalTo("user1"));
+        assertThat(matches.get(0).getItems(), contains("project1"));
+
+        matches = index.query("Job/Delete", "folder");
+        assertThat(matches.size(), equalTo(2));
+        assertThat(matches.get(0).getUserId(), equalTo("admin"));
+        assertThat(matches.get(0).getItems(), contains("folder", "folder/projectInFolder"));
+        assertThat(matches.get(1).getUserId(), equalTo("user2"));
+        assertThat(matches.get(1).getItems(), contains("folder/projectInFolder"));
+    }
+
+    @Test
+    public void shouldBuildIndexOnlyWhenQueried() throws Exception {
+        j.createFreeStyleProject("project1");
+        SecurityConfigurationVersion.getInstance().increment("test");
+        final PermissionIndex index = PermissionIndex.getInstance();
+        assertThat("Index should be outdated after the configuration change", index.isUpToDate(), equalTo(false));
+
+        assertThat("Query should trigger the build", index.refresh(), equalTo(true));
+        index.scheduleRebuild().get();
+        assertThat(index.isUpToDate(), equalTo(true));
+        assertThat("Up to date index should not be rebuilt", index.refresh(), equalTo(false));
+        assertThat(index.isBuilding(), equalTo(false));
+    }
+
+    private static void grant(FreeStyleProject project, String user, Permission... permissions) throws Exception {
+        final Set<String> sids = new HashSet<>(Arrays.asList(user));
+        final Map<Permission, Set<String>> grants = new HashMap<>();
+        for (Permission p : permissions) {
+            grants.put(p, sids);
+        }
+        final JobProperty prop = new AuthorizationMatrixProperty(grants);
+        project.addProperty(prop);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.jenkinsci.plugins.securityinspector.util.StubReport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.empty;
+import org.junit.Test;
+
+/**
+ * Tests of {@link CellProfiler}.
+ */
+public class CellProfilerTest {
+
+    @Test
+    public void shouldSampleSlowCells() throws Exception {
+        final CellProfiler profiler = CellProfiler.getInstance();
+        profiler.reset();
+
+        final StubReport report = new StubReport("slow-report", "Rows", Arrays.asList("read", "write"), 
+                new StubReport.Grants() {
+            @Override
+            public boolean isGranted(String row, String column) {
+                if (row.equals("slow") && column.equals("write")) {
+                    try {
+                        Thread.sleep(CellProfiler.SLOW_CELL_THRESHOLD / 1000000 * 3);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return true;
+            }
+        });
+        report.generateReport(new HashSet<>(Arrays.asList("fast", "slow")), new HashSet<>(Arrays.asList("read", "write")), 
+                Collections.singleton(StubReport.GROUP));
+        assertThat("The watchdog must be stopped after the last report", profiler.isWatchdogRunning(), equalTo(false));
+
+        final List<CellProfiler.SlowCell> slowCells = profiler.getSlowCells();
+        assertThat(slowCells, hasSize(1));
+        final CellProfiler.SlowCell cell = slowCells.get(0);
+        assertThat(cell.getRow(), equalTo("slow"));
+        assertThat(cell.getPermission(), equalTo("write"));
+        assertThat("The watchdog must sample the slow cell", cell.getSamples(), not(empty()));
+
+        assertThat(profiler.getSlowestRows(1).get(0).getName(), equalTo("slow"));
+        assertThat(profiler.getSlowestPermissions(1).get(0).getName(), equalTo("write"));
+    }
+
+    @Test
+    public void shouldSkipReportsWithoutCellTimings() throws Exception {
+        final StubReport report = new StubReport("row-report", "Rows", Arrays.asList("read", "write"), 
+                new StubReport.Grants() {
+            @Override
+            public boolean isGranted(String row, String column) {
+                return true;
+            }
+        }) {
+            @Override
+            protected boolean isCellProfilingSupported() {
+                return false;
+            }
+        };
+        assertThat(CellProfiler.getInstance().startReport(report), nullValue());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.jenkinsci.plugins.securityinspector.util.StubReport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ExportFormat}.
+ */
+public class ExportFormatTest {
+
+    @Test
+    public void shouldGroupOnlyFilteredRows() throws Exception {
+        final Map<String, String> grants = new HashMap<>();
+        grants.put("alice", "rw");
+        grants.put("bob", "r");
+        grants.put("carol", "rw");
+        grants.put("dave", "");
+        final StubReport report = new StubReport("grouped-report", "Users", Arrays.asList("r", "w"), 
+                new StubReport.Grants() {
+            @Override
+            public boolean isGranted(String row, String column) {
+                return grants.get(row).contains(column);
+            }
+        });
+        report.generateReport(grants.keySet(), new HashSet<>(Arrays.asList("r", "w")), 
+                Collections.singleton(StubReport.GROUP));
+
+        final StringWriter all = new StringWriter();
+        ExportFormat.GROUPED_CSV.write(report, all);
+        assertThat(all.toString(), equalTo("Users,Count,group/r,group/w\n"
+                + "alice; carol,2,x,x\n"
+                + "bob,1,x,\n"
+                + "dave,1,,\n"));
+
+        final StringWriter filtered = new StringWriter();
+        ExportFormat.GROUPED_CSV.write(report, report.getRowsAt(report.getGrantedRows(0)), filtered);
+        assertThat(filtered.toString(), equalTo("Users,Count,group/r,group/w\n"
+                + "alice; carol,2,x,x\n"
+                + "bob,1,x,\n"));
+
+        final StringWriter single = new StringWriter();
+        ExportFormat.GROUPED_CSV.write(report, Collections.singletonList("carol"), single);
+        assertThat(single.toString(), equalTo("Users,Count,group/r,group/w\n"
+                + "carol,1,x,x\n"));
+    }
+}
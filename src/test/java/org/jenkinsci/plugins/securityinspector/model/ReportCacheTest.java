@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import hudson.security.Permission;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ReportCache}.
+ */
+public class ReportCacheTest {
+
+    @Test
+    public void shouldShareInFlightComputation() throws Exception {
+        final ReportCache cache = new ReportCache();
+        final ReportKey key = new ReportKey("test", new UserContext(null, null, null, "item"));
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger invocations = new AtomicInteger();
+
+        final Callable<SecurityInspectorReport> computation = new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                invocations.incrementAndGet();
+                started.countDown();
+                release.await();
+                return new StubReport();
+            }
+        };
+
+        final FutureTask<SecurityInspectorReport> first = new FutureTask<>(new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                return cache.get(key, "v1", computation);
+            }
+        });
+        new Thread(first, "first").start();
+        assertTrue("The first computation has not started", started.await(10, TimeUnit.SECONDS));
+        assertTrue(cache.isInFlight(key));
+
+        final FutureTask<SecurityInspectorReport> second = new FutureTask<>(new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                return cache.get(new ReportKey("test", new UserContext(null, null, null, "item")), "v1", computation);
+            }
+        });
+        final Thread secondThread = new Thread(second, "second");
+        secondThread.start();
+        // Wait till the second caller blocks on the in-flight computation
+        while (secondThread.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(second.get(10, TimeUnit.SECONDS), sameInstance(first.get(10, TimeUnit.SECONDS)));
+        assertThat("The report must be computed once", invocations.get(), equalTo(1));
+        assertFalse(cache.isInFlight(key));
+    }
+
+    @Test
+    public void shouldReuseReportForTheSameFingerprint() throws Exception {
+        final ReportCache cache = new ReportCache();
+        final ReportKey key = new ReportKey("test", new UserContext(null, null, null, "item"));
+        final AtomicInteger invocations = new AtomicInteger();
+        final Callable<SecurityInspectorReport> computation = new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                invocations.incrementAndGet();
+                return new StubReport();
+            }
+        };
+
+        final SecurityInspectorReport report = cache.get(key, "v1", computation);
+        final long cacheHits = ReportMetrics.getInstance().getCacheHits();
+        assertThat(cache.get(key, "v1", computation), sameInstance(report));
+        assertThat("The cached report must be reused", invocations.get(), equalTo(1));
+        assertThat("The cache hit must be recorded", ReportMetrics.getInstance().getCacheHits(), 
+                greaterThan(cacheHits));
+
+        assertThat(cache.get(key, "v2", computation), not(sameInstance(report)));
+        assertThat("The report must be recomputed after the configuration change", invocations.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldCancelOnlyWhenNoWaitersRemain() throws Exception {
+        final ReportCache cache = new ReportCache();
+        final ReportKey key = new ReportKey("test", new UserContext(null, null, null, "item"));
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<SecurityInspectorReport> computation = new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                release.await();
+                return new StubReport();
+            }
+        };
+
+        try {
+            assertFalse(cache.prepare(key, "v1", "session1", computation));
+            assertFalse(cache.prepare(key, "v1", "session2", computation));
+            assertFalse("Other clients still wait for the report", cache.cancel(key, "session1"));
+            assertTrue(cache.isInFlight(key));
+            assertTrue("The last client must cancel the report", cache.cancel(key, "session2"));
+            assertFalse(cache.isInFlight(key));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldKeepJoinedComputationAlivePastTheLease() throws Exception {
+        final long leaseTimeout = 300;
+        final ReportCache cache = new ReportCache(new ReportScheduler(1, leaseTimeout));
+        final ReportKey key = new ReportKey("test", new UserContext(null, null, null, "item"));
+        final Callable<SecurityInspectorReport> computation = new Callable<SecurityInspectorReport>() {
+            @Override
+            public SecurityInspectorReport call() throws Exception {
+                final long end = System.currentTimeMillis() + leaseTimeout * 4;
+                while (System.currentTimeMillis() < end) {
+                    ReportScheduler.checkpoint();
+                    Thread.sleep(10);
+                }
+                return new StubReport();
+            }
+        };
+
+        assertThat("The blocked caller must keep the lease", cache.get(key, "v1", computation), 
+                instanceOf(StubReport.class));
+    }
+
+    /**
+     * Minimal report, which does not need a running Jenkins instance.
+     */
+    /*package*/ static class StubReport extends PermissionReport<String, Boolean> {
+
+        @Override
+        public String getReportTargetName() {
+            return "stub";
+        }
+
+        @Override
+        protected Boolean getEntryReport(String row, Permission item) {
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public String getRowColumnHeader() {
+            return "Rows";
+        }
+
+        @Override
+        public String getRowTitle(String row) {
+            return row;
+        }
+
+        @Override
+        public boolean isEntryReportOk(String row, Permission item, Boolean report) {
+            return report != null ? report : false;
+        }
+    }
+}
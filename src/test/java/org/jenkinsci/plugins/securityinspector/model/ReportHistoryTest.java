@@ -0,0 +1,154 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ReportHistory}.
+ */
+public class ReportHistoryTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final ReportHistory.RetentionPolicy UNLIMITED = new ReportHistory.RetentionPolicy(0, 0, 0);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private ReportHistory history;
+
+    @Before
+    public void setUp() throws IOException {
+        history = new ReportHistory(tmp.newFolder("history"));
+    }
+
+    @Test
+    public void shouldRestoreRunsFromDeltas() throws Exception {
+        final List<String> first = rows("alice=3", "bob=1", "bob=2", "carol=1");
+        final List<String> second = rows("alice=3", "bob=1", "dave=1");
+        final List<String> third = rows("alice=1", "bob=1", "dave=1");
+        record("first", DAY, first);
+        record("second", 2 * DAY, second);
+        record("third", 3 * DAY, third);
+
+        assertThat(history.get("first").getBase(), equalTo("second"));
+        assertThat(history.get("second").getBase(), equalTo("third"));
+        assertThat(history.get("third").isDelta(), equalTo(false));
+        assertThat(history.get("first").getFile().length() < history.get("third").getFile().length(), equalTo(true));
+
+        assertThat(readRows(history.materialize("first", tmp.newFile("first.ndjson.gz"))), equalTo(first));
+        assertThat(readRows(history.materialize("second", tmp.newFile("second.ndjson.gz"))), equalTo(second));
+        assertThat(readRows(history.materialize("third", tmp.newFile("third.ndjson.gz"))), equalTo(third));
+    }
+
+    @Test
+    public void shouldKeepFullRunIfColumnsChange() throws Exception {
+        record("first", DAY, rows("alice=3"));
+        write("second", 2 * DAY, Arrays.asList("r", "w", "x"), rows("alice=7"));
+        history.commit(new File(history.getDir(), "second" + ReportSnapshotStorage.SNAPSHOT_SUFFIX), UNLIMITED, 2 * DAY);
+
+        assertThat(history.get("first").isDelta(), equalTo(false));
+        assertThat(readRows(history.materialize("first", tmp.newFile("first.ndjson.gz"))), equalTo(rows("alice=3")));
+    }
+
+    @Test
+    public void shouldPruneOldestRuns() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            record("run" + i, i * DAY, rows("alice=" + i));
+        }
+
+        assertThat(history.prune(new ReportHistory.RetentionPolicy(3, 0, 0), 4 * DAY), equalTo(1));
+        assertThat(ids(), contains("run4", "run3", "run2"));
+        assertThat(history.prune(new ReportHistory.RetentionPolicy(0, DAY, 0), 4 * DAY), equalTo(1));
+        assertThat(ids(), contains("run4", "run3"));
+        assertThat(history.prune(new ReportHistory.RetentionPolicy(0, 0, 1), 4 * DAY), equalTo(1));
+        assertThat(ids(), contains("run4"));
+        assertThat(readRows(history.materialize("run4", tmp.newFile("run4.ndjson.gz"))), equalTo(rows("alice=4")));
+    }
+
+    /**
+     * Adds unchanged rows, so deltas are smaller than full snapshots.
+     */
+    private static List<String> rows(String... changed) {
+        final List<String> res = new ArrayList<>(Arrays.asList(changed));
+        for (int i = 0; i < 100; i++) {
+            res.add(String.format("job-%03d=3", i));
+        }
+        return res;
+    }
+
+    private void record(String id, long timestamp, List<String> rows) throws IOException {
+        write(id, timestamp, Arrays.asList("r", "w"), rows);
+        history.commit(new File(history.getDir(), id + ReportSnapshotStorage.SNAPSHOT_SUFFIX), UNLIMITED, timestamp);
+    }
+
+    private void write(String id, long timestamp, List<String> columns, List<String> rows) throws IOException {
+        final File file = new File(history.getDir(), id + ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8))) {
+            writer.write("{\"target\":\"alice\",\"timestamp\":" + timestamp + ",\"rows\":" + rows.size() 
+                    + ",\"columns\":[\"" + String.join("\",\"", columns) + "\"]}\n");
+            for (String row : rows) {
+                final String[] parts = row.split("=");
+                writer.write("{\"row\":\"" + parts[0] + "\",\"mask\":\"" + parts[1] + "\"}\n");
+            }
+        }
+    }
+
+    private static List<String> readRows(ReportSnapshot snapshot) throws IOException {
+        final List<String> res = new ArrayList<>();
+        try (ReportSnapshot.RowReader reader = snapshot.openRows()) {
+            while (reader.next()) {
+                res.add(reader.getRow() + "=" + ExportFormat.toHexMask(reader.getGranted(), snapshot.getColumns().size()));
+            }
+        }
+        return res;
+    }
+
+    private List<String> ids() {
+        final List<String> res = new ArrayList<>();
+        for (ReportSnapshot run : history.getRuns()) {
+            res.add(run.getId());
+        }
+        return res;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import org.junit.Test;
+
+/**
+ * Tests of entity tags derived from {@link ReportKey}.
+ */
+public class ReportKeyTest {
+
+    @Test
+    public void shouldDeriveStableETags() {
+        final ReportKey key = new ReportKey("items-for-user", new UserContext(null, null, null, "alice"));
+        final ReportKey sameKey = new ReportKey("items-for-user", new UserContext(null, null, null, "alice"));
+        final String etag = key.getETag("1-abc", "export:CSV");
+
+        assertThat(etag, startsWith("W/\""));
+        assertThat(sameKey.getETag("1-abc", "export:CSV"), equalTo(etag));
+        assertThat("Configuration changes must change the tag", key.getETag("2-abc", "export:CSV"), not(equalTo(etag)));
+        assertThat("Representations must have different tags", key.getETag("1-abc", "export:JSON"), not(equalTo(etag)));
+        assertThat("Filters must change the tag", new ReportKey("items-for-user", new UserContext(null, null, null, "bob"))
+                .getETag("1-abc", "export:CSV"), not(equalTo(etag)));
+    }
+
+    @Test
+    public void shouldMatchIfNoneMatch() {
+        final String etag = "W/\"0123\"";
+        assertThat(ReportBuilder.matchesETag("W/\"0123\"", etag), equalTo(true));
+        assertThat(ReportBuilder.matchesETag("\"0123\"", etag), equalTo(true));
+        assertThat(ReportBuilder.matchesETag("\"ffff\", W/\"0123\"", etag), equalTo(true));
+        assertThat(ReportBuilder.matchesETag("*", etag), equalTo(true));
+        assertThat(ReportBuilder.matchesETag("W/\"ffff\"", etag), equalTo(false));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ReportPlanner}.
+ */
+public class ReportPlannerTest {
+
+    @Test
+    public void shouldKeepSmallReportsAsRequested() {
+        final ReportPlanner planner = new ReportPlanner(1024 * 1024, TimeUnit.MINUTES.toMillis(5));
+        final ReportPlan plan = planner.plan(10, 20, ReportOptions.DEFAULT);
+        assertThat(plan.getCells(), equalTo(200L));
+        assertThat(plan.getOptions(), equalTo(ReportOptions.DEFAULT));
+        assertFalse(plan.isSparseStorageForced());
+        assertFalse(plan.isConfirmationRequired());
+    }
+
+    @Test
+    public void shouldSwitchToSparseStorage() {
+        // Fits the budget only with the sparse storage
+        final ReportPlanner planner = new ReportPlanner(1024 * 1024, TimeUnit.DAYS.toMillis(1));
+        final ReportPlan plan = planner.plan(1000, 100, ReportOptions.DEFAULT);
+        assertTrue(plan.isSparseStorageForced());
+        assertTrue(plan.getOptions().isSparse());
+        assertFalse(plan.isConfirmationRequired());
+    }
+
+    @Test
+    public void shouldRequireConfirmationForHugeReports() {
+        final ReportPlanner planner = new ReportPlanner(1024 * 1024, TimeUnit.DAYS.toMillis(1));
+        final ReportPlan plan = planner.plan(100000, 100, new ReportOptions(true, false));
+        assertFalse("The report is already sparse", plan.isSparseStorageForced());
+        assertTrue(plan.isConfirmationRequired());
+    }
+
+    @Test
+    public void shouldUseRecordedTiming() {
+        final ReportPlanner planner = new ReportPlanner(Long.MAX_VALUE, TimeUnit.SECONDS.toMillis(10));
+        assertFalse(planner.plan(100, 100, ReportOptions.DEFAULT).isConfirmationRequired());
+
+        // 10ms per cell
+        for (int i = 0; i < 20; i++) {
+            planner.recordTiming(100, TimeUnit.SECONDS.toNanos(1));
+        }
+        final ReportPlan plan = planner.plan(100, 100, ReportOptions.DEFAULT);
+        assertTrue("Expected about 100 seconds, got " + plan.getEstimatedDuration(), plan.isConfirmationRequired());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import org.jenkinsci.plugins.securityinspector.UserContext;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ReportScheduler}.
+ */
+public class ReportSchedulerTest {
+
+    @Test
+    public void shouldQueueReportsOverTheLimit() throws Exception {
+        final ReportScheduler scheduler = new ReportScheduler(1);
+        final ReportKey firstKey = new ReportKey("test", new UserContext(null, null, null, "first"));
+        final ReportKey secondKey = new ReportKey("test", new UserContext(null, null, null, "second"));
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final Callable<Integer> computation = new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                final int current = running.incrementAndGet();
+                maxRunning.set(Math.max(maxRunning.get(), current));
+                started.countDown();
+                release.await();
+                running.decrementAndGet();
+                return current;
+            }
+        };
+
+        final Future<Integer> first = scheduler.submit(firstKey, computation);
+        assertTrue("The first report has not started", started.await(10, TimeUnit.SECONDS));
+        final Future<Integer> second = scheduler.submit(secondKey, computation);
+
+        assertThat(scheduler.getQueuePosition(firstKey), equalTo(0));
+        assertThat(scheduler.getQueuePosition(secondKey), equalTo(1));
+        assertThat(scheduler.getRunning().size(), equalTo(1));
+
+        release.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertThat("Reports must not run concurrently", maxRunning.get(), equalTo(1));
+        assertThat(scheduler.getQueuePosition(secondKey), equalTo(0));
+    }
+
+    @Test
+    public void shouldRunReportsOnLowPriorityThreads() throws Exception {
+        final ReportScheduler scheduler = new ReportScheduler(1);
+        final ReportKey key = new ReportKey("test", new UserContext(null, null, null, "item"));
+        final Future<Integer> priority = scheduler.submit(key, new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                ReportScheduler.checkpoint();
+                assertThat(ReportScheduler.getCurrentExecution().getRowsEvaluated(), equalTo(1L));
+                return Thread.currentThread().getPriority();
+            }
+        });
+        assertThat(priority.get(10, TimeUnit.SECONDS), equalTo(Thread.MIN_PRIORITY));
+    }
+
+    @Test
+    public void shouldStopCancelledReport() throws Exception {
+        final ReportScheduler scheduler = new ReportScheduler(1);
+        final ReportKey key = new ReportKey("test", new UserContext(null, null, null, "item"));
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        final Future<Integer> future = scheduler.submit(key, new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                started.countDown();
+                try {
+                    while (true) {
+                        ReportScheduler.checkpoint();
+                    }
+                } finally {
+                    stopped.countDown();
+                }
+            }
+        });
+
+        assertTrue("The report has not started", started.await(10, TimeUnit.SECONDS));
+        assertThat(scheduler.cancel(key), equalTo(1));
+        assertTrue("The evaluation loop has not been stopped", stopped.await(10, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+    }
+}
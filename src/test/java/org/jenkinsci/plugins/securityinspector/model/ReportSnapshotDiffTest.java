@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.jenkinsci.plugins.securityinspector.util.StubReport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ReportSnapshotDiff}.
+ */
+public class ReportSnapshotDiffTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void shouldFindChangedRows() throws Exception {
+        final ReportSnapshot from = save("from", Arrays.asList("r", "w", "x"), "alice=rw", "bob=r", "carol=rwx");
+        final ReportSnapshot to = save("to", Arrays.asList("r", "w", "x"), "bob=rx", "carol=rwx", "dave=r");
+
+        final List<String> changes = new ArrayList<>();
+        final ReportSnapshotDiff diff = ReportSnapshotDiff.compare(from, to, new ReportSnapshotDiff.Listener() {
+            @Override
+            public void onRowAdded(String row, List<String> granted) {
+                changes.add("+" + row + granted);
+            }
+
+            @Override
+            public void onRowRemoved(String row, List<String> revoked) {
+                changes.add("-" + row + revoked);
+            }
+
+            @Override
+            public void onRowChanged(String row, List<String> granted, List<String> revoked) {
+                changes.add("~" + row + granted + revoked);
+            }
+        });
+
+        assertThat(changes, contains("-alice[r, w]", "~bob[x][]", "+dave[r]"));
+        assertThat(diff.getAddedRows(), equalTo(1));
+        assertThat(diff.getRemovedRows(), equalTo(1));
+        assertThat(diff.getChangedRows(), equalTo(1));
+        assertThat(diff.getUnchangedRows(), equalTo(1));
+        assertThat(diff.getGranted(), equalTo(1L));
+        assertThat(diff.getRevoked(), equalTo(0L));
+    }
+
+    @Test
+    public void shouldCompareOnlyCommonColumns() throws Exception {
+        final ReportSnapshot from = save("from", Arrays.asList("r", "w", "x"), "alice=rwx", "bob=r");
+        final ReportSnapshot to = save("to", Arrays.asList("a", "r", "w"), "alice=ar", "bob=rw");
+
+        final ReportSnapshotDiff.Collector collector = new ReportSnapshotDiff.Collector(1);
+        final ReportSnapshotDiff diff = ReportSnapshotDiff.compare(from, to, collector);
+
+        assertThat(diff.getAddedColumns(), contains("a"));
+        assertThat(diff.getRemovedColumns(), contains("x"));
+        assertThat(diff.getChangedRows(), equalTo(2));
+        assertThat(diff.getGranted(), equalTo(1L));
+        assertThat(diff.getRevoked(), equalTo(1L));
+        assertThat(collector.getChanges().size(), equalTo(1));
+        assertThat(collector.getChanges().get(0).getRow(), equalTo("alice"));
+        assertThat(collector.getChanges().get(0).getRevoked(), contains("w"));
+    }
+
+    @Test
+    public void shouldMatchRowsByIds() throws Exception {
+        final Map<String, String> titles = new HashMap<>();
+        titles.put("alice1", "Alice");
+        titles.put("alice2", "Alice");
+        final ReportSnapshot from = save("from", Arrays.asList("r", "w"), titles, "alice1=r", "alice2=rw");
+        titles.put("alice1", "Alice Smith");
+        final ReportSnapshot to = save("to", Arrays.asList("r", "w"), titles, "alice1=r", "alice2=r");
+
+        final ReportSnapshotDiff.Collector collector = new ReportSnapshotDiff.Collector(10);
+        final ReportSnapshotDiff diff = ReportSnapshotDiff.compare(from, to, collector);
+
+        assertThat(diff.getAddedRows(), equalTo(0));
+        assertThat(diff.getRemovedRows(), equalTo(0));
+        assertThat(diff.getChangedRows(), equalTo(1));
+        assertThat(diff.getUnchangedRows(), equalTo(1));
+        assertThat(diff.getRevoked(), equalTo(1L));
+        assertThat(collector.getChanges().size(), equalTo(1));
+        assertThat(collector.getChanges().get(0).getRow(), equalTo("Alice"));
+        assertThat(collector.getChanges().get(0).getRevoked(), contains("w"));
+    }
+
+    private ReportSnapshot save(String name, List<String> columns, String... rows) throws IOException {
+        return save(name, columns, Collections.<String, String>emptyMap(), rows);
+    }
+
+    /**
+     * Saves the snapshot.
+     *
+     * @param name File name
+     * @param columns Columns of the report
+     * @param titles Titles of rows, rows are their own titles by default
+     * @param rows Rows in the {@code id=granted columns} format, columns are single characters
+     */
+    private ReportSnapshot save(String name, List<String> columns, final Map<String, String> titles, String... rows) 
+            throws IOException {
+        final Map<String, String> grants = new HashMap<>();
+        for (String row : rows) {
+            final String[] parts = row.split("=");
+            grants.put(parts[0], parts[1]);
+        }
+        final StubReport report = new StubReport("map-report", "Users", columns, new StubReport.Grants() {
+            @Override
+            public boolean isGranted(String row, String column) {
+                return grants.get(row).contains(column);
+            }
+        }) {
+            @Override
+            public String getRowTitle(String row) {
+                return titles.containsKey(row) ? titles.get(row) : row;
+            }
+        };
+        report.generateReport(grants.keySet(), new HashSet<>(columns), Collections.singleton(StubReport.GROUP));
+
+        final File file = new File(tmp.getRoot(), name + ReportSnapshotStorage.SNAPSHOT_SUFFIX);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8))) {
+            ReportSnapshotStorage.write(report, 0, writer);
+        }
+        return ReportSnapshot.read(file);
+    }
+}
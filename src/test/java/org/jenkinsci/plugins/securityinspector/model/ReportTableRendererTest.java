@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.jenkinsci.plugins.securityinspector.util.JsonStreamWriter;
+import org.jenkinsci.plugins.securityinspector.util.StubReport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ReportTableRenderer}.
+ */
+public class ReportTableRendererTest {
+
+    @Test
+    public void shouldRenderGrantedCells() {
+        final StubReport report = createGrantReport();
+        report.generateReport(new HashSet<>(Arrays.asList("alice", "bob")), new HashSet<>(Arrays.asList("read", "write")), 
+                Collections.singleton(StubReport.GROUP));
+
+        final String html = report.getTableRenderer().render();
+        assertThat(html, containsString("<td class=\"pane-header\" colspan=\"2\">group</td>"));
+        assertThat(html, containsString("<td style=\"white-space: nowrap\">alice</td>"
+                + "<td class=\"pane\">&#10004;</td><td class=\"pane\">&#10004;</td>"));
+        assertThat(html, containsString("<td style=\"white-space: nowrap\">bob</td>"
+                + "<td class=\"pane\">&#10004;</td><td class=\"pane\"></td>"));
+    }
+
+    @Test
+    public void shouldStreamRowsAsTheyAreAdded() {
+        final StubReport report = createGrantReport();
+        final StringBuilder out = new StringBuilder();
+        report.setListener(new ReportListener<String>() {
+            private ReportTableRenderer<String, ?, ?> renderer;
+
+            @Override
+            public void onStarted(SecurityInspectorReport<? extends String, ?, ?, ?> report) {
+                renderer = ((StubReport) report).getTableRenderer();
+                out.append(renderer.getHeader());
+            }
+
+            @Override
+            public void onRow(SecurityInspectorReport<? extends String, ?, ?, ?> report, String row) {
+                try {
+                    renderer.writeRow(out, row);
+                } catch (IOException ex) {
+                    throw new AssertionError(ex);
+                }
+            }
+        });
+        report.generateReport(new HashSet<>(Arrays.asList("alice", "bob")), new HashSet<>(Arrays.asList("read", "write")), 
+                Collections.singleton(StubReport.GROUP));
+
+        assertThat("Streamed rows must match the rendered table", out.toString(), 
+                equalTo(report.getTableRenderer().render()));
+    }
+
+    @Test
+    public void shouldEscapeTitles() {
+        final StubReport report = createGrantReport();
+        report.generateReport(Collections.singleton("<script>\"x\"&'y'"), new HashSet<>(Arrays.asList("read", "write")), 
+                Collections.singleton(StubReport.GROUP));
+
+        final String html = report.getTableRenderer().render();
+        assertThat(html, not(containsString("<script>")));
+        assertThat(html, containsString("&lt;script&gt;&quot;x&quot;&amp;&#39;y&#39;"));
+    }
+
+    @Test
+    public void shouldWriteGridChunks() throws Exception {
+        final StubReport report = createGrantReport();
+        report.generateReport(new HashSet<>(Arrays.asList("alice", "bob", "carol")), new HashSet<>(Arrays.asList("read", "write")), 
+                Collections.singleton(StubReport.GROUP));
+
+        final StringWriter layout = new StringWriter();
+        report.getTableRenderer().writeGridLayout(new JsonStreamWriter(layout));
+        assertThat(layout.toString(), equalTo("{\"target\":\"grant-report\",\"rowHeader\":\"Users\",\"rows\":3,"
+                + "\"groups\":[{\"title\":\"group\",\"columns\":[\"read\",\"write\"]}]}"));
+
+        final StringWriter rows = new StringWriter();
+        report.getTableRenderer().writeGridRows(new JsonStreamWriter(rows), 1, 5);
+        assertThat(rows.toString(), equalTo("{\"offset\":1,\"rows\":[[\"bob\",\"1\",1],[\"carol\",\"3\",1]]}"));
+    }
+
+    @Test
+    public void shouldReuseRenderer() {
+        final StubReport report = createGrantReport();
+        report.generateReport(Collections.singleton("alice"), Collections.singleton("read"), 
+                Collections.singleton(StubReport.GROUP));
+        assertThat(report.getTableRenderer(), equalTo(report.getTableRenderer()));
+    }
+
+    /**
+     * Creates a report, which grants everything but write permissions to user "bob".
+     */
+    private static StubReport createGrantReport() {
+        return new StubReport("grant-report", "Users", Arrays.asList("read", "write"), new StubReport.Grants() {
+            @Override
+            public boolean isGranted(String row, String column) {
+                return !(row.equals("bob") && column.equals("write"));
+            }
+        });
+    }
+}
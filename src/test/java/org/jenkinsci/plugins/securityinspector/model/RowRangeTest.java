@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import org.jenkinsci.plugins.securityinspector.util.StubReport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import org.junit.Test;
+
+/**
+ * Tests of range queries in {@link SecurityInspectorReport}.
+ */
+public class RowRangeTest {
+
+    @Test
+    public void shouldReturnPagesInOrder() {
+        final StubReport report = createCountingReport();
+        report.generateReport(new HashSet<>(Arrays.asList("a", "bbb", "cc", "d")), 
+                new HashSet<>(Arrays.asList("1", "2", "3")), Collections.singleton(StubReport.GROUP));
+
+        assertThat(report.getRowRange(0, 2, RowOrder.NAME), contains("a", "bbb"));
+        assertThat(report.getRowRange(2, 10, RowOrder.NAME), contains("cc", "d"));
+        assertThat(report.getRowRange(0, 2, RowOrder.NAME_DESC), contains("d", "cc"));
+        assertThat(report.getRowRange(0, 4, RowOrder.GRANTS), contains("a", "d", "cc", "bbb"));
+        assertThat(report.getRowRange(0, 2, RowOrder.GRANTS_DESC), contains("bbb", "cc"));
+        assertThat(report.getRowRange(10, 2, RowOrder.NAME), empty());
+    }
+
+    @Test
+    public void shouldOrderTiesByTitlesInBothDirections() {
+        final StubReport report = createCountingReport();
+        report.generateReport(new HashSet<>(Arrays.asList("a", "b", "cc", "dd", "eee")), 
+                new HashSet<>(Arrays.asList("1", "2", "3")), Collections.singleton(StubReport.GROUP));
+
+        assertThat(report.getRowRange(0, 5, RowOrder.GRANTS), contains("a", "b", "cc", "dd", "eee"));
+        assertThat(report.getRowRange(0, 5, RowOrder.GRANTS_DESC), contains("eee", "cc", "dd", "a", "b"));
+        assertThat(report.getRowRange(2, 2, RowOrder.GRANTS_DESC), contains("dd", "a"));
+        assertThat(report.getRowRange(0, 5, RowOrder.GRANTS_DESC, report.getGrantedRows(1)), contains("eee", "cc", "dd"));
+    }
+
+    @Test
+    public void shouldFilterRowsByGrantedColumns() {
+        final StubReport report = createCountingReport();
+        report.generateReport(new HashSet<>(Arrays.asList("a", "bbb", "cc", "d")), 
+                new HashSet<>(Arrays.asList("1", "2", "3")), Collections.singleton(StubReport.GROUP));
+
+        // "2 & !3"
+        final BitSet filter = report.getGrantedRows(1);
+        filter.andNot(report.getGrantedRows(2));
+        assertThat(report.getRowsAt(filter), contains("cc"));
+        assertThat(report.getRowRange(0, 10, RowOrder.NAME, report.getGrantedRows(1)), contains("bbb", "cc"));
+        assertThat(report.getRowRange(1, 10, RowOrder.GRANTS, report.getGrantedRows(0)), contains("d", "cc", "bbb"));
+
+        // Returned sets are copies
+        assertThat(report.getRowsAt(report.getGrantedRows(1)), contains("bbb", "cc"));
+    }
+
+    /**
+     * Creates a report, which grants as many columns as there are characters in the row.
+     */
+    private static StubReport createCountingReport() {
+        return new StubReport("counting-report", "Rows", Arrays.asList("1", "2", "3"), new StubReport.Grants() {
+            @Override
+            public boolean isGranted(String row, String column) {
+                return Integer.parseInt(column) <= row.length();
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Security Inspector Plugin contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.securityinspector.util;
+
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.securityinspector.model.SecurityInspectorReport;
+
+/**
+ * Report over string rows and columns with a single column group.
+ * Entries are defined by the {@link Grants} passed to the constructor.
+ * Rows are their own IDs and titles, subclasses may override {@link #getRowTitle(java.lang.String)}.
+ */
+public class StubReport extends SecurityInspectorReport<String, String, String, Boolean> {
+
+    /**
+     * Group of all columns.
+     */
+    public static final String GROUP = "group";
+
+    private final String targetName;
+    private final String rowColumnHeader;
+    private final List<String> columns;
+    private final Grants grants;
+
+    /**
+     * Creates the report.
+     * @param targetName Report target name
+     * @param rowColumnHeader Header of the row column
+     * @param columns Columns of {@link #GROUP}
+     * @param grants Entries of the report
+     */
+    public StubReport(@Nonnull String targetName, @Nonnull String rowColumnHeader, 
+            @Nonnull List<String> columns, @Nonnull Grants grants) {
+        this.targetName = targetName;
+        this.rowColumnHeader = rowColumnHeader;
+        this.columns = columns;
+        this.grants = grants;
+    }
+
+    @Override
+    public String getReportTargetName() {
+        return targetName;
+    }
+
+    @Override
+    public String getGroupOfItem(String item) {
+        return GROUP;
+    }
+
+    @Override
+    public Collection<String> getItemsOfGroup(String group) {
+        return columns;
+    }
+
+    @Override
+    protected Boolean getEntryReport(String row, String item) {
+        return grants.isGranted(row, item);
+    }
+
+    @Override
+    public String getRowColumnHeader() {
+        return rowColumnHeader;
+    }
+
+    @Override
+    public String getRowTitle(String row) {
+        return row;
+    }
+
+    @Override
+    public String getRowId(String row) {
+        return row;
+    }
+
+    @Override
+    public String getGroupTitle(String group) {
+        return group;
+    }
+
+    @Override
+    public String getColumnTitle(String column) {
+        return column;
+    }
+
+    @Override
+    public boolean isEntryReportOk(String row, String column, Boolean reportEntry) {
+        return reportEntry;
+    }
+
+    /**
+     * Defines entries of {@link StubReport}.
+     */
+    public interface Grants {
+
+        boolean isGranted(@Nonnull String row, @Nonnull String column);
+    }
+}